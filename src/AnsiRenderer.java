@@ -0,0 +1,258 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ *
+ * This class draws a TicTacTix game on a terminal that understands ANSI escape codes, redrawing only what changed.
+ * The whole game board is drawn once at the top of a cleared screen. After that, each frame moves the cursor to
+ * every cell whose checker changed and writes just its symbol, highlighted so the last moves stand out, rewrites
+ * the heading and the status line if they changed, then clears the lines below the status line for the prompts.
+ * Over a slow link a move costs a few dozen bytes instead of the whole game board.
+ *
+ * The status line, just below the game board, holds a message that must outlive the next frame, like the move the
+ * computer just made. It is only rewritten when set to another message, while anything printed below it is cleared
+ * by every frame that changes the game board.
+ *
+ * Each frame is built in memory and written and flushed at once, so the terminal never shows half a frame.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see BoardRenderer
+ *
+ */
+public class AnsiRenderer {
+
+    // Declaration of instance variables
+    private TicTacTix game;
+    private Writer out;
+    private BoardRenderer renderer;
+    // The screen position of every cell, the checker shown in it, and which cells are shown highlighted.
+    private int[] cellLines;
+    private int[] cellColumns;
+    private int[] shownCells;
+    private int[] highlightedCells;
+    private int highlightedCount;
+    private String shownHeading;
+    private String status;
+    private String shownStatus;
+    private int statusLine;
+    private int promptLine;
+    private StringBuilder frame;
+    private char[] frameChars;
+    private long charactersWritten;
+
+    // Declaration of static variables.
+    private final static String ESCAPE = "\u001b[";
+    private final static String CLEAR_SCREEN = ESCAPE + "H" + ESCAPE + "2J";
+    private final static String CLEAR_LINE = ESCAPE + "2K";
+    private final static String CLEAR_BELOW = ESCAPE + "J";
+    private final static String HIGHLIGHT = ESCAPE + "7m";
+    private final static String PLAIN = ESCAPE + "0m";
+    // Screen lines (index start at 1) of the heading and of the column numbers above the game board.
+    private final static int HEADING_LINE = 2;
+    private final static int BOARD_LINE = 4;
+
+
+    /**
+     *
+     * Parameterized constructor of the AnsiRenderer class. Nothing is drawn until the first frame.
+     *
+     * @param game - (TicTacTix) The game to draw.
+     * @param out - (Writer) The terminal to draw on.
+     *
+     */
+    public AnsiRenderer(TicTacTix game, Writer out) {
+
+        // Initialize the instance variables
+        int dimensions = game.getDimensions();
+        int cells = dimensions * dimensions * dimensions;
+        this.game = game;
+        this.out = out;
+        renderer = BoardRenderer.getInstance(dimensions);
+        cellLines = new int[cells];
+        cellColumns = new int[cells];
+        highlightedCells = new int[cells];
+        frame = new StringBuilder(game.getRenderedLength() + CLEAR_SCREEN.length());
+        frameChars = new char[frame.capacity()];
+
+        // Work out where each cell is drawn once.
+        for (int cell = 0; cell < cells; cell++) {
+            cellLines[cell] = BOARD_LINE + renderer.getCellLine(cell);
+            cellColumns[cell] = 1 + renderer.getCellColumn(cell);
+        }
+        statusLine = BOARD_LINE + renderer.getLineCount() + 1;
+        promptLine = statusLine + 1;
+    }
+
+    /**
+     *
+     * A method that clears the screen and draws the whole game and the status line, leaving the cursor below them.
+     *
+     * @throws IOException - if the terminal cannot be written to.
+     *
+     */
+    public void drawBoard() throws IOException {
+
+        // Clear the screen and draw the game from the top.
+        frame.setLength(0);
+        frame.append(CLEAR_SCREEN);
+        game.appendTo(frame);
+        moveCursor(statusLine, 1);
+        if (status != null) {
+            frame.append(status);
+        }
+        moveCursor(promptLine, 1);
+
+        // Remember what is shown.
+        int cells = cellLines.length;
+        if (shownCells == null) {
+            shownCells = new int[cells];
+        }
+        for (int cell = 0; cell < cells; cell++) {
+            shownCells[cell] = game.getCell(cell);
+        }
+        shownHeading = game.getHeadingStatus();
+        shownStatus = status;
+        highlightedCount = 0;
+        flush();
+    }
+
+    /**
+     *
+     * A method that draws the changes since the last frame: the cells whose checker changed, highlighted, the
+     * heading and the status line. The cursor is left below the status line with the lines below cleared. Nothing is
+     * written if nothing changed, so prompts printed below the status line stay. The first frame draws the whole
+     * game.
+     *
+     * @throws IOException - if the terminal cannot be written to.
+     *
+     */
+    public void drawChanges() throws IOException {
+
+        // Draw everything the first time.
+        if (shownCells == null) {
+            drawBoard();
+            return;
+        }
+
+        // Redraw the changed cells highlighted, first turning the highlight of the last frame off.
+        frame.setLength(0);
+        int changedCount = 0;
+        for (int cell = 0; cell < shownCells.length; cell++) {
+            int content = game.getCell(cell);
+            if (content != shownCells[cell]) {
+                if (changedCount == 0) {
+                    for (int index = 0; index < highlightedCount; index++) {
+                        drawCell(highlightedCells[index], false);
+                    }
+                    highlightedCount = 0;
+                }
+                shownCells[cell] = content;
+                drawCell(cell, true);
+                highlightedCells[highlightedCount++] = cell;
+                changedCount++;
+            }
+        }
+
+        // Rewrite the heading, without the blank line that follows it.
+        String heading = game.getHeadingStatus();
+        if (!heading.equals(shownHeading)) {
+            moveCursor(HEADING_LINE, 1);
+            frame.append(CLEAR_LINE);
+            int end = heading.indexOf('\n');
+            frame.append(heading, 0, (end == -1) ? heading.length() : end);
+            shownHeading = heading;
+        }
+
+        // Rewrite the status line.
+        if (!Objects.equals(status, shownStatus)) {
+            moveCursor(statusLine, 1);
+            frame.append(CLEAR_LINE);
+            if (status != null) {
+                frame.append(status);
+            }
+            shownStatus = status;
+        }
+
+        // Make room for the prompts, then show the frame.
+        if (frame.length() > 0) {
+            moveCursor(promptLine, 1);
+            frame.append(CLEAR_BELOW);
+            flush();
+        }
+    }
+
+    /**
+     *
+     * A mutator method that sets the message of the status line, shown from the next frame on until set again.
+     *
+     * @param status - (String) The message, on one line, or null for none.
+     *
+     */
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     *
+     * A helper method that adds the symbol of a cell, at its place on the screen, to the frame.
+     *
+     * @param cell - (int) The flat index of the cell.
+     * @param isHighlighted - (boolean) Determines if the symbol is drawn highlighted.
+     *
+     */
+    private void drawCell(int cell, boolean isHighlighted) {
+        moveCursor(cellLines[cell], cellColumns[cell]);
+        if (isHighlighted) {
+            frame.append(HIGHLIGHT).append(BoardRenderer.getSymbol(shownCells[cell])).append(PLAIN);
+        }
+        else {
+            frame.append(BoardRenderer.getSymbol(shownCells[cell]));
+        }
+    }
+
+    /**
+     *
+     * A helper method that adds the escape code moving the cursor to a place on the screen to the frame.
+     *
+     * @param line - (int) The line of the screen (index start at 1).
+     * @param column - (int) The column of the screen (index start at 1).
+     *
+     */
+    private void moveCursor(int line, int column) {
+        frame.append(ESCAPE).append(line).append(';').append(column).append('H');
+    }
+
+    /**
+     *
+     * A helper method that writes the frame to the terminal in one go and flushes it.
+     *
+     * @throws IOException - if the terminal cannot be written to.
+     *
+     */
+    private void flush() throws IOException {
+
+        // Copy the frame out without building a string, growing the copy only if the frame outgrew it.
+        int length = frame.length();
+        if (frameChars.length < length) {
+            frameChars = new char[length];
+        }
+        frame.getChars(0, length, frameChars, 0);
+        out.write(frameChars, 0, length);
+        out.flush();
+        charactersWritten += length;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of characters written to the terminal so far, escape codes included.
+     *
+     * @return long - the characters written.
+     *
+     */
+    public long getCharactersWritten() {
+        return charactersWritten;
+    }
+}
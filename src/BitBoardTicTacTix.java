@@ -0,0 +1,498 @@
+import java.util.Random;
+
+/**
+ *
+ * This class is an alternative backend for a TicTacTix game that stores the game board as bitboards instead of a 3D
+ * array. Each cell is one bit (layer * dimensions^2 + row * dimensions + column), and every player along with the
+ * reserved cell keeps its own bitboard. When the grid has at most 64 cells (up to 4 by 4 by 4) each bitboard is a
+ * single long, otherwise it is a long[] of several words. Moves, win checks and full board checks are then mask
+ * operations against a precomputed mask of every winning line. The public methods match TicTacTix so either class
+ * can run the same game, which is checked move by move with java TicTacTixBenchmark bitboard.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see TicTacTix
+ *
+ */
+public class BitBoardTicTacTix {
+
+    // Declaration of instance variables
+    private int filledCells;
+    private int maxCells;
+    private int dimensions;
+    private int winner;
+    private boolean won;
+    // The player whose turn it is (1 or 2).
+    private int currentPlayer;
+    private Random generator;
+
+    // Single word bitboards indexed by player (index 0 holds the reserved cell), and the mask of every cell.
+    private long[] boards;
+    private long fullMask;
+    // Multi-word bitboards indexed by player then word, and the mask of every cell.
+    private long[][] wordBoards;
+    private long[] fullWordMask;
+    private boolean isSingleWord;
+
+    // Mask of every winning line (single or multi-word), and the lines passing through each cell.
+    private long[] lineMasks;
+    private long[][] lineWordMasks;
+    private int[][] cellLines;
+
+    // Declaration of static variables.
+    private final static int RESERVED = 0;
+    private final static int TIE = 0;
+    private final static int PLAYER = 1;
+    private final static int COMPUTER = 2;
+    private final static int WORD_BITS = 64;
+
+
+    /**
+     *
+     * Parameterized constructor of the BitBoardTicTacTix class. Creates an appropriate game setup depending on
+     * dimensions and the data on which player gets to go first.
+     *
+     * @param dimensions - (int) The dimensions of the even grid. Layer, row, and column will be determined by this.
+     * @param isFirst - (boolean) Determines if the user gets to go first in the game.
+     *
+     * @see BitBoardTicTacTix(int dimensions, boolean isFirst, boolean isFull3D)
+     *
+     */
+    public BitBoardTicTacTix(int dimensions, boolean isFirst) {
+        this(dimensions, isFirst, false);
+    }
+
+    /**
+     *
+     * Parameterized constructor of the BitBoardTicTacTix class. Creates an appropriate game setup depending on
+     * dimensions, the data on which player gets to go first, and the rule mode.
+     *
+     * @param dimensions - (int) The dimensions of the even grid. Layer, row, and column will be determined by this.
+     * @param isFirst - (boolean) Determines if the user gets to go first in the game.
+     * @param isFull3D - (boolean) Determines if the space diagonals of the cube are winning lines.
+     *
+     * @see buildMasks(boolean isFull3D)
+     *
+     */
+    public BitBoardTicTacTix(int dimensions, boolean isFirst, boolean isFull3D) {
+
+        // Initialize the instance variables
+        this.dimensions = dimensions;
+        maxCells = dimensions * dimensions * dimensions;
+        winner = -1;
+        won = false;
+        generator = new Random();
+        isSingleWord = maxCells <= WORD_BITS;
+
+        // Create the bitboards and the masks of the winning lines.
+        buildMasks(isFull3D);
+
+        // Set up the reserved cell, the centre cell of the centre layer.
+        int middle = dimensions/2;
+        setBit(RESERVED, (middle*dimensions + middle)*dimensions + middle);
+        filledCells = 1;
+
+        // set the first move to corresponding player depending on 'first' argument.
+        if (isFirst) {
+            currentPlayer = PLAYER;
+        }
+        else {
+            currentPlayer = COMPUTER;
+        }
+    }
+
+    /**
+     *
+     * A helper method that creates the empty bitboards along with the mask of every cell. The masks of the winning
+     * lines are shared with every game of the same dimensions and rule mode.
+     *
+     * @param isFull3D - (boolean) Determines if the space diagonals of the cube are winning lines.
+     *
+     * @see WinningLines
+     *
+     */
+    private void buildMasks(boolean isFull3D) {
+
+        // Create and initialize variables required.
+        WinningLines winningLines = WinningLines.getInstance(dimensions, isFull3D);
+        int words = (maxCells + WORD_BITS-1) / WORD_BITS;
+        cellLines = winningLines.getCellLines();
+
+        // Single word: one long per player, one long per line.
+        if (isSingleWord) {
+            boards = new long[COMPUTER+1];
+            fullMask = (maxCells == WORD_BITS) ? -1L : (1L << maxCells) - 1;
+            lineMasks = winningLines.getLineMasks();
+        }
+        // Multi-word: one long[] per player, one long[] per line.
+        else {
+            wordBoards = new long[COMPUTER+1][words];
+            fullWordMask = new long[words];
+            for (int cell = 0; cell < maxCells; cell++) {
+                fullWordMask[cell / WORD_BITS] |= 1L << (cell % WORD_BITS);
+            }
+            lineWordMasks = winningLines.getLineWordMasks();
+        }
+    }
+
+    /**
+     *
+     * A method that randomly picks a valid move that the computer can make, and makes it. Rather than trying random
+     * coordinates until one is free, the empty cells are taken from the bitboards and one of them is drawn directly.
+     * The move will be returned as an integer array consisting of three elements. The first will indicate the layer,
+     * the second for the row, and the third indicating the column.
+     *
+     * @return int[] - The coordinates of a valid move that the computer may make. They order from layer, row, and
+     * column.
+     *
+     * @see move(int layer, int row, int column)
+     *
+     */
+    public int[] getComputerMove() {
+
+        // Create and initialize variables/objects required.
+        int[] coordinates = new int[3];
+        int pick = generator.nextInt(maxCells - filledCells);
+        int cell = -1;
+
+        // Find the picked empty cell, skipping the empty cells of earlier words.
+        if (isSingleWord) {
+            cell = selectBit(~(boards[RESERVED] | boards[PLAYER] | boards[COMPUTER]) & fullMask, pick);
+        }
+        else {
+            for (int word = 0; cell == -1; word++) {
+                long empty = ~(wordBoards[RESERVED][word] | wordBoards[PLAYER][word] | wordBoards[COMPUTER][word])
+                             & fullWordMask[word];
+                int emptyCount = Long.bitCount(empty);
+                if (pick < emptyCount) {
+                    cell = word*WORD_BITS + selectBit(empty, pick);
+                }
+                else {
+                    pick -= emptyCount;
+                }
+            }
+        }
+
+        // Convert the cell to coordinates (index start at 1), and make the move.
+        coordinates[0] = cell / (dimensions*dimensions) + 1;
+        coordinates[1] = (cell / dimensions) % dimensions + 1;
+        coordinates[2] = cell % dimensions + 1;
+        move(coordinates[0], coordinates[1], coordinates[2]);
+
+        // Return array of coordinates.
+        return coordinates;
+    }
+
+    /**
+     *
+     * A helper method that finds the position of the n-th set bit of a word, counting from the lowest bit.
+     *
+     * @param word - (long) The bits to search.
+     * @param index - (int) Which of the set bits to find (index start at 0).
+     *
+     * @return int - The position of the set bit within the word.
+     *
+     */
+    private static int selectBit(long word, int index) {
+
+        // Clear the lowest set bits until the wanted one is the lowest.
+        for (int skipped = 0; skipped < index; skipped++) {
+            word &= word - 1;
+        }
+        return Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     *
+     * A method that reads the coordinates of called move. See if that move is valid on the grid. If valid, execute
+     * the move and return true. Otherwise, return false. A win is found by testing the masks of the lines passing
+     * through the cell against the player's bitboard.
+     *
+     * @param layer - (int) The passed in layer of the move.
+     * @param row - (int) The passed in row of the move.
+     * @param column - (int) The passed in column of the move.
+     *
+     * @return boolean - Returns a status determining if the move is valid or not.
+     *
+     */
+    public boolean move(int layer, int row, int column) {
+
+        // Tweak layer, row, and column arguments to make data usable for bitboards (index start at 0).
+        layer-=1;
+        row-=1;
+        column-=1;
+
+        // Check range of layer, row and column.
+        if (layer < 0 || layer > dimensions-1 || row < 0 || row > dimensions-1
+                || column < 0 || column > dimensions-1) {
+            return false;
+        }
+
+        // check if position taken, by a checker or the reserved mark
+        int cell = (layer*dimensions + row)*dimensions + column;
+        if (getCell(cell) != 0) {
+            return false;
+        }
+
+        // Place a checker on the player's bitboard. Record move.
+        setBit(currentPlayer, cell);
+        filledCells++;
+
+        // A line passing through the cell whose mask is fully covered by the player's bitboard is a win.
+        for (int line : cellLines[cell]) {
+            if (isLineFilled(currentPlayer, line)) {
+                won = true;
+            }
+        }
+
+        // Alternate the player turn (switch between 1 and 2).
+        currentPlayer = (currentPlayer%2)+1;
+        return true;
+    }
+
+    /**
+     *
+     * A helper method that determines if the bitboard of a player covers every cell of a winning line.
+     *
+     * @param player - (int) The player whose bitboard is checked.
+     * @param line - (int) The winning line to check.
+     *
+     * @return boolean - whether the player holds the whole line.
+     *
+     */
+    private boolean isLineFilled(int player, int line) {
+
+        // Single word: one mask operation.
+        if (isSingleWord) {
+            return (boards[player] & lineMasks[line]) == lineMasks[line];
+        }
+
+        // Multi-word: every word must be covered.
+        for (int word = 0; word < lineWordMasks[line].length; word++) {
+            if ((wordBoards[player][word] & lineWordMasks[line][word]) != lineWordMasks[line][word]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *
+     * A helper method that determines if every cell of the game board is taken, by comparing the union of all
+     * bitboards against the mask of every cell.
+     *
+     * @return boolean - whether the game board is full.
+     *
+     */
+    private boolean isFull() {
+
+        // Single word: one mask operation.
+        if (isSingleWord) {
+            return (boards[RESERVED] | boards[PLAYER] | boards[COMPUTER]) == fullMask;
+        }
+
+        // Multi-word: every word must be full.
+        for (int word = 0; word < fullWordMask.length; word++) {
+            if ((wordBoards[RESERVED][word] | wordBoards[PLAYER][word] | wordBoards[COMPUTER][word])
+                    != fullWordMask[word]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *
+     * A helper method that sets the bit of a cell on the bitboard of a player (or the reserved bitboard).
+     *
+     * @param player - (int) The bitboard to change (0 for reserved, 1 or 2 for a player).
+     * @param cell - (int) The cell to set.
+     *
+     */
+    private void setBit(int player, int cell) {
+        if (isSingleWord) {
+            boards[player] |= 1L << cell;
+        }
+        else {
+            wordBoards[player][cell / WORD_BITS] |= 1L << (cell % WORD_BITS);
+        }
+    }
+
+    /**
+     *
+     * A helper method that reads the bit of a cell on the bitboard of a player (or the reserved bitboard).
+     *
+     * @param player - (int) The bitboard to read (0 for reserved, 1 or 2 for a player).
+     * @param cell - (int) The cell to read.
+     *
+     * @return boolean - whether the bit is set.
+     *
+     */
+    private boolean getBit(int player, int cell) {
+        if (isSingleWord) {
+            return ((boards[player] >>> cell) & 1L) != 0;
+        }
+        return ((wordBoards[player][cell / WORD_BITS] >>> (cell % WORD_BITS)) & 1L) != 0;
+    }
+
+    /**
+     *
+     * A helper method that returns the int representation of a cell, the same one TicTacTix stores in its cells.
+     *
+     * @param cell - (int) The cell to read.
+     *
+     * @return int - 1 or 2 for a player, -1 for the reserved cell, or 0 if empty.
+     *
+     */
+    private int getCell(int cell) {
+
+        // Check the bitboard of each player, then the reserved bitboard.
+        if (getBit(PLAYER, cell)) {
+            return PLAYER;
+        }
+        else if (getBit(COMPUTER, cell)) {
+            return COMPUTER;
+        }
+        else if (getBit(RESERVED, cell)) {
+            return -1;
+        }
+        return 0;
+    }
+
+    /**
+     *
+     * This method checks if the current game is over. This is used to determine when the game loop stops.
+     * Specifically, this method checks the hasWon() method followed by checking if all the cells has been filled out.
+     * If game is over, return true, otherwise return false.
+     *
+     * @return boolean - a status that determines if the game is over or not.
+     *
+     * @see hasWon()
+     *
+     */
+    public boolean isGameOver() {
+
+        // Create and initialize variable required.
+        boolean status = false;
+
+        // Check win condition first, followed by if all cells are filled out. Depending on the condition, Set
+        // the winner appropriately.
+        if (hasWon()) {
+            status = true;
+            // Get previous player (winner)
+            winner = (currentPlayer%2)+1;
+        }
+        else if (isFull()) {
+            status = true;
+            winner = TIE;
+        }
+
+        // Returns the status of "game over".
+        return status;
+    }
+
+    /**
+     *
+     * This method checks the win condition and see if there is a winner in the following grid. The status is recorded
+     * by move(int layer, int row, int column) whenever a move completes a winning line.
+     *
+     * @return boolean - determines whether there is a win in the 3D game board.
+     *
+     */
+    public boolean hasWon() {
+        // Return the cached status of whether there is a win.
+        return won;
+    }
+
+    /**
+     *
+     * A accessor method that returns the value of "currentPlayer", an instance variable.
+     *
+     * @return int - currentPlayer, used to determine current player turn.
+     *
+     */
+    public int getCurrentPlayer() {
+        // Return appropriate instance variable.
+        return currentPlayer;
+    }
+
+    /**
+     *
+     * A accessor method that returns the value of "winner", an instance variable.
+     *
+     * @return int - winner, used to represent the winner of the game.
+     *
+     */
+    public int getWinner() {
+        // Return appropriate instance variable.
+        return winner;
+    }
+
+    /**
+     *
+     * A method that is used to print the grid, displaying the game status along with the visual aid of the grid.
+     * The output is the same as TicTacTix.toString() for the same game.
+     *
+     * @return String - status with representation of the grid.
+     *
+     */
+    public String toString() {
+
+        // Create and initialize variables/objects required.
+        StringBuilder output = new StringBuilder("\n");
+        final String[] SYMBOLS = {"+", " ", "X", "O"};
+
+        // Get current status of game.
+        if (winner != -1) {
+            String placeHolder = (winner == PLAYER) ? "PLAYER" : ((winner == COMPUTER) ? "COMPUTER" : "NO ONE");
+            output.append("\t\t***GAME OVER: ").append(placeHolder).append(" WINS***\n\n");
+        }
+        else if (filledCells == 1) {
+            output.append("\t\t     ====TIC-TAC-TOE=====\n\n");
+        }
+        else if (currentPlayer == PLAYER) {
+            output.append("\t\t     ====PLAYER'S MOVE====\n\n");
+        }
+        else {
+            output.append("\t\t     ===COMPUTER'S MOVE===\n\n");
+        }
+
+        // For each layer, push all column headings with appropriate padding.
+        for (int layer = 0; layer < dimensions; layer++) {
+            output.append('\t');
+            for (int column = 0; column < dimensions; column++) {
+                output.append("   ").append(column+1);
+            }
+        }
+        output.append('\n');
+
+        // Push all rows and columns, each layer side by side.
+        for (int row = 0; row < dimensions; row++) {
+            for (int layer = 0; layer < dimensions; layer++) {
+                output.append('\t').append(row+1).append(": ");
+                for (int column = 0; column < dimensions; column++) {
+                    output.append(SYMBOLS[getCell((layer*dimensions + row)*dimensions + column) + 1]);
+                    if (column != dimensions-1) {
+                        output.append(" | ");
+                    }
+                }
+            }
+            output.append('\n');
+
+            // Push appropriate line padding for grids after each row is printed.
+            if (row != dimensions-1) {
+                for (int layer = 0; layer < dimensions; layer++) {
+                    output.append("\t  ");
+                    for (int column = 0; column < dimensions; column++) {
+                        output.append((column == dimensions-1) ? "---" : "---+");
+                    }
+                }
+                output.append('\n');
+            }
+        }
+
+        // Return final result of the final representation of the grid.
+        return output.toString();
+    }
+}
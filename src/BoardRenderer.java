@@ -0,0 +1,216 @@
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ *
+ * This class draws the game board of a TicTacTix game as text, each layer side by side. Everything but the checkers
+ * depends only on the dimensions (the column numbers, the row labels and the lines dividing the rows), so it is
+ * built once per dimensions and cached, and every game of the same size shares the same copy. Drawing a game board
+ * then only appends prebuilt pieces and one symbol per cell, looked up from a table, to a StringBuilder or any other
+ * Appendable such as a Writer, without building intermediate strings.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see TicTacTix#appendTo(Appendable out)
+ *
+ */
+public final class BoardRenderer {
+
+    // Declaration of instance variables
+    private final int dimensions;
+    private final String columnHeadings;
+    private final String[] rowHeadings;
+    private final String rowDivider;
+    private final int length;
+
+    // Declaration of static variables.
+    // The symbol of every cell content (the reserved cell, empty, player and computer), indexed by content plus one.
+    private final static char[] SYMBOLS = {'+', ' ', 'X', 'O'};
+    private final static String CELL_SEPARATOR = " | ";
+    private final static int TAB_WIDTH = 8;
+    private final static ConcurrentMap<Integer, BoardRenderer> CACHE = new ConcurrentHashMap<Integer, BoardRenderer>();
+
+
+    /**
+     *
+     * Private constructor of the BoardRenderer class. Builds the headings and dividers for the given dimensions. Use
+     * getInstance(int dimensions) to get the shared copy.
+     *
+     * @param dimensions - (int) The dimensions of the even grid.
+     *
+     * @see getInstance(int dimensions)
+     *
+     */
+    private BoardRenderer(int dimensions) {
+
+        // Create and initialize variables/objects required.
+        StringBuilder builder = new StringBuilder();
+        this.dimensions = dimensions;
+
+        // Build the column numbers of every layer.
+        for (int layer = 0; layer < dimensions; layer++) {
+            builder.append('\t');
+            for (int column = 0; column < dimensions; column++) {
+                builder.append("   ").append(column+1);
+            }
+        }
+        columnHeadings = builder.append('\n').toString();
+
+        // Build the label of every row.
+        rowHeadings = new String[dimensions];
+        for (int row = 0; row < dimensions; row++) {
+            rowHeadings[row] = "\t" + (row+1) + ": ";
+        }
+
+        // Build the line dividing two rows, the same for every row.
+        builder.setLength(0);
+        for (int layer = 0; layer < dimensions; layer++) {
+            builder.append("\t  ");
+            for (int column = 0; column < dimensions; column++) {
+                builder.append((column == dimensions-1) ? "---" : "---+");
+            }
+        }
+        rowDivider = builder.append('\n').toString();
+
+        // Add up the length of a drawing, so builders can be sized once.
+        int cellsLength = dimensions + (dimensions-1) * CELL_SEPARATOR.length();
+        int total = columnHeadings.length() + (dimensions-1) * rowDivider.length();
+        for (int row = 0; row < dimensions; row++) {
+            total += dimensions * (rowHeadings[row].length() + cellsLength) + 1;
+        }
+        length = total;
+    }
+
+    /**
+     *
+     * A method that returns the shared renderer for the given dimensions, building it the first time it is asked
+     * for.
+     *
+     * @param dimensions - (int) The dimensions of the even grid.
+     *
+     * @return BoardRenderer - the shared renderer for those dimensions.
+     *
+     */
+    public static BoardRenderer getInstance(int dimensions) {
+
+        // Look up the cached renderer first, building it only if missing.
+        BoardRenderer renderer = CACHE.get(dimensions);
+        if (renderer == null) {
+            renderer = CACHE.computeIfAbsent(dimensions, missing -> new BoardRenderer(dimensions));
+        }
+        return renderer;
+    }
+
+    /**
+     *
+     * A method that draws the cells of a game board, each layer side by side under its column numbers.
+     *
+     * @param game - (TicTacTix) The game to draw, of the dimensions of this renderer.
+     * @param out - (Appendable) Where to write the drawing.
+     *
+     * @throws IOException - if out cannot be written to.
+     *
+     */
+    public void appendCells(TicTacTix game, Appendable out) throws IOException {
+
+        // Push the column numbers.
+        out.append(columnHeadings);
+
+        // Push every row of every layer, then the divider below it.
+        for (int row = 0; row < dimensions; row++) {
+            for (int layer = 0; layer < dimensions; layer++) {
+                out.append(rowHeadings[row]);
+                int cell = (layer*dimensions + row) * dimensions;
+                for (int column = 0; column < dimensions; column++) {
+                    if (column != 0) {
+                        out.append(CELL_SEPARATOR);
+                    }
+                    out.append(getSymbol(game.getCell(cell + column)));
+                }
+            }
+            out.append('\n');
+            if (row != dimensions-1) {
+                out.append(rowDivider);
+            }
+        }
+    }
+
+    /**
+     *
+     * A method that returns the symbol drawn for the content of a cell.
+     *
+     * @param content - (int) 1 or 2 for a player, -1 for the reserved cell, or 0 if empty.
+     *
+     * @return char - the symbol of the cell.
+     *
+     */
+    public static char getSymbol(int content) {
+        return SYMBOLS[content + 1];
+    }
+
+    /**
+     *
+     * A method that returns on which line of the drawing the symbol of a cell is, counting the column numbers as
+     * line 0.
+     *
+     * @param cell - (int) The flat index of the cell.
+     *
+     * @return int - the line of the cell.
+     *
+     */
+    public int getCellLine(int cell) {
+        return 1 + 2 * ((cell / dimensions) % dimensions);
+    }
+
+    /**
+     *
+     * A method that returns at which column of the screen the symbol of a cell is drawn, counting from 0 and taking
+     * tabs to the next multiple of eight columns as terminals do.
+     *
+     * @param cell - (int) The flat index of the cell.
+     *
+     * @return int - the screen column of the cell.
+     *
+     */
+    public int getCellColumn(int cell) {
+
+        // Create and initialize variables required.
+        int layer = cell / (dimensions*dimensions);
+        int row = (cell / dimensions) % dimensions;
+        int column = cell % dimensions;
+        int labelLength = rowHeadings[row].length() - 1;
+        int layerWidth = labelLength + dimensions + (dimensions-1) * CELL_SEPARATOR.length();
+
+        // Skip the layers to the left, each starting at the next tab stop, then the label and cells to the left.
+        int position = 0;
+        for (int left = 0; left < layer; left++) {
+            position = (position/TAB_WIDTH + 1) * TAB_WIDTH + layerWidth;
+        }
+        return (position/TAB_WIDTH + 1) * TAB_WIDTH + labelLength + column * (1 + CELL_SEPARATOR.length());
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of lines of a drawing, the column numbers included.
+     *
+     * @return int - the number of lines.
+     *
+     */
+    public int getLineCount() {
+        return 2 * dimensions;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of characters appendCells(TicTacTix game, Appendable out) writes,
+     * the same for every game board of these dimensions.
+     *
+     * @return int - the length of a drawing.
+     *
+     */
+    public int getLength() {
+        return length;
+    }
+}
@@ -0,0 +1,108 @@
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ *
+ * This class hands out direct byte buffers of one size and takes them back for reuse. Direct buffers are costly to
+ * allocate and free, but are read into and written from by channels without an extra copy, so a server borrows one
+ * only while a connection has bytes to hold and gives it back once they are handled. Idle connections then hold no
+ * buffer at all. The pool keeps at most a set number of free buffers, letting the rest be collected.
+ *
+ * Note: A pool is meant for the one thread of a selector loop and is not safe to share between threads.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see NioGameServer
+ *
+ */
+public class BufferPool {
+
+    // Declaration of instance variables
+    private ArrayDeque<ByteBuffer> freeBuffers;
+    private int bufferBytes;
+    private int maxFree;
+    private long allocatedCount;
+    private long acquiredCount;
+
+
+    /**
+     *
+     * Parameterized constructor of the BufferPool class. No buffer is allocated until one is asked for.
+     *
+     * @param bufferBytes - (int) The size of every buffer in bytes.
+     * @param maxFree - (int) The most free buffers to keep for reuse.
+     *
+     */
+    public BufferPool(int bufferBytes, int maxFree) {
+
+        // Initialize the instance variables
+        this.bufferBytes = bufferBytes;
+        this.maxFree = maxFree;
+        freeBuffers = new ArrayDeque<ByteBuffer>();
+    }
+
+    /**
+     *
+     * A method that hands out a cleared buffer, reusing a free one if there is one.
+     *
+     * @return ByteBuffer - the buffer, to be given back through release(ByteBuffer buffer).
+     *
+     */
+    public ByteBuffer acquire() {
+        acquiredCount++;
+        ByteBuffer buffer = freeBuffers.pollFirst();
+        if (buffer == null) {
+            allocatedCount++;
+            buffer = ByteBuffer.allocateDirect(bufferBytes);
+        }
+        return buffer;
+    }
+
+    /**
+     *
+     * A method that takes a buffer back, clearing it for the next use. It must not be used after.
+     *
+     * @param buffer - (ByteBuffer) A buffer handed out by this pool.
+     *
+     */
+    public void release(ByteBuffer buffer) {
+        if (freeBuffers.size() < maxFree) {
+            buffer.clear();
+            freeBuffers.addFirst(buffer);
+        }
+    }
+
+    /**
+     *
+     * A accessor method that returns the size of every buffer.
+     *
+     * @return int - the size in bytes.
+     *
+     */
+    public int getBufferBytes() {
+        return bufferBytes;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of buffers allocated so far, as against handed out.
+     *
+     * @return long - the number of buffers allocated.
+     *
+     */
+    public long getAllocatedCount() {
+        return allocatedCount;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of buffers handed out so far, reused ones included.
+     *
+     * @return long - the number of buffers handed out.
+     *
+     */
+    public long getAcquiredCount() {
+        return acquiredCount;
+    }
+}
@@ -0,0 +1,194 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.Arrays;
+
+/**
+ *
+ * This class is a test client of the game protocol that stands in for a real player, playing random moves against
+ * a GameServer over the loopback address. It keeps its own copy of the game, making its moves and the computer's
+ * replies on it, so it always knows which cells are free. That copy is taken from the shared GamePool. Sending a
+ * command and reading its answer are separate methods, so one thread can keep a command in flight on many clients
+ * at once.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see GameServer
+ * @see GameSession
+ *
+ */
+public class GameClient implements Closeable {
+
+    // Declaration of instance variables
+    private Socket socket;
+    private BufferedReader input;
+    private BufferedWriter output;
+    private Random generator;
+    private TicTacTix game;
+    private String state;
+    private int gamesFinished;
+
+
+    /**
+     *
+     * Parameterized constructor of the GameClient class. Connects to a server on the loopback address.
+     *
+     * @param port - (int) The port of the server.
+     * @param generator - (Random) The random number generator picking the moves.
+     *
+     * @throws IOException - if the server cannot be reached.
+     *
+     */
+    public GameClient(int port, Random generator) throws IOException {
+
+        // Initialize the instance variables
+        socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        socket.setTcpNoDelay(true);
+        input = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+        output = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII));
+        this.generator = generator;
+        state = "OVER";
+    }
+
+    /**
+     *
+     * A method that sends the command starting a new game. Its answer is read by readAnswer().
+     *
+     * @param dimensions - (int) The dimensions of the game board.
+     * @param isFirst - (boolean) Determines if the client moves first.
+     *
+     * @throws IOException - if the command cannot be sent.
+     *
+     */
+    public void sendNewGame(int dimensions, boolean isFirst) throws IOException {
+        GamePool.getShared().release(game);
+        game = GamePool.getShared().acquire(dimensions, isFirst, false);
+        output.write("NEW " + dimensions + (isFirst ? " FIRST\n" : " SECOND\n"));
+        output.flush();
+    }
+
+    /**
+     *
+     * A method that picks a random free cell, makes the move on the client's copy of the game and sends it. Its
+     * answer is read by readAnswer().
+     *
+     * @throws IOException - if the command cannot be sent.
+     *
+     */
+    public void sendRandomMove() throws IOException {
+        int[] coordinates = game.toCoordinates(game.getFreeCell(generator.nextInt(game.getFreeCellCount())));
+        game.move(coordinates[0], coordinates[1], coordinates[2]);
+        output.write("MOVE " + coordinates[0] + " " + coordinates[1] + " " + coordinates[2] + "\n");
+        output.flush();
+    }
+
+    /**
+     *
+     * A method that reads the answer to a new game or a move, making the computer's reply on the client's copy of
+     * the game.
+     *
+     * @throws IOException - if the answer cannot be read, or is an error.
+     *
+     */
+    public void readAnswer() throws IOException {
+
+        // Read the answer.
+        String line = input.readLine();
+        if (line == null || !line.startsWith("OK")) {
+            throw new IOException("Server answered " + line);
+        }
+
+        // Make the computer's reply, then keep the state of the game.
+        String[] words = line.split(" ");
+        int next = 1;
+        if (words.length > 4 && words[1].equals("COMPUTER")) {
+            game.move(Integer.parseInt(words[2]), Integer.parseInt(words[3]), Integer.parseInt(words[4]));
+            next = 5;
+        }
+        state = String.join(" ", Arrays.copyOfRange(words, next, words.length));
+        if (isOver()) {
+            gamesFinished++;
+        }
+    }
+
+    /**
+     *
+     * A method that asks for the game board and reads it.
+     *
+     * @return String - the game board as drawn by the server.
+     *
+     * @throws IOException - if the game board cannot be read.
+     *
+     */
+    public String getBoard() throws IOException {
+
+        // Ask for the game board.
+        output.write("BOARD\n");
+        output.flush();
+        String line = input.readLine();
+        if (line == null || !line.startsWith("OK")) {
+            throw new IOException("Server answered " + line);
+        }
+
+        // Read up to the line holding only ".".
+        StringBuilder board = new StringBuilder();
+        while ((line = input.readLine()) != null && !line.equals(".")) {
+            board.append(line).append('\n');
+        }
+        return board.toString();
+    }
+
+    /**
+     *
+     * A method that determines if the game has ended, or no game was started yet.
+     *
+     * @return boolean - whether a new game may be started.
+     *
+     */
+    public boolean isOver() {
+        return !state.equals("PLAY");
+    }
+
+    /**
+     *
+     * A accessor method that returns the state of the game in the last answer: PLAY, WIN PLAYER, WIN COMPUTER or TIE.
+     *
+     * @return String - the state of the game.
+     *
+     */
+    public String getState() {
+        return state;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of games the client has finished.
+     *
+     * @return int - the number of games.
+     *
+     */
+    public int getGamesFinished() {
+        return gamesFinished;
+    }
+
+    /**
+     *
+     * A method that ends the session and closes the connection.
+     *
+     * @throws IOException - if the connection cannot be closed.
+     *
+     */
+    public void close() throws IOException {
+        GamePool.getShared().release(game);
+        game = null;
+        socket.close();
+    }
+}
@@ -0,0 +1,150 @@
+import java.util.ArrayDeque;
+
+/**
+ *
+ * This class keeps finished games of TicTacTix for reuse, so programs playing many games in a row take a game board
+ * already allocated instead of a new one. Games are kept apart by dimensions and rule mode. A game taken from the pool
+ * is started over with reset(boolean isFirst), which empties it in place, so the only allocation left per game is the
+ * first one of each game board. The pool keeps at most a set number of free games of each kind, letting the rest be
+ * collected.
+ *
+ * The free games are only touched under the lock of the pool, so the sessions of a server may share one pool.
+ *
+ * Note: A game must not be used once given back to the pool.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see TicTacTix#reset(boolean isFirst)
+ *
+ */
+public class GamePool {
+
+    // Declaration of instance variables
+    // The free games of each kind, indexed by dimensions then rule mode (1 for full 3D).
+    private ArrayDeque<TicTacTix>[][] freeGames;
+    private int maxFree;
+    private long createdCount;
+    private long reusedCount;
+
+    // Declaration of static variables.
+    public final static int DEFAULT_MAX_FREE = 1024;
+    // The pool shared by the game sessions.
+    private final static GamePool SHARED = new GamePool(GameSession.MAX_DIMENSIONS, DEFAULT_MAX_FREE);
+
+
+    /**
+     *
+     * Parameterized constructor of the GamePool class. The pool starts out empty.
+     *
+     * @param maxDimensions - (int) The largest dimensions of the games kept. Larger games are never kept.
+     * @param maxFree - (int) The most free games of each kind to keep.
+     *
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public GamePool(int maxDimensions, int maxFree) {
+
+        // Initialize the instance variables
+        this.maxFree = maxFree;
+        freeGames = new ArrayDeque[maxDimensions+1][2];
+        for (int dimensions = 0; dimensions <= maxDimensions; dimensions++) {
+            freeGames[dimensions][0] = new ArrayDeque<TicTacTix>();
+            freeGames[dimensions][1] = new ArrayDeque<TicTacTix>();
+        }
+    }
+
+    /**
+     *
+     * A accessor method that returns the pool shared by the game sessions, keeping games up to the largest
+     * dimensions a session can play.
+     *
+     * @return GamePool - the shared pool.
+     *
+     */
+    public static GamePool getShared() {
+        return SHARED;
+    }
+
+    /**
+     *
+     * A method that hands out a new game, reusing a free one of the same kind if there is one.
+     *
+     * @param dimensions - (int) The dimensions of the game board.
+     * @param isFirst - (boolean) Determines if the user gets to go first in the game.
+     * @param isFull3D - (boolean) Determines if the space diagonals of the cube are winning lines.
+     *
+     * @return TicTacTix - the game, to be given back through release(TicTacTix game) once done with.
+     *
+     */
+    public TicTacTix acquire(int dimensions, boolean isFirst, boolean isFull3D) {
+
+        // Take a free game, if any are kept for these dimensions.
+        TicTacTix game = null;
+        synchronized (this) {
+            if (dimensions < freeGames.length) {
+                game = freeGames[dimensions][isFull3D ? 1 : 0].pollFirst();
+            }
+            if (game != null) {
+                reusedCount++;
+            }
+            else {
+                createdCount++;
+            }
+        }
+
+        // Start it over, outside the lock, or create one.
+        if (game != null) {
+            game.reset(isFirst);
+            return game;
+        }
+        return new TicTacTix(dimensions, isFirst, isFull3D);
+    }
+
+    /**
+     *
+     * A method that takes back a game that is no longer used. Symmetry tracking and the weights of the open lines
+     * are turned off, so the next user finds the game as if it was just constructed.
+     *
+     * @param game - (TicTacTix) The game, or null for none.
+     *
+     */
+    public void release(TicTacTix game) {
+
+        // Nothing to keep.
+        if (game == null || game.getDimensions() >= freeGames.length) {
+            return;
+        }
+
+        // Turn the extras off, then keep the game if there is room.
+        game.setSymmetryTracking(false);
+        game.setLineWeights(null);
+        synchronized (this) {
+            ArrayDeque<TicTacTix> games = freeGames[game.getDimensions()][game.isFull3D() ? 1 : 0];
+            if (games.size() < maxFree) {
+                games.addFirst(game);
+            }
+        }
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of games created by the pool so far, as against reused.
+     *
+     * @return long - the number of games created.
+     *
+     */
+    public synchronized long getCreatedCount() {
+        return createdCount;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of free games handed out again so far.
+     *
+     * @return long - the number of games reused.
+     *
+     */
+    public synchronized long getReusedCount() {
+        return reusedCount;
+    }
+}
@@ -0,0 +1,264 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ *
+ * This class hosts many games of TicTacTix at once without a console, each connection to it being one GameSession
+ * driven by the line protocol described there. The server listens on the loopback address only. Each connection is
+ * served by its own thread, reading a command and writing its answer in turn.
+ *
+ * Connections are served on virtual threads where the Java runtime has them (Java 21 and later), so thousands of
+ * mostly idle sessions cost little. On older runtimes the server falls back to a pool of ordinary daemon threads
+ * with small stacks, one per connection. A server is run on its own with:
+ *
+ *     java GameServer 4444
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see GameSession
+ * @see GameClient
+ *
+ */
+public class GameServer {
+
+    // Declaration of instance variables
+    private ServerSocket serverSocket;
+    private ExecutorService sessions;
+    private Supplier<MoveStrategy> strategies;
+    private Thread acceptor;
+    private Set<Socket> openSockets;
+    private boolean isVirtual;
+    private volatile boolean isRunning;
+    private LongAdder connections;
+    private LongAdder commands;
+    private LongAdder gamesFinished;
+
+    // Declaration of static variables.
+    private final static int BACKLOG = 4096;
+    private final static long THREAD_STACK_BYTES = 256 << 10;
+    private final static int DEFAULT_DEPTH = 2;
+
+
+    /**
+     *
+     * Parameterized constructor of the GameServer class. The server does not listen until started.
+     *
+     * @param strategies - (Supplier) Creates the computer player of each session.
+     *
+     */
+    public GameServer(Supplier<MoveStrategy> strategies) {
+
+        // Initialize the instance variables
+        this.strategies = strategies;
+        openSockets = ConcurrentHashMap.newKeySet();
+        connections = new LongAdder();
+        commands = new LongAdder();
+        gamesFinished = new LongAdder();
+        sessions = newVirtualThreadExecutor();
+        isVirtual = sessions != null;
+        if (!isVirtual) {
+            sessions = Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(null, task, "GameSession", THREAD_STACK_BYTES);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /*
+     * This is the main method that runs a server until killed, on the port given or any free port.
+     */
+    public static void main(String[] args) throws IOException {
+        GameServer server = new GameServer(() -> new NegamaxStrategy(DEFAULT_DEPTH));
+        server.start((args.length > 0) ? Integer.parseInt(args[0]) : 0);
+        System.out.println("Serving TicTacTix on port " + server.getPort()
+                           + (server.isVirtual() ? " with virtual threads" : " with a thread pool"));
+    }
+
+    /**
+     *
+     * A method that starts listening on the loopback address and serving connections.
+     *
+     * @param port - (int) The port to listen on, or 0 for any free port.
+     *
+     * @throws IOException - if the port cannot be listened on.
+     *
+     */
+    public void start(int port) throws IOException {
+
+        // Listen, then accept connections on a thread of their own.
+        serverSocket = new ServerSocket(port, BACKLOG, InetAddress.getLoopbackAddress());
+        isRunning = true;
+        acceptor = new Thread(this::acceptConnections, "GameServer");
+        acceptor.start();
+    }
+
+    /**
+     *
+     * A method that stops listening, closes every connection and waits for the sessions to end.
+     *
+     * @throws IOException - if the server socket cannot be closed.
+     *
+     */
+    public void stop() throws IOException {
+
+        // Stop accepting, then close every connection and wait for the sessions.
+        isRunning = false;
+        serverSocket.close();
+        for (Socket socket : openSockets) {
+            socket.close();
+        }
+        sessions.shutdownNow();
+        try {
+            acceptor.join();
+            sessions.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     *
+     * A helper method that accepts connections until the server stops, starting a session for each.
+     *
+     */
+    private void acceptConnections() {
+        while (isRunning) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.increment();
+                openSockets.add(socket);
+                sessions.execute(() -> serve(socket));
+            }
+            // Closed by stop(), or a failed connection... Keep going while running.
+            catch (IOException exception) {
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that runs one session over a connection, answering each command line until the client quits
+     * or goes away.
+     *
+     * @param socket - (Socket) The connection.
+     *
+     */
+    private void serve(Socket socket) {
+
+        // Create and initialize variables/objects required.
+        GameSession session = new GameSession(strategies);
+
+        // Answer every command, flushing once per answer.
+        try (Socket connection = socket;
+             BufferedReader input = new BufferedReader(new InputStreamReader(connection.getInputStream(),
+                                                                             StandardCharsets.US_ASCII));
+             BufferedWriter output = new BufferedWriter(new OutputStreamWriter(connection.getOutputStream(),
+                                                                               StandardCharsets.US_ASCII))) {
+            String line;
+            boolean isOpen = true;
+            while (isOpen && (line = input.readLine()) != null) {
+                commands.increment();
+                isOpen = line.isEmpty() || session.handle(line, output);
+                output.flush();
+            }
+        }
+        // Client went away... End the session.
+        catch (IOException exception) {
+        }
+        finally {
+            openSockets.remove(socket);
+            gamesFinished.add(session.getGamesFinished());
+            session.end();
+        }
+    }
+
+    /**
+     *
+     * A helper method that creates an executor running each task on a new virtual thread, looked up by reflection so
+     * the server still compiles and runs on runtimes without virtual threads.
+     *
+     * @return ExecutorService - the executor, or null if the runtime has no virtual threads.
+     *
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        }
+        catch (ReflectiveOperationException | UnsupportedOperationException exception) {
+            return null;
+        }
+    }
+
+    /**
+     *
+     * A accessor method that returns the port the server listens on.
+     *
+     * @return int - the port.
+     *
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     *
+     * A accessor method that determines if sessions run on virtual threads.
+     *
+     * @return boolean - whether virtual threads are used, false for the thread pool fallback.
+     *
+     */
+    public boolean isVirtual() {
+        return isVirtual;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of connections accepted so far.
+     *
+     * @return long - the number of connections.
+     *
+     */
+    public long getConnectionCount() {
+        return connections.sum();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of commands answered so far.
+     *
+     * @return long - the number of commands.
+     *
+     */
+    public long getCommandCount() {
+        return commands.sum();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of games finished in sessions that have ended.
+     *
+     * @return long - the number of games.
+     *
+     */
+    public long getGamesFinished() {
+        return gamesFinished.sum();
+    }
+}
@@ -0,0 +1,324 @@
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ *
+ * This class holds one game played over the network against the computer, and answers the commands of the game
+ * protocol for it. A session has its own game and its own computer player, so sessions share nothing and each can be
+ * run by a different thread. Commands are lines of text, answered by one line starting with OK or ERROR:
+ *
+ *     NEW dimensions FIRST|SECOND   start a new game, the player moving first or second (any other word is an ERROR)
+ *     MOVE layer row column         make the player's move (index start at 1), then the computer's reply
+ *     BOARD                         the game board as drawn by toString(), followed by a line holding only "."
+ *     RESIGN                        give the game up to the computer
+ *     QUIT                          end the session
+ *
+ * A move is answered by the computer's reply, if any, then the state of the game:
+ *
+ *     OK [COMPUTER layer row column] PLAY|WIN PLAYER|WIN COMPUTER|TIE
+ *
+ * The commands are also available as methods taking numbers, for front ends that parse the protocol themselves.
+ * Games are taken from the shared GamePool and given back by the next NEW or by end(), so a busy server reuses its
+ * game boards instead of allocating one per game.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see GameServer
+ *
+ */
+public class GameSession {
+
+    // Declaration of instance variables
+    private Supplier<MoveStrategy> strategies;
+    private MoveStrategy strategy;
+    private TicTacTix game;
+    private boolean isOver;
+    private int gamesFinished;
+
+    // Declaration of static variables.
+    public final static int MIN_DIMENSIONS = 3;
+    public final static int MAX_DIMENSIONS = 9;
+    private final static int PLAYER = 1;
+    private final static int COMPUTER = 2;
+
+
+    /**
+     *
+     * Parameterized constructor of the GameSession class. No game is started until NEW.
+     *
+     * @param strategies - (Supplier) Creates the computer player of the session, asked once per session.
+     *
+     */
+    public GameSession(Supplier<MoveStrategy> strategies) {
+        this.strategies = strategies;
+    }
+
+    /**
+     *
+     * A method that answers one command line of the protocol.
+     *
+     * @param line - (String) The command, without the line break.
+     * @param out - (Appendable) Where to write the answer.
+     *
+     * @return boolean - false once the session should end, true otherwise.
+     *
+     * @throws IOException - if the answer cannot be written.
+     *
+     */
+    public boolean handle(String line, Appendable out) throws IOException {
+
+        // Split the command into its words.
+        String[] words = line.trim().split("\\s+");
+        String command = words[0].toUpperCase();
+
+        // Run the command with its arguments.
+        try {
+            if (command.equals("NEW") && words.length == 3) {
+                int dimensions = Integer.parseInt(words[1]);
+                if (words[2].equalsIgnoreCase("FIRST") || words[2].equalsIgnoreCase("SECOND")) {
+                    newGame(dimensions, words[2].equalsIgnoreCase("FIRST"), out);
+                }
+                else {
+                    out.append("ERROR expected FIRST or SECOND\n");
+                }
+            }
+            else if (command.equals("MOVE") && words.length == 4) {
+                move(Integer.parseInt(words[1]), Integer.parseInt(words[2]), Integer.parseInt(words[3]), out);
+            }
+            else if (command.equals("BOARD") && words.length == 1) {
+                board(out);
+            }
+            else if (command.equals("RESIGN") && words.length == 1) {
+                resign(out);
+            }
+            else if (command.equals("QUIT") && words.length == 1) {
+                out.append("OK BYE\n");
+                return false;
+            }
+            else {
+                out.append("ERROR unknown command\n");
+            }
+        }
+        catch (NumberFormatException exception) {
+            out.append("ERROR not a number\n");
+        }
+        return true;
+    }
+
+    /**
+     *
+     * A method that starts a new game, the computer making its first move if the player moves second.
+     *
+     * @param dimensions - (int) The dimensions of the game board, from 3 to 9.
+     * @param isFirst - (boolean) Determines if the player moves first.
+     * @param out - (Appendable) Where to write the answer.
+     *
+     * @throws IOException - if the answer cannot be written.
+     *
+     */
+    public void newGame(int dimensions, boolean isFirst, Appendable out) throws IOException {
+
+        // Check the dimensions.
+        if (dimensions < MIN_DIMENSIONS || dimensions > MAX_DIMENSIONS) {
+            out.append("ERROR dimensions must be from ").append(String.valueOf(MIN_DIMENSIONS)).append(" to ")
+               .append(String.valueOf(MAX_DIMENSIONS)).append('\n');
+            return;
+        }
+
+        // Start the game, then let the computer move if it goes first.
+        if (strategy == null) {
+            strategy = strategies.get();
+        }
+        GamePool.getShared().release(game);
+        game = GamePool.getShared().acquire(dimensions, isFirst, false);
+        isOver = false;
+        out.append("OK");
+        if (!isFirst) {
+            computerMove(out);
+        }
+        appendState(out);
+    }
+
+    /**
+     *
+     * A method that makes the player's move, then the computer's reply if the game goes on.
+     *
+     * @param layer - (int) The layer of the move (index start at 1).
+     * @param row - (int) The row of the move (index start at 1).
+     * @param column - (int) The column of the move (index start at 1).
+     * @param out - (Appendable) Where to write the answer.
+     *
+     * @throws IOException - if the answer cannot be written.
+     *
+     */
+    public void move(int layer, int row, int column, Appendable out) throws IOException {
+
+        // Only while a game is going on.
+        if (!isPlaying(out)) {
+            return;
+        }
+        if (!game.move(layer, row, column)) {
+            out.append("ERROR invalid move\n");
+            return;
+        }
+
+        // Reply if the player's move did not end the game.
+        out.append("OK");
+        if (!checkOver()) {
+            computerMove(out);
+        }
+        appendState(out);
+    }
+
+    /**
+     *
+     * A method that writes the game board as drawn by toString(), followed by a line holding only ".".
+     *
+     * @param out - (Appendable) Where to write the answer.
+     *
+     * @throws IOException - if the answer cannot be written.
+     *
+     */
+    public void board(Appendable out) throws IOException {
+        if (game == null) {
+            out.append("ERROR no game\n");
+            return;
+        }
+        out.append("OK\n");
+        game.appendTo(out);
+        out.append("\n.\n");
+    }
+
+    /**
+     *
+     * A method that gives the game up to the computer.
+     *
+     * @param out - (Appendable) Where to write the answer.
+     *
+     * @throws IOException - if the answer cannot be written.
+     *
+     */
+    public void resign(Appendable out) throws IOException {
+        if (!isPlaying(out)) {
+            return;
+        }
+        isOver = true;
+        gamesFinished++;
+        out.append("OK WIN COMPUTER\n");
+    }
+
+    /**
+     *
+     * A method that ends the session, giving its game back to the shared GamePool. The session must not be used
+     * after.
+     *
+     */
+    public void end() {
+        GamePool.getShared().release(game);
+        game = null;
+    }
+
+    /**
+     *
+     * A helper method that checks a game is going on, answering with an error if not.
+     *
+     * @param out - (Appendable) Where to write the error.
+     *
+     * @return boolean - whether a game is going on.
+     *
+     * @throws IOException - if the error cannot be written.
+     *
+     */
+    private boolean isPlaying(Appendable out) throws IOException {
+        if (game == null || isOver) {
+            out.append("ERROR no game\n");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     *
+     * A helper method that makes the computer's move and writes it.
+     *
+     * @param out - (Appendable) Where to write the move.
+     *
+     * @throws IOException - if the move cannot be written.
+     *
+     */
+    private void computerMove(Appendable out) throws IOException {
+        int cell = strategy.selectMove(game);
+        game.moveCell(cell);
+        checkOver();
+        out.append(" COMPUTER");
+        appendCoordinates(cell, out);
+    }
+
+    /**
+     *
+     * A helper method that determines if the game has ended, counting it the first time.
+     *
+     * @return boolean - whether the game is over.
+     *
+     */
+    private boolean checkOver() {
+        if (!isOver && game.isGameOver()) {
+            isOver = true;
+            gamesFinished++;
+        }
+        return isOver;
+    }
+
+    /**
+     *
+     * A helper method that writes the coordinates of a cell (index start at 1), each after a space, without
+     * building strings.
+     *
+     * @param cell - (int) The flat index of the cell.
+     * @param out - (Appendable) Where to write the coordinates.
+     *
+     * @throws IOException - if the coordinates cannot be written.
+     *
+     */
+    private void appendCoordinates(int cell, Appendable out) throws IOException {
+        out.append(' ').append((char) ('0' + game.getLayer(cell)));
+        out.append(' ').append((char) ('0' + game.getRow(cell)));
+        out.append(' ').append((char) ('0' + game.getColumn(cell)));
+    }
+
+    /**
+     *
+     * A helper method that writes the state of the game and ends the line.
+     *
+     * @param out - (Appendable) Where to write the state.
+     *
+     * @throws IOException - if the state cannot be written.
+     *
+     */
+    private void appendState(Appendable out) throws IOException {
+        if (!isOver) {
+            out.append(" PLAY\n");
+        }
+        else if (game.getWinner() == PLAYER) {
+            out.append(" WIN PLAYER\n");
+        }
+        else if (game.getWinner() == COMPUTER) {
+            out.append(" WIN COMPUTER\n");
+        }
+        else {
+            out.append(" TIE\n");
+        }
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of games of the session that have ended, resigned ones included.
+     *
+     * @return int - the number of games finished.
+     *
+     */
+    public int getGamesFinished() {
+        return gamesFinished;
+    }
+}
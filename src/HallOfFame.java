@@ -0,0 +1,700 @@
+import java.io.File;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.FileOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.Comparator;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ *
+ * This class stores the hall of fame, the names of the players who beat the computer, and answers how many times a
+ * player has won and who has won the most without reading every win ever recorded.
+ *
+ * Every win is appended to a log file as a record of the name's length, the name in UTF-8 and a CRC32 checksum of
+ * the name. The log is the only copy of the wins; it is never rewritten, only cut back past a record torn by a crash,
+ * which the checksum catches when the store is opened. Wins are summed up per player in an index file, which lists
+ * the players ranked by wins, then by the hash of their names for lookups, then the name and wins of each player.
+ * The index also records how much of the log it covers, so opening the store only reads the wins logged since. The
+ * index is read into memory whole, and rewritten to a new file and moved over the old one every few thousand wins
+ * and on close, so a crash always leaves a whole index behind. No mapping or open handle of the index is kept, as
+ * some systems, Windows among them, refuse to replace a file that is mapped.
+ *
+ * A win is only reported as recorded once it is synced to disk. Many games finishing at once share one sync: the
+ * first winner to reach the disk writes and syncs the wins of every winner waiting behind it (group commit).
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ */
+public class HallOfFame implements Closeable {
+
+    // Declaration of instance variables
+    private File indexFile;
+    private FileChannel log;
+    private long logLength;
+    private ByteBuffer index;
+    private int indexPlayers;
+    // Wins logged since the index was written, by name.
+    private Map<String, Integer> recentWins;
+    private int recentRecords;
+    // Records waiting to be written, a spare buffer to swap in while a batch is written, and the names in the batch.
+    private ByteBuffer pending;
+    private ByteBuffer spare;
+    private List<String> pendingNames;
+    // Records appended and records synced so far, counted from when the store was opened.
+    private long appendedCount;
+    private long syncedCount;
+    private long syncCount;
+    private IOException failure;
+    private final Object syncLock;
+
+    // Declaration of static variables.
+    final static int LOG_MAGIC = 0x5454484C;
+    final static int INDEX_MAGIC = 0x54544849;
+    final static int VERSION = 1;
+    final static int LOG_HEADER_BYTES = 8;
+    final static int INDEX_HEADER_BYTES = 24;
+    final static int RANK_BYTES = 4;
+    final static int LOOKUP_BYTES = 12;
+    final static int MAX_NAME_BYTES = 255;
+    private final static int RECORD_OVERHEAD_BYTES = 6;
+    private final static int CHECKPOINT_RECORDS = 4096;
+    private final static int BUFFER_BYTES = 1 << 16;
+    private final static long FNV_OFFSET = 0xcbf29ce484222325L;
+    private final static long FNV_PRIME = 0x100000001b3L;
+    // Most wins first, then by name.
+    private final static Comparator<Map.Entry<String, Integer>> RANKING =
+        Comparator.<Map.Entry<String, Integer>>comparingInt(entry -> -entry.getValue())
+                  .thenComparing(Map.Entry::getKey);
+
+
+    /**
+     *
+     * Parameterized constructor of the HallOfFame class. Opens the store, creating the files if missing. The wins
+     * logged after the index are read in, a record torn by a crash is cut off, and the index is brought up to date.
+     *
+     * @param logFile - (File) The log of every win.
+     * @param indexFile - (File) The index of wins per player, rebuilt from the log if missing or unreadable.
+     *
+     * @throws IOException - if the files cannot be read or written, or the log is not a hall of fame log.
+     *
+     */
+    public HallOfFame(File logFile, File indexFile) throws IOException {
+
+        // Initialize the instance variables
+        this.indexFile = indexFile;
+        recentWins = new HashMap<String, Integer>();
+        pending = ByteBuffer.allocate(BUFFER_BYTES);
+        spare = ByteBuffer.allocate(BUFFER_BYTES);
+        pendingNames = new ArrayList<String>();
+        syncLock = new Object();
+
+        // Open the log, writing its header if it is new.
+        log = FileChannel.open(logFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ,
+                               StandardOpenOption.WRITE);
+        try {
+            if (log.size() == 0) {
+                ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES);
+                header.putInt(LOG_MAGIC).putInt(VERSION).flip();
+                log.write(header, 0);
+                log.force(true);
+            }
+            ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_BYTES);
+            log.read(header, 0);
+            if (header.getInt(0) != LOG_MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException(logFile + " is not a hall of fame log");
+            }
+
+            // Read the index, then the wins logged after it, and bring the index up to date.
+            long covered = openIndex();
+            replay(covered);
+            synchronized (syncLock) {
+                if (recentRecords > 0) {
+                    checkpoint();
+                }
+            }
+        }
+        catch (IOException exception) {
+            log.close();
+            throw exception;
+        }
+    }
+
+    /**
+     *
+     * A method that records a win, returning once it is synced to disk.
+     *
+     * @param name - (String) The name of the winner, trimmed. It must not be empty or longer than 255 bytes in UTF-8.
+     *
+     * @throws IOException - if the win cannot be written.
+     *
+     */
+    public void recordWin(String name) throws IOException {
+
+        // Queue the record, then sync it along with any others queued.
+        long ticket;
+        byte[] bytes = encode(name);
+        synchronized (this) {
+            append(name.trim(), bytes);
+            ticket = appendedCount;
+        }
+        sync(ticket);
+    }
+
+    /**
+     *
+     * A method that records every name listed in a text file, one per line, as a win, syncing them to disk once. This
+     * brings the wins of the old plain text hall of fame into the store. Blank lines and names too long are skipped.
+     *
+     * @param textFile - (File) The file to read, in the default character set.
+     *
+     * @return int - the number of wins recorded.
+     *
+     * @throws IOException - if the file cannot be read or the wins cannot be written.
+     *
+     */
+    public int importText(File textFile) throws IOException {
+
+        // Queue every valid name, then sync them all at once.
+        long ticket;
+        int count = 0;
+        List<String> lines = Files.readAllLines(textFile.toPath(), Charset.defaultCharset());
+        synchronized (this) {
+            for (String line : lines) {
+                String name = line.trim();
+                byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                if (bytes.length > 0 && bytes.length <= MAX_NAME_BYTES) {
+                    append(name, bytes);
+                    count++;
+                }
+            }
+            ticket = appendedCount;
+        }
+        sync(ticket);
+        return count;
+    }
+
+    /**
+     *
+     * A method that returns how many times a player has won.
+     *
+     * @param name - (String) The name of the player, trimmed.
+     *
+     * @return int - the wins of the player, or 0 if they never won.
+     *
+     */
+    public synchronized int getWins(String name) {
+        name = name.trim();
+        return getIndexWins(name) + recentWins.getOrDefault(name, 0);
+    }
+
+    /**
+     *
+     * A method that returns the players with the most wins, most first, ties by name. Only the first players of the
+     * index and the players who won since it was written are read.
+     *
+     * @param count - (int) The most players to return.
+     *
+     * @return List - the name and wins of each player, at most count of them.
+     *
+     */
+    public synchronized List<Map.Entry<String, Integer>> getTopPlayers(int count) {
+
+        // The top players are among the top of the index and the recent winners.
+        Map<String, Integer> candidates = new HashMap<String, Integer>();
+        for (int rank = 0; rank < Math.min(count, indexPlayers); rank++) {
+            int entry = index.getInt(INDEX_HEADER_BYTES + rank * RANK_BYTES);
+            candidates.put(readName(entry), index.getInt(entry));
+        }
+        for (Map.Entry<String, Integer> recent : recentWins.entrySet()) {
+            candidates.put(recent.getKey(), getIndexWins(recent.getKey()) + recent.getValue());
+        }
+
+        // Rank them and keep the first.
+        List<Map.Entry<String, Integer>> ranking = new ArrayList<Map.Entry<String, Integer>>();
+        for (Map.Entry<String, Integer> candidate : candidates.entrySet()) {
+            ranking.add(new AbstractMap.SimpleImmutableEntry<String, Integer>(candidate));
+        }
+        ranking.sort(RANKING);
+        return (ranking.size() > count) ? new ArrayList<Map.Entry<String, Integer>>(ranking.subList(0, count))
+                                        : ranking;
+    }
+
+    /**
+     *
+     * A method that returns the wins of every player, read from the whole index.
+     *
+     * @return Map - the wins of each player by name.
+     *
+     */
+    public synchronized Map<String, Integer> getAllWins() {
+
+        // Read every entry of the index, then add the recent wins.
+        Map<String, Integer> wins = new HashMap<String, Integer>();
+        for (int rank = 0; rank < indexPlayers; rank++) {
+            int entry = index.getInt(INDEX_HEADER_BYTES + rank * RANK_BYTES);
+            wins.put(readName(entry), index.getInt(entry));
+        }
+        for (Map.Entry<String, Integer> recent : recentWins.entrySet()) {
+            wins.merge(recent.getKey(), recent.getValue(), Integer::sum);
+        }
+        return wins;
+    }
+
+    /**
+     *
+     * A method that returns how many different players have won.
+     *
+     * @return int - the number of players.
+     *
+     */
+    public synchronized int getPlayerCount() {
+        int players = indexPlayers;
+        for (String name : recentWins.keySet()) {
+            if (findEntry(name) == -1) {
+                players++;
+            }
+        }
+        return players;
+    }
+
+    /**
+     *
+     * A method that returns how many wins have been recorded in all.
+     *
+     * @return long - the number of wins.
+     *
+     */
+    public synchronized long getTotalWins() {
+        return ((index != null) ? index.getInt(20) & 0xFFFFFFFFL : 0) + recentRecords;
+    }
+
+    /**
+     *
+     * A accessor method that returns how many times the log was synced to disk since the store was opened. With
+     * winners sharing syncs, this is less than the number of wins recorded.
+     *
+     * @return long - the number of syncs.
+     *
+     */
+    public long getSyncCount() {
+        synchronized (syncLock) {
+            return syncCount;
+        }
+    }
+
+    /**
+     *
+     * A method that brings the index up to date and closes the store.
+     *
+     * @throws IOException - if the index cannot be written.
+     *
+     */
+    public void close() throws IOException {
+        synchronized (syncLock) {
+            try {
+                if (recentRecords > 0 && failure == null) {
+                    checkpoint();
+                }
+            }
+            finally {
+                log.close();
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that adds a record to the records waiting to be written. The caller holds the lock of the
+     * store.
+     *
+     * @param name - (String) The name of the winner, trimmed.
+     * @param bytes - (byte[]) The name in UTF-8.
+     *
+     */
+    private void append(String name, byte[] bytes) {
+
+        // Grow the buffer if the record does not fit.
+        int recordBytes = RECORD_OVERHEAD_BYTES + bytes.length;
+        if (pending.remaining() < recordBytes) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + recordBytes));
+            pending.flip();
+            pending = grown.put(pending);
+        }
+
+        // Write the length, the name and its checksum.
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes, 0, bytes.length);
+        pending.putShort((short) bytes.length).put(bytes).putInt((int) checksum.getValue());
+        pendingNames.add(name);
+        appendedCount++;
+    }
+
+    /**
+     *
+     * A helper method that waits until a record is synced to disk. The first thread in writes and syncs every
+     * record waiting, including those of the threads queued behind it, which then find their records already synced.
+     *
+     * @param ticket - (long) The number of records appended up to and including the record to wait for.
+     *
+     * @throws IOException - if the records cannot be written.
+     *
+     */
+    private void sync(long ticket) throws IOException {
+        synchronized (syncLock) {
+
+            // Already synced by another winner, or lost to an earlier failure.
+            if (failure != null) {
+                throw new IOException("The hall of fame log could not be written", failure);
+            }
+            if (syncedCount >= ticket) {
+                return;
+            }
+
+            // Take every record waiting, leaving the spare buffer to append to meanwhile.
+            ByteBuffer batch;
+            List<String> names;
+            long target;
+            synchronized (this) {
+                batch = pending;
+                pending = spare;
+                names = pendingNames;
+                pendingNames = new ArrayList<String>();
+                target = appendedCount;
+            }
+
+            // Write them after the last whole record and sync once.
+            long position = logLength;
+            try {
+                batch.flip();
+                while (batch.hasRemaining()) {
+                    position += log.write(batch, position);
+                }
+                log.force(false);
+            }
+            catch (IOException exception) {
+                failure = exception;
+                throw exception;
+            }
+            batch.clear();
+            spare = batch;
+            syncedCount = target;
+            syncCount++;
+
+            // Count the wins, and write the index once enough have gathered.
+            synchronized (this) {
+                logLength = position;
+                for (String name : names) {
+                    recentWins.merge(name, 1, Integer::sum);
+                }
+                recentRecords += names.size();
+            }
+            if (recentRecords >= CHECKPOINT_RECORDS) {
+                checkpoint();
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that reads the index file into memory and checks it, dropping it if it is missing, unreadable
+     * or covers more of the log than there is. The file is closed again before this method returns.
+     *
+     * @return long - how many bytes of the log the index covers.
+     *
+     * @throws IOException - if the log size cannot be read.
+     *
+     */
+    private long openIndex() throws IOException {
+
+        // Nothing to read.
+        index = null;
+        indexPlayers = 0;
+        if (!indexFile.exists()) {
+            return LOG_HEADER_BYTES;
+        }
+
+        // Read the index and check its header, rebuilding it from the whole log if anything is off.
+        try (FileChannel channel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < INDEX_HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+                return LOG_HEADER_BYTES;
+            }
+            ByteBuffer read = ByteBuffer.allocate((int) channel.size());
+            while (read.hasRemaining()) {
+                if (channel.read(read) == -1) {
+                    return LOG_HEADER_BYTES;
+                }
+            }
+            if (read.getInt(0) != INDEX_MAGIC || read.getInt(4) != VERSION
+                    || read.getLong(8) > log.size()) {
+                return LOG_HEADER_BYTES;
+            }
+            index = read;
+            indexPlayers = read.getInt(16);
+            return read.getLong(8);
+        }
+        catch (IOException exception) {
+            return LOG_HEADER_BYTES;
+        }
+    }
+
+    /**
+     *
+     * A helper method that reads the records of the log after the index, counting them as recent wins. The log is
+     * cut back after the last whole record, dropping a record torn by a crash.
+     *
+     * @param covered - (long) How many bytes of the log the index covers.
+     *
+     * @throws IOException - if the log cannot be read or cut back.
+     *
+     */
+    private void replay(long covered) throws IOException {
+
+        // Create and initialize variables/objects required.
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+        byte[] bytes = new byte[MAX_NAME_BYTES];
+        CRC32 checksum = new CRC32();
+        long size = log.size();
+        long readPosition = covered;
+        long end = covered;
+        buffer.flip();
+
+        // Read every whole record with a matching checksum.
+        while (true) {
+
+            // Top the buffer up so it holds a whole record, if the log has one.
+            if (buffer.remaining() < RECORD_OVERHEAD_BYTES + MAX_NAME_BYTES && readPosition < size) {
+                buffer.compact();
+                while (buffer.hasRemaining() && readPosition < size) {
+                    readPosition += log.read(buffer, readPosition);
+                }
+                buffer.flip();
+            }
+
+            // Read the length, the name and its checksum.
+            if (buffer.remaining() < 2) {
+                break;
+            }
+            int length = buffer.getShort(buffer.position());
+            if (length <= 0 || length > MAX_NAME_BYTES || buffer.remaining() < RECORD_OVERHEAD_BYTES + length) {
+                break;
+            }
+            buffer.getShort();
+            buffer.get(bytes, 0, length);
+            checksum.reset();
+            checksum.update(bytes, 0, length);
+            if (buffer.getInt() != (int) checksum.getValue()) {
+                break;
+            }
+            recentWins.merge(new String(bytes, 0, length, StandardCharsets.UTF_8), 1, Integer::sum);
+            recentRecords++;
+            end += RECORD_OVERHEAD_BYTES + length;
+        }
+
+        // Cut off anything after the last whole record.
+        if (end < size) {
+            log.truncate(end);
+            log.force(true);
+        }
+        logLength = end;
+    }
+
+    /**
+     *
+     * A helper method that writes a new index holding every win logged so far, to a new file moved over the old
+     * index once synced, then reads it in. The caller holds the sync lock, so the log does not grow meanwhile.
+     *
+     * @throws IOException - if the index cannot be written.
+     *
+     */
+    private void checkpoint() throws IOException {
+
+        // Gather the wins of every player, ranked.
+        Map<String, Integer> wins = getAllWins();
+        List<Map.Entry<String, Integer>> ranking = new ArrayList<Map.Entry<String, Integer>>(wins.entrySet());
+        ranking.sort(RANKING);
+        int players = ranking.size();
+
+        // Lay the entries out in ranking order, after the ranking and lookup sections.
+        byte[][] names = new byte[players][];
+        int[] offsets = new int[players];
+        long total = 0;
+        int offset = INDEX_HEADER_BYTES + players * (RANK_BYTES + LOOKUP_BYTES);
+        for (int rank = 0; rank < players; rank++) {
+            names[rank] = ranking.get(rank).getKey().getBytes(StandardCharsets.UTF_8);
+            offsets[rank] = offset;
+            total += ranking.get(rank).getValue();
+            offset += RECORD_OVERHEAD_BYTES + names[rank].length;
+        }
+
+        // Order the lookup section by hash.
+        Integer[] byHash = new Integer[players];
+        long[] hashes = new long[players];
+        for (int rank = 0; rank < players; rank++) {
+            hashes[rank] = hash(names[rank], names[rank].length);
+            byHash[rank] = rank;
+        }
+        Arrays.sort(byHash, Comparator.comparingLong(rank -> hashes[rank]));
+
+        // Write the new index beside the old one and sync it.
+        File temporary = new File(indexFile.getPath() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary)) {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(file, BUFFER_BYTES));
+            output.writeInt(INDEX_MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(logLength);
+            output.writeInt(players);
+            output.writeInt((int) total);
+            for (int rank = 0; rank < players; rank++) {
+                output.writeInt(offsets[rank]);
+            }
+            for (int rank : byHash) {
+                output.writeLong(hashes[rank]);
+                output.writeInt(offsets[rank]);
+            }
+            for (int rank = 0; rank < players; rank++) {
+                output.writeInt(ranking.get(rank).getValue());
+                output.writeShort(names[rank].length);
+                output.write(names[rank]);
+            }
+            output.flush();
+            file.getFD().sync();
+        }
+
+        // Swap the new index in.
+        Files.move(temporary.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+        synchronized (this) {
+            openIndex();
+            recentWins.clear();
+            recentRecords = 0;
+        }
+    }
+
+    /**
+     *
+     * A helper method that returns the wins of a player in the index.
+     *
+     * @param name - (String) The name of the player, trimmed.
+     *
+     * @return int - the wins in the index, or 0 if the player is not in it.
+     *
+     */
+    private int getIndexWins(String name) {
+        int entry = findEntry(name);
+        return (entry == -1) ? 0 : index.getInt(entry);
+    }
+
+    /**
+     *
+     * A helper method that finds the entry of a player in the index by binary search over the hashes of the lookup
+     * section, comparing names among entries sharing the hash.
+     *
+     * @param name - (String) The name of the player, trimmed.
+     *
+     * @return int - the offset of the entry in the index, or -1 if the player is not in it.
+     *
+     */
+    private int findEntry(String name) {
+
+        // Create and initialize variables required.
+        if (indexPlayers == 0) {
+            return -1;
+        }
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        long key = hash(bytes, bytes.length);
+        int lookups = INDEX_HEADER_BYTES + indexPlayers * RANK_BYTES;
+        int low = 0;
+        int high = indexPlayers - 1;
+
+        // Find the first lookup with the hash.
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (index.getLong(lookups + middle * LOOKUP_BYTES) < key) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+
+        // Compare the names of every entry sharing the hash.
+        for (int lookup = low; lookup < indexPlayers; lookup++) {
+            if (index.getLong(lookups + lookup * LOOKUP_BYTES) != key) {
+                break;
+            }
+            int entry = index.getInt(lookups + lookup * LOOKUP_BYTES + 8);
+            if (readName(entry).equals(name)) {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     *
+     * A helper method that reads the name of an entry of the index.
+     *
+     * @param entry - (int) The offset of the entry in the index.
+     *
+     * @return String - the name of the player.
+     *
+     */
+    private String readName(int entry) {
+        ByteBuffer view = index.duplicate();
+        byte[] bytes = new byte[view.getShort(entry + 4)];
+        view.position(entry + RECORD_OVERHEAD_BYTES);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     *
+     * A helper method that trims a name and encodes it in UTF-8, checking it can be stored.
+     *
+     * @param name - (String) The name of the winner.
+     *
+     * @return byte[] - the trimmed name in UTF-8.
+     *
+     */
+    private static byte[] encode(String name) {
+        byte[] bytes = name.trim().getBytes(StandardCharsets.UTF_8);
+        if (bytes.length == 0 || bytes.length > MAX_NAME_BYTES) {
+            throw new IllegalArgumentException("A name must be 1 to " + MAX_NAME_BYTES + " bytes long");
+        }
+        return bytes;
+    }
+
+    /**
+     *
+     * A helper method that hashes the UTF-8 bytes of a name (64 bit FNV-1a).
+     *
+     * @param bytes - (byte[]) The bytes to hash.
+     * @param length - (int) How many of the bytes to hash.
+     *
+     * @return long - the hash.
+     *
+     */
+    private static long hash(byte[] bytes, int length) {
+        long hash = FNV_OFFSET;
+        for (int index = 0; index < length; index++) {
+            hash = (hash ^ (bytes[index] & 0xFF)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,158 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *
+ * This class records how long computer moves take and reports percentiles of those times, such as the median (p50)
+ * and p99. Times are counted in microsecond buckets that grow with the time recorded, 16 buckets per power of two, so
+ * a percentile is within about 6% of the exact time while memory stays fixed however many moves are recorded. The
+ * counts are atomic, so many games may record into one histogram at once.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ */
+public class LatencyHistogram {
+
+    // Declaration of instance variables
+    private AtomicLongArray counts;
+
+    // Declaration of static variables.
+    private final static int SUB_BUCKET_BITS = 4;
+    private final static int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private final static int MAX_EXPONENT = 40;
+    private final static int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private final static long NANOS_PER_MICRO = 1000;
+
+
+    /**
+     *
+     * Default constructor of the LatencyHistogram class. Creates an empty histogram.
+     *
+     */
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     *
+     * A method that records one time taken.
+     *
+     * @param nanos - (long) The time taken in nanoseconds.
+     *
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(toBucket(Math.max(0, nanos / NANOS_PER_MICRO)));
+    }
+
+    /**
+     *
+     * A method that returns a percentile of the times recorded, the time that the given percent of moves took at
+     * most. The answer is the upper edge of the bucket holding that time.
+     *
+     * @param percent - (double) The percentile, from 0 to 100 (50 for the median).
+     *
+     * @return long - The percentile in microseconds, or 0 if nothing was recorded.
+     *
+     */
+    public long getPercentile(double percent) {
+
+        // Create and initialize variables required.
+        long total = getCount();
+        long target = Math.max(1, (long) Math.ceil(total * percent / 100.0));
+        long seen = 0;
+
+        // Walk the buckets from the fastest until the target count is reached.
+        for (int bucket = 0; bucket < BUCKETS && total > 0; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= target) {
+                return toUpperMicros(bucket);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     *
+     * A method that returns the number of times recorded.
+     *
+     * @return long - the number of times recorded.
+     *
+     */
+    public long getCount() {
+
+        // Add up every bucket.
+        long total = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            total += counts.get(bucket);
+        }
+        return total;
+    }
+
+    /**
+     *
+     * A method that forgets every time recorded.
+     *
+     */
+    public void clear() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.set(bucket, 0);
+        }
+    }
+
+    /**
+     *
+     * A method that returns a short summary of the histogram: the number of moves with their p50, p99 and p99.9.
+     *
+     * @return String - the summary.
+     *
+     */
+    public String toString() {
+        return "moves=" + getCount() + " p50=" + getPercentile(50) + "us p99=" + getPercentile(99)
+               + "us p99.9=" + getPercentile(99.9) + "us";
+    }
+
+    /**
+     *
+     * A helper method that finds the bucket of a time. Times under 16 microseconds get a bucket each; above that
+     * each power of two is split into 16 buckets.
+     *
+     * @param micros - (long) The time in microseconds.
+     *
+     * @return int - The index of the bucket.
+     *
+     */
+    private static int toBucket(long micros) {
+
+        // Small times are counted exactly.
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+
+        // Otherwise use the power of two and the next 4 bits below it.
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(micros), MAX_EXPONENT);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     *
+     * A helper method that returns the largest time counted in a bucket.
+     *
+     * @param bucket - (int) The index of the bucket.
+     *
+     * @return long - The upper edge of the bucket in microseconds.
+     *
+     */
+    private static long toUpperMicros(int bucket) {
+
+        // Small times are counted exactly.
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        // Otherwise rebuild the power of two and the 4 bits below it.
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
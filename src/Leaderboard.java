@@ -0,0 +1,350 @@
+import java.io.IOException;
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.AbstractMap;
+import java.util.Arrays;
+
+/**
+ *
+ * This class keeps the wins of every player of a HallOfFame in memory, along with the players with the most wins,
+ * so showing the wall of fame costs only the players shown. The wins are read from the store once, the first time
+ * they are needed, and every win recorded through this class after that updates them in place.
+ *
+ * The wins are kept in an open addressing hash table keyed by a 64 bit hash of the name, in parallel arrays with
+ * nothing boxed. The top players are kept in a min heap of a fixed number of players, the weakest on top, so a win
+ * either moves a player already in the heap down or replaces the weakest. Since wins only grow, a player outside the
+ * heap can only get in by passing the weakest player in it. Every method is synchronized, so many games may record
+ * wins at once; the wins are synced to disk by the store outside the lock.
+ *
+ * Note: Every win must be recorded through this class once it is loaded, or the wins kept here fall behind.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see HallOfFame
+ *
+ */
+public class Leaderboard {
+
+    // Declaration of instance variables
+    private HallOfFame hallOfFame;
+    private boolean isLoaded;
+    // The hash table: the hash, name and wins of each slot, and where the slot is in the heap (-1 if not in it).
+    private long[] hashes;
+    private String[] names;
+    private int[] wins;
+    private int[] heapPositions;
+    private int mask;
+    private int playerCount;
+    // The slots of the top players, a min heap of the weakest first.
+    private int[] heap;
+    private int heapSize;
+
+    // Declaration of static variables.
+    private final static int INITIAL_CAPACITY = 1024;
+    private final static long EMPTY = 0;
+    private final static long HASH_PRIME = 0x100000001b3L;
+    private final static long HASH_OFFSET = 0xcbf29ce484222325L;
+
+
+    /**
+     *
+     * Parameterized constructor of the Leaderboard class. Nothing is read from the store until needed.
+     *
+     * @param hallOfFame - (HallOfFame) The store of wins.
+     * @param size - (int) How many top players to keep, the most that can be shown.
+     *
+     */
+    public Leaderboard(HallOfFame hallOfFame, int size) {
+
+        // Initialize the instance variables
+        this.hallOfFame = hallOfFame;
+        heap = new int[size];
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     *
+     * A method that records a win in the store, then counts it here. The win is synced to disk by the store before
+     * it is counted, outside the lock, so winners of many games share syncs.
+     *
+     * @param name - (String) The name of the winner, trimmed. It must not be empty or longer than 255 bytes in UTF-8.
+     *
+     * @throws IOException - if the win cannot be written.
+     *
+     */
+    public void recordWin(String name) throws IOException {
+
+        // Load the wins before the store changes, so this win is not counted twice.
+        load();
+        hallOfFame.recordWin(name);
+        synchronized (this) {
+            addWins(name.trim(), 1);
+        }
+    }
+
+    /**
+     *
+     * A method that returns the players with the most wins, most first, ties by name.
+     *
+     * @param count - (int) The most players to return, up to the size of the leaderboard.
+     *
+     * @return List - the name and wins of each player.
+     *
+     */
+    public synchronized List<Map.Entry<String, Integer>> getTopPlayers(int count) {
+
+        // Sort the slots of the heap, best first.
+        load();
+        Integer[] slots = new Integer[heapSize];
+        for (int index = 0; index < heapSize; index++) {
+            slots[index] = heap[index];
+        }
+        Arrays.sort(slots, (first, second) -> isWeaker(second, first) ? -1 : (isWeaker(first, second) ? 1 : 0));
+
+        // Return the first of them.
+        List<Map.Entry<String, Integer>> players = new ArrayList<Map.Entry<String, Integer>>();
+        for (int index = 0; index < Math.min(count, heapSize); index++) {
+            players.add(new AbstractMap.SimpleImmutableEntry<String, Integer>(names[slots[index]],
+                                                                              wins[slots[index]]));
+        }
+        return players;
+    }
+
+    /**
+     *
+     * A method that returns how many times a player has won.
+     *
+     * @param name - (String) The name of the player, trimmed.
+     *
+     * @return int - the wins of the player, or 0 if they never won.
+     *
+     */
+    public synchronized int getWins(String name) {
+        load();
+        int slot = findSlot(name.trim(), hash(name.trim()));
+        return (hashes[slot] == EMPTY) ? 0 : wins[slot];
+    }
+
+    /**
+     *
+     * A method that returns how many different players have won.
+     *
+     * @return int - the number of players.
+     *
+     */
+    public synchronized int getPlayerCount() {
+        load();
+        return playerCount;
+    }
+
+    /**
+     *
+     * A helper method that reads the wins of every player from the store, the first time only.
+     *
+     */
+    private synchronized void load() {
+        if (!isLoaded) {
+            for (Map.Entry<String, Integer> player : hallOfFame.getAllWins().entrySet()) {
+                addWins(player.getKey(), player.getValue());
+            }
+            isLoaded = true;
+        }
+    }
+
+    /**
+     *
+     * A helper method that adds wins to a player, then moves them in or within the heap of top players.
+     *
+     * @param name - (String) The name of the player, trimmed.
+     * @param added - (int) The wins to add.
+     *
+     */
+    private void addWins(String name, int added) {
+
+        // Find the slot of the player, taking a new one if missing.
+        long key = hash(name);
+        int slot = findSlot(name, key);
+        if (hashes[slot] == EMPTY) {
+            hashes[slot] = key;
+            names[slot] = name;
+            heapPositions[slot] = -1;
+            playerCount++;
+            if (playerCount * 2 > hashes.length) {
+                grow();
+                slot = findSlot(name, key);
+            }
+        }
+        wins[slot] += added;
+
+        // A player in the heap only gets stronger, so moves down. Others may join it or replace the weakest.
+        if (heapPositions[slot] != -1) {
+            siftDown(heapPositions[slot]);
+        }
+        else if (heapSize < heap.length) {
+            heap[heapSize] = slot;
+            heapPositions[slot] = heapSize;
+            siftUp(heapSize++);
+        }
+        else if (heap.length > 0 && isWeaker(heap[0], slot)) {
+            heapPositions[heap[0]] = -1;
+            heap[0] = slot;
+            heapPositions[slot] = 0;
+            siftDown(0);
+        }
+    }
+
+    /**
+     *
+     * A helper method that finds the slot of a name by linear probing, or the empty slot where it would go.
+     *
+     * @param name - (String) The name of the player.
+     * @param key - (long) The hash of the name.
+     *
+     * @return int - the slot of the name, or an empty slot if it is missing.
+     *
+     */
+    private int findSlot(String name, long key) {
+        int slot = (int) (key ^ (key >>> 32)) & mask;
+        while (hashes[slot] != EMPTY && (hashes[slot] != key || !names[slot].equals(name))) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     *
+     * A helper method that doubles the hash table, moving every player to their new slot and the heap along.
+     *
+     */
+    private void grow() {
+
+        // Keep the old table, then allocate one twice as big.
+        long[] oldHashes = hashes;
+        String[] oldNames = names;
+        int[] oldWins = wins;
+        int[] oldPositions = heapPositions;
+        allocate(oldHashes.length * 2);
+
+        // Move every player, pointing the heap at their new slot.
+        for (int oldSlot = 0; oldSlot < oldHashes.length; oldSlot++) {
+            if (oldHashes[oldSlot] != EMPTY) {
+                int slot = findSlot(oldNames[oldSlot], oldHashes[oldSlot]);
+                hashes[slot] = oldHashes[oldSlot];
+                names[slot] = oldNames[oldSlot];
+                wins[slot] = oldWins[oldSlot];
+                heapPositions[slot] = oldPositions[oldSlot];
+                if (heapPositions[slot] != -1) {
+                    heap[heapPositions[slot]] = slot;
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that allocates an empty hash table.
+     *
+     * @param capacity - (int) The number of slots, a power of two.
+     *
+     */
+    private void allocate(int capacity) {
+        hashes = new long[capacity];
+        names = new String[capacity];
+        wins = new int[capacity];
+        heapPositions = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     *
+     * A helper method that moves a player up the heap while weaker than its parent.
+     *
+     * @param position - (int) The position of the player in the heap.
+     *
+     */
+    private void siftUp(int position) {
+        while (position > 0) {
+            int parent = (position - 1) / 2;
+            if (!isWeaker(heap[position], heap[parent])) {
+                break;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+    }
+
+    /**
+     *
+     * A helper method that moves a player down the heap while stronger than its weaker child.
+     *
+     * @param position - (int) The position of the player in the heap.
+     *
+     */
+    private void siftDown(int position) {
+        while (true) {
+            int weakest = position;
+            for (int child = 2*position + 1; child <= 2*position + 2 && child < heapSize; child++) {
+                if (isWeaker(heap[child], heap[weakest])) {
+                    weakest = child;
+                }
+            }
+            if (weakest == position) {
+                break;
+            }
+            swap(position, weakest);
+            position = weakest;
+        }
+    }
+
+    /**
+     *
+     * A helper method that swaps two players of the heap.
+     *
+     * @param first - (int) The position of one player.
+     * @param second - (int) The position of the other player.
+     *
+     */
+    private void swap(int first, int second) {
+        int slot = heap[first];
+        heap[first] = heap[second];
+        heap[second] = slot;
+        heapPositions[heap[first]] = first;
+        heapPositions[heap[second]] = second;
+    }
+
+    /**
+     *
+     * A helper method that determines if a player ranks below another: fewer wins, or as many and a later name.
+     *
+     * @param slot - (int) The slot of the player.
+     * @param other - (int) The slot of the other player.
+     *
+     * @return boolean - whether the player ranks below the other.
+     *
+     */
+    private boolean isWeaker(int slot, int other) {
+        if (wins[slot] != wins[other]) {
+            return wins[slot] < wins[other];
+        }
+        return names[slot].compareTo(names[other]) > 0;
+    }
+
+    /**
+     *
+     * A helper method that hashes a name (64 bit FNV-1a over its characters), never EMPTY.
+     *
+     * @param name - (String) The name to hash.
+     *
+     * @return long - the hash.
+     *
+     */
+    private static long hash(String name) {
+        long hash = HASH_OFFSET;
+        for (int index = 0; index < name.length(); index++) {
+            hash = (hash ^ name.charAt(index)) * HASH_PRIME;
+        }
+        return (hash == EMPTY) ? 1 : hash;
+    }
+}
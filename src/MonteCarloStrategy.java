@@ -0,0 +1,460 @@
+import java.util.List;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *
+ * This class is a computer player that picks moves by Monte Carlo tree search (UCT) instead of searching every move.
+ * Each playout walks down a tree of moves, picking the child with the best upper confidence bound, adds the children
+ * of the position it reaches, then fills the rest of the game board with random moves and counts who won. After the
+ * budget is spent, the move of the root played out most often is picked. This scales to game boards too big to
+ * search fully, since the work per playout grows with the number of cells rather than exponentially.
+ *
+ * Playouts make and take back moves in place with TicTacTix.moveCell(int cell) and TicTacTix.undoMove(int cell),
+ * drawing them from the game board's own list of empty cells, so a playout allocates nothing. The tree is kept in
+ * preallocated arrays indexed by node, and is shared by several worker threads (tree parallelism). A thread walking
+ * through a node counts a visit at once, before its result is known, which is a virtual loss that steers the other
+ * threads to different moves until the result is added.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see MoveStrategy
+ *
+ */
+public class MonteCarloStrategy implements MoveStrategy {
+
+    // Declaration of instance variables
+    private int maxNodes;
+    private ForkJoinPool pool;
+    private Worker[] workers;
+    private long playoutBudget;
+    private long timeBudgetNanos;
+    private double exploration;
+    private long playouts;
+    private int nodeCount;
+    private long elapsedNanos;
+    // The tree, one entry per node. The root is node 0. The children of a node are stored together.
+    private int[] moves;
+    private int[] childCounts;
+    private AtomicIntegerArray firstChildren;
+    private AtomicIntegerArray visits;
+    private AtomicLongArray halfWins;
+    private AtomicInteger nextNode;
+    private AtomicLong playoutsStarted;
+    private long deadline;
+
+    // Declaration of static variables.
+    public final static double DEFAULT_EXPLORATION = Math.sqrt(2);
+    public final static long DEFAULT_PLAYOUTS = 20000;
+    public final static int DEFAULT_MAX_NODES = 1 << 20;
+    // States of firstChildren besides the index of the first child (always above 0, since the root is node 0).
+    private final static int UNEXPANDED = 0;
+    private final static int EXPANDING = -1;
+    private final static int FULL = -2;
+    // A result counted in half wins, so a tie is worth one.
+    private final static int WIN = 2;
+    private final static int TIE = 1;
+    private final static long NANOS_PER_SECOND = 1000000000L;
+    private final static long NANOS_PER_MILLI = 1000000L;
+
+
+    /**
+     *
+     * Parameterized constructor of the MonteCarloStrategy class, playing DEFAULT_PLAYOUTS playouts per move with the
+     * default tree size.
+     *
+     * @param threads - (int) The number of worker threads playing out at once.
+     *
+     */
+    public MonteCarloStrategy(int threads) {
+        this(threads, DEFAULT_MAX_NODES);
+    }
+
+    /**
+     *
+     * Parameterized constructor of the MonteCarloStrategy class, playing DEFAULT_PLAYOUTS playouts per move.
+     *
+     * @param threads - (int) The number of worker threads playing out at once.
+     * @param maxNodes - (int) The most nodes the tree may hold. Once full, playouts go on without growing the tree.
+     *
+     */
+    public MonteCarloStrategy(int threads, int maxNodes) {
+
+        // Initialize the instance variables
+        this.maxNodes = Math.max(1, maxNodes);
+        pool = new ForkJoinPool(Math.max(1, threads));
+        workers = new Worker[pool.getParallelism()];
+        for (int index = 0; index < workers.length; index++) {
+            workers[index] = new Worker(index);
+        }
+        playoutBudget = DEFAULT_PLAYOUTS;
+        exploration = DEFAULT_EXPLORATION;
+
+        // Allocate the tree.
+        moves = new int[this.maxNodes];
+        childCounts = new int[this.maxNodes];
+        firstChildren = new AtomicIntegerArray(this.maxNodes);
+        visits = new AtomicIntegerArray(this.maxNodes);
+        halfWins = new AtomicLongArray(this.maxNodes);
+        nextNode = new AtomicInteger();
+        playoutsStarted = new AtomicLong();
+    }
+
+    /**
+     *
+     * A method that picks the move for the player whose turn it is by playing out the game until the playout budget
+     * or the time budget runs out, whichever comes first. The most visited move of the root is returned. The game is
+     * left as it was found.
+     *
+     * @param game - (TicTacTix) The game to pick a move for.
+     *
+     * @return int - The flat index of the picked cell.
+     *
+     */
+    public int selectMove(TicTacTix game) {
+
+        // Create and initialize variables/objects required.
+        long start = System.nanoTime();
+        deadline = (timeBudgetNanos > 0) ? start + timeBudgetNanos : Long.MAX_VALUE;
+        clearTree();
+        List<Callable<Object>> tasks = new ArrayList<Callable<Object>>();
+        for (Worker worker : workers) {
+            worker.game = new TicTacTix(game);
+            worker.game.setSymmetryTracking(false);
+            worker.game.setLineWeights(null);
+            tasks.add(worker);
+        }
+
+        // Play out on every worker at once until the budget is spent.
+        pool.invokeAll(tasks);
+
+        // Pick the most visited move of the root.
+        int firstChild = firstChildren.get(0);
+        int bestMove = game.getFreeCell(0);
+        int mostVisits = -1;
+        for (int child = firstChild; firstChild > 0 && child < firstChild + childCounts[0]; child++) {
+            if (visits.get(child) > mostVisits) {
+                mostVisits = visits.get(child);
+                bestMove = moves[child];
+            }
+        }
+
+        // Record the work done and return the best move.
+        playouts = visits.get(0);
+        nodeCount = Math.min(nextNode.get(), maxNodes);
+        elapsedNanos = System.nanoTime() - start;
+        return bestMove;
+    }
+
+    /**
+     *
+     * A helper method that empties the tree down to a root with no children.
+     *
+     */
+    private void clearTree() {
+
+        // Only the nodes used by the last search need clearing.
+        int used = Math.min(nextNode.get(), maxNodes);
+        for (int node = 0; node < used; node++) {
+            firstChildren.set(node, UNEXPANDED);
+            visits.set(node, 0);
+            halfWins.set(node, 0);
+        }
+        nextNode.set(1);
+        playoutsStarted.set(0);
+    }
+
+    /**
+     *
+     * This class is a worker thread's share of the search. It owns a copy of the game board and the buffers for the
+     * path taken through the tree, so playouts allocate nothing.
+     *
+     */
+    private class Worker implements Callable<Object> {
+
+        // Declaration of instance variables
+        private TicTacTix game;
+        private SplittableRandom generator;
+        private int[] path;
+        private int[] playedMoves;
+
+        /**
+         *
+         * Parameterized constructor of the Worker class.
+         *
+         * @param index - (int) The number of the worker, used to seed its random numbers.
+         *
+         */
+        Worker(int index) {
+            generator = new SplittableRandom(index);
+            path = new int[0];
+            playedMoves = new int[0];
+        }
+
+        /**
+         *
+         * A method that plays out until the budget is spent.
+         *
+         * @return Object - nothing, always null.
+         *
+         */
+        public Object call() {
+
+            // Size the buffers for the game board.
+            int cells = game.getDimensions() * game.getDimensions() * game.getDimensions();
+            if (path.length <= cells) {
+                path = new int[cells+1];
+                playedMoves = new int[cells];
+            }
+
+            // Play out while both budgets last.
+            while (playoutsStarted.getAndIncrement() < playoutBudget && System.nanoTime() < deadline) {
+                playout();
+            }
+            return null;
+        }
+
+        /**
+         *
+         * A helper method that plays one game out: down the tree, then randomly to the end, then back up the tree
+         * with the result. The game board is restored afterwards.
+         *
+         */
+        private void playout() {
+
+            // Create and initialize variables required.
+            int rootPlayer = game.getCurrentPlayer();
+            int length = 0;
+            int played = 0;
+            int node = 0;
+            path[length++] = node;
+            visits.incrementAndGet(node);
+
+            // Walk down the tree, counting a visit on each node at once as a virtual loss.
+            while (!isOver()) {
+                int firstChild = firstChildren.get(node);
+                if (firstChild == UNEXPANDED) {
+                    firstChild = expand(node);
+                }
+                if (firstChild <= 0) {
+                    break;
+                }
+                node = selectChild(node, firstChild);
+                visits.incrementAndGet(node);
+                path[length++] = node;
+                game.moveCell(moves[node]);
+                playedMoves[played++] = moves[node];
+            }
+
+            // Fill the rest of the game board randomly from the list of empty cells.
+            while (!isOver()) {
+                int move = game.getFreeCell(generator.nextInt(game.getFreeCellCount()));
+                game.moveCell(move);
+                playedMoves[played++] = move;
+            }
+
+            // Find the winner, the player who made the last move, if anyone won. Players are numbered 1 and 2.
+            int winner = game.hasWon() ? 3 - game.getCurrentPlayer() : 0;
+
+            // Take every move back.
+            while (played > 0) {
+                game.undoMove(playedMoves[--played]);
+            }
+
+            // Add the result to every node of the path for the player who moved into it, its visit already counted.
+            int opponent = 3 - rootPlayer;
+            for (int depth = 1; depth < length; depth++) {
+                int mover = (depth % 2 == 1) ? rootPlayer : opponent;
+                if (winner == mover) {
+                    halfWins.addAndGet(path[depth], WIN);
+                }
+                else if (winner == 0) {
+                    halfWins.addAndGet(path[depth], TIE);
+                }
+            }
+        }
+
+        /**
+         *
+         * A helper method that adds a child for every empty cell of the current position to a node. Only one
+         * thread expands a node, the others play out from it in the meantime.
+         *
+         * @param node - (int) The node of the current position.
+         *
+         * @return int - The index of the first child, or 0 or less if the node was not expanded by any thread yet.
+         *
+         */
+        private int expand(int node) {
+
+            // Claim the node, or give way to the thread that did.
+            if (!firstChildren.compareAndSet(node, UNEXPANDED, EXPANDING)) {
+                return firstChildren.get(node);
+            }
+
+            // Take room for the children, marking the node as a leaf for good if the tree is full.
+            int count = game.getFreeCellCount();
+            int firstChild = nextNode.getAndAdd(count);
+            if (firstChild + count > maxNodes) {
+                firstChildren.set(node, FULL);
+                return FULL;
+            }
+
+            // Fill in the children, then publish them.
+            for (int index = 0; index < count; index++) {
+                moves[firstChild + index] = game.getFreeCell(index);
+            }
+            childCounts[node] = count;
+            firstChildren.set(node, firstChild);
+            return firstChild;
+        }
+
+        /**
+         *
+         * A helper method that picks the child with the highest upper confidence bound (UCT). A child not visited yet
+         * is always picked first.
+         *
+         * @param node - (int) The node to pick a child of.
+         * @param firstChild - (int) The index of its first child.
+         *
+         * @return int - The index of the picked child.
+         *
+         */
+        private int selectChild(int node, int firstChild) {
+
+            // Create and initialize variables required.
+            double logVisits = Math.log(Math.max(1, visits.get(node)));
+            int best = firstChild;
+            double bestBound = Double.NEGATIVE_INFINITY;
+
+            // Score every child by its win rate plus a bonus for being visited rarely.
+            for (int child = firstChild; child < firstChild + childCounts[node]; child++) {
+                int childVisits = visits.get(child);
+                if (childVisits == 0) {
+                    return child;
+                }
+                double bound = halfWins.get(child) / (2.0 * childVisits)
+                               + exploration * Math.sqrt(logVisits / childVisits);
+                if (bound > bestBound) {
+                    bestBound = bound;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         *
+         * A helper method that determines if the game on the worker's game board has ended.
+         *
+         * @return boolean - whether someone has won or the game board is full.
+         *
+         */
+        private boolean isOver() {
+            return game.hasWon() || game.getFreeCellCount() == 0;
+        }
+    }
+
+    /**
+     *
+     * A method that stops the worker threads once the computer player is no longer needed.
+     *
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     *
+     * A mutator method that sets the number of playouts of every move.
+     *
+     * @param playouts - (long) The playouts per move, or 0 to be bound by the time budget alone.
+     *
+     */
+    public void setPlayoutBudget(long playouts) {
+        playoutBudget = (playouts > 0) ? playouts : Long.MAX_VALUE;
+    }
+
+    /**
+     *
+     * A mutator method that sets the time budget of every move.
+     *
+     * @param millis - (long) The time budget of a move in milliseconds, or 0 to be bound by the playout budget alone.
+     *
+     */
+    public void setTimeBudget(long millis) {
+        timeBudgetNanos = Math.max(0, millis) * NANOS_PER_MILLI;
+    }
+
+    /**
+     *
+     * A mutator method that sets how strongly rarely visited moves are favoured over the ones winning most so far.
+     *
+     * @param exploration - (double) The exploration constant of UCT, DEFAULT_EXPLORATION by default.
+     *
+     */
+    public void setExploration(double exploration) {
+        this.exploration = exploration;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of worker threads.
+     *
+     * @return int - the number of threads playing out at once.
+     *
+     */
+    public int getThreads() {
+        return workers.length;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of playouts of the last move.
+     *
+     * @return long - the number of playouts.
+     *
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     *
+     * A accessor method that returns how fast the last move played out, across every thread.
+     *
+     * @return long - the playouts per second.
+     *
+     */
+    public long getPlayoutsPerSecond() {
+        return (elapsedNanos == 0) ? 0 : playouts * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of nodes in the tree of the last move.
+     *
+     * @return int - the number of nodes.
+     *
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     *
+     * A accessor method that returns how long the last move took.
+     *
+     * @return long - the time taken by the last move in nanoseconds.
+     *
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ *
+ * This interface is implemented by every computer player of a TicTacTix game. A strategy looks at the game board and
+ * picks the move for the player whose turn it is. A strategy may try moves on the game board while it thinks, but
+ * must leave the game board exactly as it found it.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see TicTacTix#getComputerMove(MoveStrategy strategy)
+ *
+ */
+public interface MoveStrategy {
+
+    /**
+     *
+     * A method that picks the move for the player whose turn it is. The game must not be over.
+     *
+     * @param game - (TicTacTix) The game to pick a move for.
+     *
+     * @return int - The flat index of the picked cell (layer * dimensions^2 + row * dimensions + column).
+     *
+     */
+    int selectMove(TicTacTix game);
+}
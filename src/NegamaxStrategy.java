@@ -0,0 +1,955 @@
+import java.util.Arrays;
+
+/**
+ *
+ * This class is a computer player that searches the game tree with negamax and alpha-beta pruning. Moves are made
+ * and taken back in place on the game board with TicTacTix.moveCell(int cell) and TicTacTix.undoMove(int cell), so
+ * the search never copies the game board. The moves of every ply are listed into buffers kept between searches, so
+ * a search allocates nothing once the buffers are sized.
+ *
+ * The search looks a fixed number of moves ahead, or with a time budget set, searches one move deeper at a time
+ * (iterative deepening) until the budget runs out, trying the best moves of the last depth first. A search cut off
+ * by the deadline is dropped and the best move of the last finished depth is played. A win is scored higher the
+ * sooner it happens. A position at the end of the search that is not won is scored by its open lines, weighted by
+ * how many checkers they hold, which the game board keeps up to date with every move. An optional
+ * transposition table lets positions reached through different orders of moves share their results, and its best
+ * move is tried first. The table may be keyed on the canonical hash of each position so every rotation and
+ * reflection of a position shares one entry. The number of nodes searched and the nodes per second of the last
+ * search are kept for sizing hardware, and the time of every move is recorded in a latency histogram.
+ *
+ * Alpha-beta prunes the most when the best move is tried first, so the moves of every position are ordered: the
+ * best move from the transposition table, then the killer moves of the ply (the last two moves to cut the search
+ * off at the same ply elsewhere), then by the history score of the cell (how often it cut the search off, weighted
+ * by depth), and finally by how many live lines the move touches. Each heuristic can be turned off to compare the
+ * number of nodes searched.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see MoveStrategy
+ * @see TranspositionTable
+ *
+ */
+public class NegamaxStrategy implements MoveStrategy {
+
+    // Declaration of instance variables
+    private int maxDepth;
+    private TranspositionTable table;
+    private boolean isCanonical;
+    private Symmetry symmetry;
+    private int[][] moveBuffers;
+    // Move ordering: the sort keys of the moves of every ply, two killer moves per ply and a history score per cell.
+    private int[][] orderKeys;
+    private int[] killers;
+    private int[] history;
+    private boolean isUsingKillers;
+    private boolean isUsingHistory;
+    private boolean isUsingLiveLines;
+    private int[] rootScores;
+    private long nodes;
+    private long elapsedNanos;
+    // Time budget per move (0 for a fixed depth search), deadline of the current search and whether it was hit.
+    private long timeBudgetNanos;
+    private long deadline;
+    private boolean isAborted;
+    private volatile boolean isCancelled;
+    private int completedDepth;
+    private boolean isDeepening;
+    private boolean isEvaluating;
+    private int[] lineWeights;
+    private int bestScore;
+    private LatencyHistogram latencies;
+
+    // Declaration of static variables.
+    final static int WIN_SCORE = 1000000;
+    final static int INFINITY = WIN_SCORE + 1;
+    // Scores beyond this are wins or losses, stored in the transposition table relative to the position.
+    final static int WIN_THRESHOLD = WIN_SCORE / 2;
+    private final static long NANOS_PER_SECOND = 1000000000L;
+    private final static long NANOS_PER_MILLI = 1000000L;
+    // The deadline is checked once every this many nodes (a power of two, minus one).
+    private final static long DEADLINE_CHECK_MASK = 1023;
+    // Sort keys: the table move and the killers above any history score, and history above the live line count.
+    private final static int TABLE_MOVE_KEY = Integer.MAX_VALUE;
+    private final static int KILLER_SLOTS = 2;
+    private final static int HISTORY_LIMIT = 1 << 20;
+    private final static int LIVE_LINE_BITS = 4;
+    private final static int MAX_LIVE_LINES = (1 << LIVE_LINE_BITS) - 1;
+
+
+    /**
+     *
+     * Parameterized constructor of the NegamaxStrategy class, searching without a transposition table.
+     *
+     * @param maxDepth - (int) How many moves ahead to search, at least 1.
+     *
+     */
+    public NegamaxStrategy(int maxDepth) {
+        this(maxDepth, null);
+    }
+
+    /**
+     *
+     * Parameterized constructor of the NegamaxStrategy class.
+     *
+     * @param maxDepth - (int) How many moves ahead to search, at least 1.
+     * @param table - (TranspositionTable) The table to share results through, or null to search without one.
+     *
+     */
+    public NegamaxStrategy(int maxDepth, TranspositionTable table) {
+
+        // Initialize the instance variables
+        this.maxDepth = Math.max(1, maxDepth);
+        this.table = table;
+        moveBuffers = new int[0][];
+        orderKeys = new int[0][];
+        killers = new int[0];
+        history = new int[0];
+        isUsingKillers = true;
+        isUsingHistory = true;
+        isUsingLiveLines = true;
+        rootScores = new int[0];
+        latencies = new LatencyHistogram();
+        isEvaluating = true;
+    }
+
+    /**
+     *
+     * A method that picks the move for the player whose turn it is. Without a time budget, the game tree is searched
+     * maxDepth moves ahead. With one, the search deepens one move at a time, up to maxDepth, until the budget runs
+     * out or the result is a certain win or loss. The best scoring move is returned, the first one found if several
+     * score the same.
+     *
+     * @param game - (TicTacTix) The game to pick a move for.
+     *
+     * @return int - The flat index of the picked cell.
+     *
+     * @see searchRoot(TicTacTix game, int[] moves, int moveCount, int depth)
+     *
+     */
+    public int selectMove(TicTacTix game) {
+        return selectMove(game, true);
+    }
+
+    /**
+     *
+     * A method that picks the move for the player whose turn it is, as selectMove(TicTacTix game) does, optionally
+     * going on with the current generation of the transposition table. Several searches that belong together, like
+     * the slices of one pondering, then keep the entries of one another under the depth preferred scheme.
+     *
+     * @param game - (TicTacTix) The game to pick a move for.
+     * @param isNewSearch - (boolean) Determines if a new generation of the transposition table is started.
+     *
+     * @return int - The flat index of the picked cell.
+     *
+     */
+    int selectMove(TicTacTix game, boolean isNewSearch) {
+
+        // Create and initialize variables required.
+        long start = System.nanoTime();
+        deadline = (timeBudgetNanos > 0) ? start + timeBudgetNanos : Long.MAX_VALUE;
+        isAborted = false;
+        completedDepth = 0;
+        nodes = 1;
+        prepare(game);
+        int[] moves = listMoves(game, 0);
+        int moveCount = game.getFreeCellCount();
+        int bestMove = moves[0];
+
+        // Start a new generation of the transposition table if asked, and order the moves with its best move first.
+        if (table != null && isNewSearch) {
+            table.newSearch();
+        }
+        startOrdering();
+        orderMoves(game, moves, moveCount, 0, (table != null) ? getTableMove(game) : -1);
+        if (isOrdering()) {
+            sortByScore(moves, orderKeys[0], moveCount);
+        }
+
+        // Search to maxDepth at once, or deepen one move at a time under a time budget.
+        for (int depth = (timeBudgetNanos > 0 || isDeepening) ? 1 : maxDepth; depth <= maxDepth; depth++) {
+            int move = searchRoot(game, moves, moveCount, depth);
+
+            // Drop a search cut off by the deadline.
+            if (isAborted) {
+                break;
+            }
+            bestMove = move;
+            completedDepth = depth;
+
+            // Try the best moves of this depth first at the next one, and stop once the result is certain.
+            sortByScore(moves, rootScores, moveCount);
+            bestScore = rootScores[0];
+            if (Math.abs(rootScores[0]) > WIN_THRESHOLD) {
+                break;
+            }
+        }
+
+        // Record the time taken and return the best move.
+        elapsedNanos = System.nanoTime() - start;
+        latencies.record(elapsedNanos);
+        return bestMove;
+    }
+
+    /**
+     *
+     * A helper method that gets the search ready for a game: sizing the move buffers, one per ply, when the game
+     * board is bigger than any seen before, setting the weights of the open lines, and turning on symmetry tracking
+     * if the table is keyed on canonical positions.
+     *
+     * @param game - (TicTacTix) The game to search.
+     *
+     */
+    private void prepare(TicTacTix game) {
+
+        // Size the move buffers.
+        int cells = game.getDimensions() * game.getDimensions() * game.getDimensions();
+        if (moveBuffers.length <= cells) {
+            moveBuffers = new int[cells+1][cells];
+            orderKeys = new int[cells+1][cells];
+            killers = new int[(cells+1) * KILLER_SLOTS];
+            history = new int[cells];
+            rootScores = new int[cells];
+            startOrdering();
+        }
+
+        // Have the game board keep the scores of the open lines.
+        int[] weights = null;
+        if (isEvaluating) {
+            weights = (lineWeights != null) ? lineWeights : game.getDefaultLineWeights();
+        }
+        if (game.getLineWeights() != weights) {
+            game.setLineWeights(weights);
+        }
+
+        // Set up the symmetries for a table keyed on canonical positions.
+        if (table != null) {
+            game.setSymmetryTracking(isCanonical);
+            symmetry = Symmetry.getInstance(game.getDimensions());
+        }
+    }
+
+    /**
+     *
+     * A helper method that returns the best move stored in the transposition table for the current position.
+     *
+     * @param game - (TicTacTix) The game being searched.
+     *
+     * @return int - The flat index of the stored best move, or -1 if there is none.
+     *
+     */
+    int getTableMove(TicTacTix game) {
+
+        // Look up the position, mapping the move back from the canonical form if needed.
+        int symmetryIndex = isCanonical ? game.getCanonicalSymmetry() : 0;
+        long entry = (table != null) ? table.probe(getTableKey(game, symmetryIndex)) : TranspositionTable.NO_ENTRY;
+        if (entry == TranspositionTable.NO_ENTRY) {
+            return -1;
+        }
+        return fromTableMove(symmetryIndex, TranspositionTable.getBestMove(entry));
+    }
+
+    /**
+     *
+     * A method that scores a single move of the position, searching depth moves ahead including the move itself.
+     * This lets a caller split the moves of a root between several searches, each on its own copy of the game.
+     * Nodes are added to the running count of this search instead of starting over.
+     *
+     * @param game - (TicTacTix) The game being searched, changed in place and restored before returning.
+     * @param move - (int) The flat index of the move to score.
+     * @param depth - (int) How many moves ahead to search, at least 1.
+     * @param alpha - (int) The score the player to move can already reach with another move.
+     * @param beta - (int) The score above which the exact value is not needed.
+     *
+     * @return int - The score of the move, exact if it lies between alpha and beta.
+     *
+     */
+    int searchMove(TicTacTix game, int move, int depth, int alpha, int beta) {
+
+        // Get ready, then make, search and take back the move.
+        prepare(game);
+        game.moveCell(move);
+        int score = -negamax(game, depth-1, 1, -beta, -alpha);
+        game.undoMove(move);
+        return score;
+    }
+
+    /**
+     *
+     * A helper method that scores every move of the root to the given depth, keeping each score for ordering the
+     * next depth. A move that cannot beat the best so far is only given an upper bound.
+     *
+     * @param game - (TicTacTix) The game being searched.
+     * @param moves - (int[]) The moves of the root.
+     * @param moveCount - (int) The number of moves of the root.
+     * @param depth - (int) How many moves ahead to search.
+     *
+     * @return int - The flat index of the best move, not to be used if the search was cut off.
+     *
+     */
+    private int searchRoot(TicTacTix game, int[] moves, int moveCount, int depth) {
+
+        // Create and initialize variables required.
+        int alpha = -INFINITY;
+        int bestMove = moves[0];
+
+        // Score every move of the root, keeping the best.
+        for (int index = 0; index < moveCount; index++) {
+            game.moveCell(moves[index]);
+            int score = -negamax(game, depth-1, 1, -INFINITY, -alpha);
+            game.undoMove(moves[index]);
+
+            // Stop at once if cut off by the deadline.
+            if (isAborted) {
+                break;
+            }
+            rootScores[index] = score;
+            if (score > alpha) {
+                alpha = score;
+                bestMove = moves[index];
+            }
+        }
+
+        // Return the best move.
+        return bestMove;
+    }
+
+    /**
+     *
+     * A helper method that sorts moves by their score, highest first. The sort is stable, so moves with equal
+     * scores keep their order.
+     *
+     * @param moves - (int[]) The moves to sort.
+     * @param scores - (int[]) The score of each move, sorted along with it.
+     * @param moveCount - (int) The number of moves.
+     *
+     */
+    static void sortByScore(int[] moves, int[] scores, int moveCount) {
+
+        // Insertion sort, since move lists are short and mostly sorted already.
+        for (int index = 1; index < moveCount; index++) {
+            int move = moves[index];
+            int score = scores[index];
+            int position = index - 1;
+            while (position >= 0 && scores[position] < score) {
+                moves[position+1] = moves[position];
+                scores[position+1] = scores[position];
+                position--;
+            }
+            moves[position+1] = move;
+            scores[position+1] = score;
+        }
+    }
+
+    /**
+     *
+     * A helper method that scores the position for the player whose turn it is, looking depth moves ahead. The
+     * score is exact if it lies between alpha and beta. Otherwise it is only a bound, which is all the caller needs.
+     *
+     * @param game - (TicTacTix) The game being searched, changed in place and restored before returning.
+     * @param depth - (int) How many more moves to look ahead.
+     * @param ply - (int) How many moves the position is from the root of the search.
+     * @param alpha - (int) The score the player whose turn it is can already reach elsewhere.
+     * @param beta - (int) The score the opponent can already hold the player to elsewhere.
+     *
+     * @return int - The score of the position, positive if good for the player whose turn it is.
+     *
+     */
+    int negamax(TicTacTix game, int depth, int ply, int alpha, int beta) {
+
+        // Count the node, and give up if cancelled or the deadline has passed. Only depths after the first may be
+        // cut off by the deadline.
+        nodes++;
+        if ((nodes & DEADLINE_CHECK_MASK) == 0
+                && (isCancelled || (completedDepth > 0 && System.nanoTime() >= deadline))) {
+            isAborted = true;
+        }
+        if (isAborted) {
+            return 0;
+        }
+
+        // The previous move won, so the player whose turn it is has lost. Later losses are better.
+        if (game.hasWon()) {
+            return -(WIN_SCORE - ply);
+        }
+        // No empty cells left, a tie.
+        if (game.getFreeCellCount() == 0) {
+            return 0;
+        }
+        // End of the search.
+        if (depth <= 0) {
+            return evaluate(game);
+        }
+
+        // Create and initialize variables required.
+        int symmetryIndex = (table != null && isCanonical) ? game.getCanonicalSymmetry() : 0;
+        long hash = (table != null) ? getTableKey(game, symmetryIndex) : 0;
+        int originalAlpha = alpha;
+        int tableMove = -1;
+
+        // Reuse the transposition table entry if it was searched deep enough and its bound settles the score.
+        if (table != null) {
+            long entry = table.probe(hash);
+            if (entry != TranspositionTable.NO_ENTRY) {
+                tableMove = fromTableMove(symmetryIndex, TranspositionTable.getBestMove(entry));
+                if (TranspositionTable.getDepth(entry) >= depth) {
+                    int score = fromTableScore(TranspositionTable.getScore(entry), ply);
+                    int bound = TranspositionTable.getBound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+                            || (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+        }
+
+        // List the moves, and score them for ordering.
+        int[] moves = listMoves(game, ply);
+        int moveCount = game.getFreeCellCount();
+        int best = -INFINITY;
+        int bestMove = -1;
+        orderMoves(game, moves, moveCount, ply, tableMove);
+
+        // Try every move, best scored first, stopping as soon as the opponent would avoid this position.
+        for (int index = 0; index < moveCount; index++) {
+            if (isOrdering()) {
+                pickMove(moves, orderKeys[ply], moveCount, index);
+            }
+            game.moveCell(moves[index]);
+            int score = -negamax(game, depth-1, ply+1, -beta, -alpha);
+            game.undoMove(moves[index]);
+
+            // Give up at once if cut off by the deadline, leaving the table untouched.
+            if (isAborted) {
+                return 0;
+            }
+            if (score > best) {
+                best = score;
+                bestMove = moves[index];
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        recordCutoff(moves[index], depth, ply);
+                        break;
+                    }
+                }
+            }
+        }
+
+        // Store the result, marking whether it is exact or only a bound.
+        if (table != null) {
+            int bound = TranspositionTable.EXACT;
+            if (best <= originalAlpha) {
+                bound = TranspositionTable.UPPER_BOUND;
+            }
+            else if (best >= beta) {
+                bound = TranspositionTable.LOWER_BOUND;
+            }
+            table.store(hash, depth, bound, toTableScore(best, ply), toTableMove(symmetryIndex, bestMove));
+        }
+
+        // Return the best score found.
+        return best;
+    }
+
+    /**
+     *
+     * A helper method that returns the key of the position in the transposition table, its canonical hash if the
+     * table is keyed on canonical positions.
+     *
+     * @param game - (TicTacTix) The game being searched.
+     * @param symmetryIndex - (int) The symmetry mapping the position to its canonical form.
+     *
+     * @return long - The key of the position.
+     *
+     */
+    private long getTableKey(TicTacTix game, int symmetryIndex) {
+        return isCanonical ? game.getSymmetryHash(symmetryIndex) : game.getHash();
+    }
+
+    /**
+     *
+     * A helper method that converts a move for storing in the transposition table. A table keyed on canonical
+     * positions stores the move as it is in the canonical form.
+     *
+     * @param symmetryIndex - (int) The symmetry mapping the position to its canonical form.
+     * @param move - (int) The flat index of the move, or -1 for none.
+     *
+     * @return int - The move to store.
+     *
+     */
+    private int toTableMove(int symmetryIndex, int move) {
+        if (!isCanonical || move == -1) {
+            return move;
+        }
+        return symmetry.mapCell(symmetryIndex, move);
+    }
+
+    /**
+     *
+     * A helper method that converts a move read from the transposition table back to the position being searched.
+     *
+     * @param symmetryIndex - (int) The symmetry mapping the position to its canonical form.
+     * @param move - (int) The stored move, or -1 for none.
+     *
+     * @return int - The flat index of the move in the position, or -1 for none.
+     *
+     */
+    private int fromTableMove(int symmetryIndex, int move) {
+        if (!isCanonical || move == -1) {
+            return move;
+        }
+        return symmetry.unmapCell(symmetryIndex, move);
+    }
+
+    /**
+     *
+     * A helper method that converts a score for storing in the transposition table. A win or loss is scored by how
+     * far it is from the root, so it is stored by how far it is from the position instead.
+     *
+     * @param score - (int) The score relative to the root of the search.
+     * @param ply - (int) How many moves the position is from the root of the search.
+     *
+     * @return int - The score relative to the position.
+     *
+     */
+    private static int toTableScore(int score, int ply) {
+        if (score > WIN_THRESHOLD) {
+            return score + ply;
+        }
+        else if (score < -WIN_THRESHOLD) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     *
+     * A helper method that converts a score read from the transposition table back to one relative to the root.
+     *
+     * @param score - (int) The score relative to the position.
+     * @param ply - (int) How many moves the position is from the root of the search.
+     *
+     * @return int - The score relative to the root of the search.
+     *
+     */
+    private static int fromTableScore(int score, int ply) {
+        if (score > WIN_THRESHOLD) {
+            return score - ply;
+        }
+        else if (score < -WIN_THRESHOLD) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     *
+     * A helper method that determines if any move ordering heuristic is on. With none on, moves are tried in the
+     * order of the list, only the table move first.
+     *
+     * @return boolean - whether moves are sorted by their keys.
+     *
+     */
+    private boolean isOrdering() {
+        return isUsingKillers || isUsingHistory || isUsingLiveLines;
+    }
+
+    /**
+     *
+     * A helper method that readies the move ordering for a new search: the killer moves are forgotten and the
+     * history scores halved, so older searches count for less.
+     *
+     */
+    private void startOrdering() {
+        Arrays.fill(killers, -1);
+        for (int cell = 0; cell < history.length; cell++) {
+            history[cell] >>= 1;
+        }
+    }
+
+    /**
+     *
+     * A helper method that puts the best move of the transposition table first and, if ordering is on, fills in the
+     * sort key of every move of the ply: the table move highest, then the killer moves, then the others by history
+     * score and the number of live lines they touch.
+     *
+     * @param game - (TicTacTix) The game being searched.
+     * @param moves - (int[]) The moves of the position.
+     * @param moveCount - (int) The number of moves.
+     * @param ply - (int) How many moves the position is from the root of the search.
+     * @param tableMove - (int) The best move of the transposition table, or -1 if none.
+     *
+     */
+    private void orderMoves(TicTacTix game, int[] moves, int moveCount, int ply, int tableMove) {
+
+        // Without ordering, only try the table move first.
+        moveToFront(moves, moveCount, tableMove);
+        if (!isOrdering()) {
+            return;
+        }
+
+        // Score every move.
+        int[] keys = orderKeys[ply];
+        for (int index = 0; index < moveCount; index++) {
+            int move = moves[index];
+            if (move == tableMove) {
+                keys[index] = TABLE_MOVE_KEY;
+            }
+            else if (isUsingKillers && move == killers[ply*KILLER_SLOTS]) {
+                keys[index] = TABLE_MOVE_KEY - 1;
+            }
+            else if (isUsingKillers && move == killers[ply*KILLER_SLOTS + 1]) {
+                keys[index] = TABLE_MOVE_KEY - 2;
+            }
+            else {
+                int historyScore = isUsingHistory ? history[move] : 0;
+                int liveLines = isUsingLiveLines ? Math.min(game.getLiveLineCount(move), MAX_LIVE_LINES) : 0;
+                keys[index] = (historyScore << LIVE_LINE_BITS) | liveLines;
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that swaps the highest scored of the remaining moves into place, so moves are tried best first
+     * without sorting the whole list when the search is cut off early.
+     *
+     * @param moves - (int[]) The moves of the position.
+     * @param keys - (int[]) The sort key of each move, swapped along with it.
+     * @param moveCount - (int) The number of moves.
+     * @param index - (int) The position to fill; moves before it were already tried.
+     *
+     */
+    private static void pickMove(int[] moves, int[] keys, int moveCount, int index) {
+
+        // Find the highest key of the remaining moves.
+        int best = index;
+        for (int other = index + 1; other < moveCount; other++) {
+            if (keys[other] > keys[best]) {
+                best = other;
+            }
+        }
+
+        // Swap it into place.
+        int move = moves[index];
+        int key = keys[index];
+        moves[index] = moves[best];
+        keys[index] = keys[best];
+        moves[best] = move;
+        keys[best] = key;
+    }
+
+    /**
+     *
+     * A helper method that remembers a move that cut the search off, as a killer move of its ply and in the history
+     * score of its cell. Deeper cutoffs save more, so they raise the history score more.
+     *
+     * @param move - (int) The flat index of the move.
+     * @param depth - (int) How many moves ahead the position was searched.
+     * @param ply - (int) How many moves the position is from the root of the search.
+     *
+     */
+    private void recordCutoff(int move, int depth, int ply) {
+
+        // Keep the two latest killer moves of the ply.
+        if (isUsingKillers && killers[ply*KILLER_SLOTS] != move) {
+            killers[ply*KILLER_SLOTS + 1] = killers[ply*KILLER_SLOTS];
+            killers[ply*KILLER_SLOTS] = move;
+        }
+
+        // Raise the history score, halving every score once one grows too big.
+        if (isUsingHistory) {
+            history[move] += depth * depth;
+            if (history[move] > HISTORY_LIMIT) {
+                for (int cell = 0; cell < history.length; cell++) {
+                    history[cell] >>= 1;
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that swaps a move to the front of a move list so it is tried first. Nothing changes if the
+     * move is not in the list.
+     *
+     * @param moves - (int[]) The move list.
+     * @param moveCount - (int) The number of moves in the list.
+     * @param move - (int) The move to try first, or -1 for none.
+     *
+     */
+    static void moveToFront(int[] moves, int moveCount, int move) {
+        for (int index = 0; move != -1 && index < moveCount; index++) {
+            if (moves[index] == move) {
+                moves[index] = moves[0];
+                moves[0] = move;
+                break;
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that scores a position at the end of the search for the player whose turn it is, by the
+     * weighted open lines of both players. The score is kept well short of a win, so it is never mistaken for one.
+     *
+     * @param game - (TicTacTix) The game being searched.
+     *
+     * @return int - The score of the position, or 0 if evaluation is off.
+     *
+     */
+    int evaluate(TicTacTix game) {
+        return Math.max(-WIN_THRESHOLD + 1, Math.min(WIN_THRESHOLD - 1, game.getEvaluation()));
+    }
+
+    /**
+     *
+     * A helper method that copies the empty cells of the game board into the move buffer of a ply. The list of
+     * empty cells on the game board is reordered as moves are made and taken back, so each ply walks its own copy.
+     *
+     * @param game - (TicTacTix) The game being searched.
+     * @param ply - (int) How many moves the position is from the root of the search.
+     *
+     * @return int[] - The move buffer of the ply, holding getFreeCellCount() moves.
+     *
+     */
+    int[] listMoves(TicTacTix game, int ply) {
+
+        // Copy the empty cells.
+        int[] moves = moveBuffers[ply];
+        for (int index = 0; index < game.getFreeCellCount(); index++) {
+            moves[index] = game.getFreeCell(index);
+        }
+        return moves;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of nodes visited by the last search.
+     *
+     * @return long - the number of nodes searched.
+     *
+     */
+    public long getNodesSearched() {
+        return nodes;
+    }
+
+    /**
+     *
+     * A accessor method that returns how fast the last search visited nodes.
+     *
+     * @return long - the nodes searched per second.
+     *
+     */
+    public long getNodesPerSecond() {
+        return (elapsedNanos == 0) ? 0 : nodes * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     *
+     * A mutator method that sets whether the transposition table is keyed on the canonical hash of each position,
+     * so every rotation and reflection of a position shares one entry. This turns on symmetry tracking for the games
+     * searched.
+     *
+     * @param isCanonical - (boolean) Determines if the table is keyed on canonical positions.
+     *
+     * @see TicTacTix#getCanonicalHash()
+     *
+     */
+    public void setCanonical(boolean isCanonical) {
+        this.isCanonical = isCanonical;
+    }
+
+    /**
+     *
+     * A mutator method that sets the time budget of every move. With a budget, the search deepens one move at a time
+     * until the budget runs out, up to maxDepth moves ahead.
+     *
+     * @param millis - (long) The time budget of a move in milliseconds, or 0 to always search maxDepth moves ahead.
+     *
+     */
+    public void setTimeBudget(long millis) {
+        timeBudgetNanos = Math.max(0, millis) * NANOS_PER_MILLI;
+    }
+
+    /**
+     *
+     * A mutator method that sets whether the search deepens one move at a time even without a time budget. The
+     * search then stops at the shallowest depth proving a win or loss, so the win found is the fastest one.
+     *
+     * @param isDeepening - (boolean) Determines if the search deepens one move at a time.
+     *
+     */
+    public void setIterativeDeepening(boolean isDeepening) {
+        this.isDeepening = isDeepening;
+    }
+
+    /**
+     *
+     * A mutator method that sets the weights of the open lines used to score the positions at the end of the search.
+     *
+     * @param weights - (int[]) The weight of an open line by number of checkers, from 0 (weighing 0) to dimensions,
+     * or null for the default weights of the game board.
+     *
+     * @see TicTacTix#setLineWeights(int[] weights)
+     *
+     */
+    public void setLineWeights(int[] weights) {
+        lineWeights = weights;
+    }
+
+    /**
+     *
+     * A mutator method that sets whether positions at the end of the search are scored by their open lines. Without
+     * evaluation every position that is not won counts as even.
+     *
+     * @param isEvaluating - (boolean) Determines if positions are scored by their open lines.
+     *
+     */
+    public void setEvaluation(boolean isEvaluating) {
+        this.isEvaluating = isEvaluating;
+    }
+
+    /**
+     *
+     * A mutator method that sets which move ordering heuristics are used, to compare how much each one prunes.
+     * All are on by default.
+     *
+     * @param isUsingKillers - (boolean) Determines if the killer moves of each ply are tried early.
+     * @param isUsingHistory - (boolean) Determines if moves are ordered by the history score of their cell.
+     * @param isUsingLiveLines - (boolean) Determines if moves are ordered by the number of live lines they touch.
+     *
+     */
+    public void setMoveOrdering(boolean isUsingKillers, boolean isUsingHistory, boolean isUsingLiveLines) {
+        this.isUsingKillers = isUsingKillers;
+        this.isUsingHistory = isUsingHistory;
+        this.isUsingLiveLines = isUsingLiveLines;
+    }
+
+    /**
+     *
+     * A mutator method that cancels the search running on another thread, or lets searches run again. A cancelled
+     * search gives up within a few thousand nodes, leaving the transposition table untouched by its unfinished work.
+     * Searches stay cancelled until this is called again with false.
+     *
+     * @param isCancelled - (boolean) Determines if searches are cancelled.
+     *
+     */
+    public void setCancelled(boolean isCancelled) {
+        this.isCancelled = isCancelled;
+    }
+
+    /**
+     *
+     * A mutator method that sets the histogram the time of every move is recorded in, so several computer players
+     * can share one.
+     *
+     * @param latencies - (LatencyHistogram) The histogram to record into.
+     *
+     */
+    public void setLatencyHistogram(LatencyHistogram latencies) {
+        this.latencies = latencies;
+    }
+
+    /**
+     *
+     * A accessor method that returns the histogram holding the time of every move, for p50/p99 latencies.
+     *
+     * @return LatencyHistogram - the histogram of move times.
+     *
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencies;
+    }
+
+    /**
+     *
+     * A accessor method that returns the deepest search finished by the last move.
+     *
+     * @return int - the number of moves ahead searched.
+     *
+     */
+    public int getCompletedDepth() {
+        return completedDepth;
+    }
+
+    /**
+     *
+     * A accessor method that returns the score of the move picked by the last search, for the player who picked it.
+     * A score above WIN_SCORE/2 is a win and one below -WIN_SCORE/2 a loss, sooner the further from 0.
+     *
+     * @return int - the score of the best move of the last finished depth.
+     *
+     */
+    public int getBestScore() {
+        return bestScore;
+    }
+
+    /**
+     *
+     * A accessor method that returns how many moves ahead the search looks at most.
+     *
+     * @return int - the maximum depth.
+     *
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     *
+     * A accessor method that returns the weights of the open lines set for the search.
+     *
+     * @return int[] - the weights by number of checkers, or null for the default weights of the game board.
+     *
+     */
+    public int[] getLineWeights() {
+        return lineWeights;
+    }
+
+    /**
+     *
+     * A accessor method that determines if positions at the end of the search are scored by their open lines.
+     *
+     * @return boolean - whether evaluation is on.
+     *
+     */
+    public boolean isEvaluating() {
+        return isEvaluating;
+    }
+
+    /**
+     *
+     * A accessor method that determines if the transposition table is keyed on canonical positions.
+     *
+     * @return boolean - whether the table is keyed on canonical positions.
+     *
+     */
+    public boolean isCanonical() {
+        return isCanonical;
+    }
+
+    /**
+     *
+     * A accessor method that returns the transposition table of the search.
+     *
+     * @return TranspositionTable - the table, or null if searching without one.
+     *
+     */
+    public TranspositionTable getTranspositionTable() {
+        return table;
+    }
+
+    /**
+     *
+     * A accessor method that returns how long the last search took.
+     *
+     * @return long - the time taken by the last search in nanoseconds.
+     *
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,841 @@
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ *
+ * This class hosts many games of TicTacTix at once over the same line protocol as GameServer, but reads and writes
+ * every connection from one thread waiting on a selector. A connection costs its socket and its GameSession only,
+ * and no thread, so thousands of idle sessions and spectators cost next to nothing.
+ *
+ * Bytes are read into direct buffers borrowed from a BufferPool only while a connection has some to hold, and the
+ * answers are written the same way. Command lines are parsed straight from the bytes, the words compared against
+ * byte constants and the numbers read digit by digit, so answering a command creates no strings. Malformed lines
+ * and QUIT are answered by the selector thread at once.
+ *
+ * The commands of the game, which may search for the computer's move, run on a pool of worker threads, one per
+ * core, so a long search never holds up the other connections. The worker writes the answer, game boards included,
+ * into the output buffer of the connection through an Appendable over the buffer, then hands the connection back
+ * to the selector thread, which alone touches the buffer pools and the keys. A connection runs one command at a
+ * time, and is neither read nor written while it runs, so its answers keep the order of its commands.
+ *
+ * A connection is not read from while its answers wait to be written, so a client that sends commands without
+ * reading the answers is slowed down instead of growing the server's buffers. A server is run on its own with:
+ *
+ *     java NioGameServer 4444
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see GameSession
+ * @see GameServer
+ * @see BufferPool
+ *
+ */
+public class NioGameServer {
+
+    // Declaration of instance variables
+    private ServerSocketChannel serverChannel;
+    private Selector selector;
+    private Supplier<MoveStrategy> strategies;
+    private Thread selectorThread;
+    private BufferPool inputBuffers;
+    private BufferPool outputBuffers;
+    // The workers running the commands of the game, and the connections whose command is done, for the selector.
+    private ExecutorService workers;
+    private Queue<Connection> finishedCommands;
+    private int[] wordStarts;
+    private int[] wordEnds;
+    private volatile boolean isRunning;
+    private LongAdder connections;
+    private LongAdder commands;
+    private LongAdder gamesFinished;
+
+    // Declaration of static variables.
+    private final static int BACKLOG = 4096;
+    private final static int DEFAULT_DEPTH = 2;
+    private final static int MAX_WORDS = 4;
+    private final static int MAX_DIGITS = 9;
+    private final static int INPUT_BYTES = 1024;
+    private final static int OUTPUT_BYTES = 16384;
+    private final static int MAX_FREE_BUFFERS = 1024;
+    // The room an answer may take up: the largest game board and the lines around it.
+    private final static int ANSWER_BYTES = BoardRenderer.getInstance(GameSession.MAX_DIMENSIONS).getLength() + 256;
+    private final static byte[] NEW = "NEW".getBytes(StandardCharsets.US_ASCII);
+    private final static byte[] MOVE = "MOVE".getBytes(StandardCharsets.US_ASCII);
+    private final static byte[] BOARD = "BOARD".getBytes(StandardCharsets.US_ASCII);
+    private final static byte[] RESIGN = "RESIGN".getBytes(StandardCharsets.US_ASCII);
+    private final static byte[] QUIT = "QUIT".getBytes(StandardCharsets.US_ASCII);
+    private final static byte[] FIRST = "FIRST".getBytes(StandardCharsets.US_ASCII);
+    private final static byte[] SECOND = "SECOND".getBytes(StandardCharsets.US_ASCII);
+    // The commands run by the workers.
+    private final static int COMMAND_NEW = 0;
+    private final static int COMMAND_MOVE = 1;
+    private final static int COMMAND_BOARD = 2;
+    private final static int COMMAND_RESIGN = 3;
+    // What became of a command line: answered at once, handed to a worker, or left until the answers are written.
+    private final static int ANSWERED = 0;
+    private final static int DISPATCHED = 1;
+    private final static int WAITING = 2;
+
+
+    /**
+     *
+     * Parameterized constructor of the NioGameServer class. The server does not listen until started.
+     *
+     * @param strategies - (Supplier) Creates the computer player of each session.
+     *
+     */
+    public NioGameServer(Supplier<MoveStrategy> strategies) {
+
+        // Initialize the instance variables
+        this.strategies = strategies;
+        inputBuffers = new BufferPool(INPUT_BYTES, MAX_FREE_BUFFERS);
+        outputBuffers = new BufferPool(OUTPUT_BYTES, MAX_FREE_BUFFERS);
+        finishedCommands = new ConcurrentLinkedQueue<Connection>();
+        workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+            Thread thread = new Thread(task, "NioGameServer worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        wordStarts = new int[MAX_WORDS + 1];
+        wordEnds = new int[MAX_WORDS + 1];
+        connections = new LongAdder();
+        commands = new LongAdder();
+        gamesFinished = new LongAdder();
+    }
+
+    /*
+     * This is the main method that runs a server until killed, on the port given or any free port.
+     */
+    public static void main(String[] args) throws IOException {
+        NioGameServer server = new NioGameServer(() -> new NegamaxStrategy(DEFAULT_DEPTH));
+        server.start((args.length > 0) ? Integer.parseInt(args[0]) : 0);
+        System.out.println("Serving TicTacTix on port " + server.getPort() + " with a selector");
+    }
+
+    /**
+     *
+     * A method that starts listening on the loopback address and serving connections from the selector thread.
+     *
+     * @param port - (int) The port to listen on, or 0 for any free port.
+     *
+     * @throws IOException - if the port cannot be listened on.
+     *
+     */
+    public void start(int port) throws IOException {
+
+        // Listen without blocking, then wait for connections on the selector.
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        isRunning = true;
+        selectorThread = new Thread(this::run, "NioGameServer");
+        selectorThread.start();
+    }
+
+    /**
+     *
+     * A method that stops listening, closes every connection and waits for the selector thread and the workers to
+     * end.
+     *
+     * @throws IOException - if the server channel cannot be closed.
+     *
+     */
+    public void stop() throws IOException {
+
+        // Wake the selector up, letting it close everything on its way out, then wait for the running commands.
+        isRunning = false;
+        selector.wakeup();
+        workers.shutdown();
+        try {
+            selectorThread.join();
+            workers.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        // End the sessions closed while their command ran.
+        Connection connection;
+        while ((connection = finishedCommands.poll()) != null) {
+            if (connection.isClosed) {
+                release(connection);
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that runs the selector loop until the server stops, then closes every connection.
+     *
+     */
+    private void run() {
+        try {
+            while (isRunning) {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        acceptConnections();
+                    }
+                    else {
+                        serve(key);
+                    }
+                }
+                answerFinishedCommands();
+            }
+        }
+        // The selector failed... Stop serving.
+        catch (IOException exception) {
+        }
+        finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() != null) {
+                    close(key);
+                }
+            }
+            try {
+                serverChannel.close();
+                selector.close();
+            }
+            catch (IOException exception) {
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that accepts every waiting connection, registering each for reading with a new session.
+     *
+     * @throws IOException - if the server channel fails.
+     *
+     */
+    private void acceptConnections() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Connection connection = new Connection(new GameSession(strategies));
+            connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+            connection.task = () -> runCommand(connection);
+            connections.increment();
+        }
+    }
+
+    /**
+     *
+     * A helper method that takes back every connection whose command a worker has finished, writing its answer and
+     * going on with its next lines, or ending it if it was closed meanwhile or its command failed.
+     *
+     */
+    private void answerFinishedCommands() {
+        Connection connection;
+        while ((connection = finishedCommands.poll()) != null) {
+            connection.isBusy = false;
+            if (connection.isClosed) {
+                release(connection);
+            }
+            else if (connection.isFailed) {
+                close(connection.key);
+            }
+            else {
+                respond(connection.key);
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that serves a connection ready to be read from or written to, reading what the client sent
+     * before answering it.
+     *
+     * @param key - (SelectionKey) The key of the connection.
+     *
+     */
+    private void serve(SelectionKey key) {
+
+        // Create and initialize variables/objects required.
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+
+        // Read what the client sent, hanging up at the end of its stream.
+        if (key.isReadable()) {
+            try {
+                if (connection.input == null) {
+                    connection.input = inputBuffers.acquire();
+                }
+                if (channel.read(connection.input) < 0) {
+                    close(key);
+                    return;
+                }
+            }
+            // Client went away... End the session.
+            catch (IOException exception) {
+                close(key);
+                return;
+            }
+        }
+        respond(key);
+    }
+
+    /**
+     *
+     * A helper method that answers a connection. Pending answers are written first, then every whole command line
+     * read is answered while the output buffer has room, then the answers are written. Answering stops at a command
+     * handed to a worker, and goes on once the worker is done. The connection is read from again only once every
+     * answer is written.
+     *
+     * @param key - (SelectionKey) The key of the connection.
+     *
+     */
+    private void respond(SelectionKey key) {
+
+        // Create and initialize variables/objects required.
+        SocketChannel channel = (SocketChannel) key.channel();
+        Connection connection = (Connection) key.attachment();
+
+        try {
+            // Write, then answer and write until every line is answered or the client stops taking answers.
+            write(channel, connection);
+            boolean isFull;
+            do {
+                isFull = answerLines(connection);
+                write(channel, connection);
+            } while (isFull && connection.output == null);
+
+            // Give back the input buffer once every byte of it is answered.
+            if (connection.input != null && connection.input.position() == 0) {
+                inputBuffers.release(connection.input);
+                connection.input = null;
+            }
+
+            // Wait for the worker, hang up after QUIT is answered, or wait for the client.
+            if (connection.isBusy) {
+                key.interestOps(0);
+            }
+            else if (connection.output != null) {
+                key.interestOps(SelectionKey.OP_WRITE);
+            }
+            else if (connection.isQuitting) {
+                close(key);
+            }
+            else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+        // Client went away... End the session.
+        catch (IOException exception) {
+            close(key);
+        }
+    }
+
+    /**
+     *
+     * A helper method that answers every whole command line in the input buffer while the output buffer has room for
+     * the largest answer, up to the first command handed to a worker, leaving the rest of the bytes in the input
+     * buffer for later.
+     *
+     * @param connection - (Connection) The connection to answer.
+     *
+     * @return boolean - whether answering stopped until the answers are written, lines being left.
+     *
+     * @throws IOException - if an answer cannot be written.
+     *
+     */
+    private boolean answerLines(Connection connection) throws IOException {
+
+        // Nothing to answer.
+        ByteBuffer input = connection.input;
+        if (input == null || connection.isQuitting || connection.isBusy) {
+            return false;
+        }
+
+        // Answer line by line.
+        input.flip();
+        int start = input.position();
+        boolean canAnswer = true;
+        for (int index = start; index < input.limit() && !connection.isQuitting && !connection.isBusy; index++) {
+            if (input.get(index) != '\n') {
+                continue;
+            }
+            if (connection.isDiscarding) {
+                connection.isDiscarding = false;
+            }
+            else {
+                if (connection.output == null) {
+                    connection.output = outputBuffers.acquire();
+                }
+                canAnswer = connection.output.remaining() >= ANSWER_BYTES
+                          && answerLine(connection, input, start, index) != WAITING;
+                if (!canAnswer) {
+                    break;
+                }
+            }
+            start = index + 1;
+        }
+        input.position(start);
+
+        // A full buffer without a line break holds a line too long to answer... Drop it up to its end.
+        if (canAnswer && start == 0 && input.limit() == input.capacity()) {
+            if (!connection.isDiscarding) {
+                if (connection.output == null) {
+                    connection.output = outputBuffers.acquire();
+                }
+                connection.appender.buffer = connection.output;
+                connection.appender.append("ERROR line too long\n");
+                connection.isDiscarding = true;
+            }
+            input.position(input.limit());
+        }
+        input.compact();
+        return !canAnswer;
+    }
+
+    /**
+     *
+     * A helper method that answers one command line, parsing it without creating strings. It answers as
+     * GameSession.handle(String line, Appendable out) would. A command of the game is handed to a worker with its
+     * arguments parsed, once the answers before it are written.
+     *
+     * @param connection - (Connection) The connection to answer.
+     * @param input - (ByteBuffer) The buffer holding the line.
+     * @param start - (int) The index of the first byte of the line.
+     * @param end - (int) The index of the line break ending the line.
+     *
+     * @return int - ANSWERED, DISPATCHED to a worker, or WAITING for the answers before it to be written.
+     *
+     * @throws IOException - if the answer cannot be written.
+     *
+     */
+    private int answerLine(Connection connection, ByteBuffer input, int start, int end) throws IOException {
+
+        // Drop a carriage return, skipping empty lines.
+        if (end > start && input.get(end - 1) == '\r') {
+            end--;
+        }
+        if (end == start) {
+            return ANSWERED;
+        }
+        BufferAppender appender = connection.appender;
+        appender.buffer = connection.output;
+        int[] arguments = connection.arguments;
+
+        // Split the line into its words, one more than any command takes so extra words are noticed.
+        int wordCount = 0;
+        for (int index = start; index < end && wordCount <= MAX_WORDS; index++) {
+            if (!isBlank(input, index) && (index == start || isBlank(input, index - 1))) {
+                wordStarts[wordCount] = index;
+                wordEnds[wordCount] = index + 1;
+                while (wordEnds[wordCount] < end && !isBlank(input, wordEnds[wordCount])) {
+                    wordEnds[wordCount]++;
+                }
+                index = wordEnds[wordCount] - 1;
+                wordCount++;
+            }
+        }
+
+        // Find the command of the game and parse its arguments, answering anything else at once.
+        int command;
+        boolean isTurnKnown = true;
+        arguments[0] = 0;
+        arguments[1] = 0;
+        arguments[2] = 0;
+        if (wordCount == 3 && isWord(input, 0, NEW)) {
+            command = COMMAND_NEW;
+            arguments[0] = parseNumber(input, 1);
+            connection.isFirst = isWord(input, 2, FIRST);
+            isTurnKnown = connection.isFirst || isWord(input, 2, SECOND);
+        }
+        else if (wordCount == 4 && isWord(input, 0, MOVE)) {
+            command = COMMAND_MOVE;
+            for (int word = 1; word < wordCount; word++) {
+                arguments[word - 1] = parseNumber(input, word);
+            }
+        }
+        else if (wordCount == 1 && isWord(input, 0, BOARD)) {
+            command = COMMAND_BOARD;
+        }
+        else if (wordCount == 1 && isWord(input, 0, RESIGN)) {
+            command = COMMAND_RESIGN;
+        }
+        else if (wordCount == 1 && isWord(input, 0, QUIT)) {
+            commands.increment();
+            appender.append("OK BYE\n");
+            connection.isQuitting = true;
+            return ANSWERED;
+        }
+        else {
+            commands.increment();
+            appender.append("ERROR unknown command\n");
+            return ANSWERED;
+        }
+        if (arguments[0] < 0 || arguments[1] < 0 || arguments[2] < 0) {
+            commands.increment();
+            appender.append("ERROR not a number\n");
+            return ANSWERED;
+        }
+        if (!isTurnKnown) {
+            commands.increment();
+            appender.append("ERROR expected FIRST or SECOND\n");
+            return ANSWERED;
+        }
+
+        // Hand the command to a worker once the answers before it are written, as the worker fills the buffer.
+        if (connection.output.position() > 0) {
+            return WAITING;
+        }
+        commands.increment();
+        connection.command = command;
+        connection.isBusy = true;
+        workers.execute(connection.task);
+        return DISPATCHED;
+    }
+
+    /**
+     *
+     * A helper method that runs the command of a connection on a worker thread, writing its answer into the output
+     * buffer of the connection, then hands the connection back to the selector thread.
+     *
+     * @param connection - (Connection) The connection, busy until handed back.
+     *
+     */
+    private void runCommand(Connection connection) {
+
+        // Create and initialize variables/objects required.
+        GameSession session = connection.session;
+        BufferAppender appender = connection.appender;
+        int[] arguments = connection.arguments;
+        appender.buffer = connection.output;
+
+        try {
+            // Run the command with its arguments.
+            if (connection.command == COMMAND_NEW) {
+                session.newGame(arguments[0], connection.isFirst, appender);
+            }
+            else if (connection.command == COMMAND_MOVE) {
+                session.move(arguments[0], arguments[1], arguments[2], appender);
+            }
+            else if (connection.command == COMMAND_BOARD) {
+                session.board(appender);
+            }
+            else {
+                session.resign(appender);
+            }
+        }
+        // The command failed... Hang up on the client.
+        catch (IOException | RuntimeException exception) {
+            connection.isFailed = true;
+        }
+        finally {
+            finishedCommands.add(connection);
+            selector.wakeup();
+        }
+    }
+
+    /**
+     *
+     * A helper method that determines if a byte separates words: a space or a control character.
+     *
+     * @param input - (ByteBuffer) The buffer holding the byte.
+     * @param index - (int) The index of the byte.
+     *
+     * @return boolean - whether the byte is blank.
+     *
+     */
+    private static boolean isBlank(ByteBuffer input, int index) {
+        return (input.get(index) & 0xFF) <= ' ';
+    }
+
+    /**
+     *
+     * A helper method that determines if a word of the line is the given word, ignoring case.
+     *
+     * @param input - (ByteBuffer) The buffer holding the line.
+     * @param word - (int) The number of the word in the line.
+     * @param expected - (byte[]) The word in upper case.
+     *
+     * @return boolean - whether the words match.
+     *
+     */
+    private boolean isWord(ByteBuffer input, int word, byte[] expected) {
+        if (wordEnds[word] - wordStarts[word] != expected.length) {
+            return false;
+        }
+        for (int index = 0; index < expected.length; index++) {
+            int letter = input.get(wordStarts[word] + index);
+            if (letter >= 'a' && letter <= 'z') {
+                letter -= 'a' - 'A';
+            }
+            if (letter != expected[index]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     *
+     * A helper method that reads a word of the line as a number of decimal digits, an optional sign included.
+     *
+     * @param input - (ByteBuffer) The buffer holding the line.
+     * @param word - (int) The number of the word in the line.
+     *
+     * @return int - the number, or -1 if the word is not a number. Negative numbers are returned as 0, which no
+     * command accepts either.
+     *
+     */
+    private int parseNumber(ByteBuffer input, int word) {
+
+        // Skip the sign.
+        int index = wordStarts[word];
+        boolean isNegative = input.get(index) == '-';
+        if (isNegative || input.get(index) == '+') {
+            index++;
+        }
+        if (index == wordEnds[word] || wordEnds[word] - index > MAX_DIGITS) {
+            return -1;
+        }
+
+        // Read the digits.
+        int number = 0;
+        for (; index < wordEnds[word]; index++) {
+            int digit = input.get(index) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            number = number*10 + digit;
+        }
+        return isNegative ? 0 : number;
+    }
+
+    /**
+     *
+     * A helper method that writes as much of the pending answers as the connection takes, giving back the output
+     * buffer once it is empty.
+     *
+     * @param channel - (SocketChannel) The connection.
+     * @param connection - (Connection) The state of the connection.
+     *
+     * @throws IOException - if the answers cannot be written.
+     *
+     */
+    private void write(SocketChannel channel, Connection connection) throws IOException {
+        ByteBuffer output = connection.output;
+        if (output == null || connection.isBusy) {
+            return;
+        }
+        output.flip();
+        channel.write(output);
+        output.compact();
+        if (output.position() == 0) {
+            outputBuffers.release(output);
+            connection.output = null;
+        }
+    }
+
+    /**
+     *
+     * A helper method that closes a connection, giving back its buffers and counting its games. A connection whose
+     * command is running keeps them until the worker is done.
+     *
+     * @param key - (SelectionKey) The key of the connection.
+     *
+     */
+    private void close(SelectionKey key) {
+        Connection connection = (Connection) key.attachment();
+        key.attach(null);
+        key.cancel();
+        try {
+            key.channel().close();
+        }
+        catch (IOException exception) {
+        }
+        connection.isClosed = true;
+        if (!connection.isBusy) {
+            release(connection);
+        }
+    }
+
+    /**
+     *
+     * A helper method that gives back the buffers of a closed connection and ends its session, counting its games.
+     *
+     * @param connection - (Connection) The connection, no longer busy.
+     *
+     */
+    private void release(Connection connection) {
+        if (connection.input != null) {
+            inputBuffers.release(connection.input);
+        }
+        if (connection.output != null) {
+            outputBuffers.release(connection.output);
+        }
+        gamesFinished.add(connection.session.getGamesFinished());
+        connection.session.end();
+    }
+
+    /**
+     *
+     * A accessor method that returns the port the server listens on.
+     *
+     * @return int - the port.
+     *
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of connections accepted so far.
+     *
+     * @return long - the number of connections.
+     *
+     */
+    public long getConnectionCount() {
+        return connections.sum();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of commands answered so far.
+     *
+     * @return long - the number of commands.
+     *
+     */
+    public long getCommandCount() {
+        return commands.sum();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of games finished in sessions that have ended.
+     *
+     * @return long - the number of games.
+     *
+     */
+    public long getGamesFinished() {
+        return gamesFinished.sum();
+    }
+
+    /**
+     *
+     * This class is the state of one connection: its session, the buffers it holds, if any, the command a worker
+     * runs for it, and whether it is hanging up or dropping a line too long. The selector thread hands it to a worker
+     * through the executor and takes it back through the queue of finished commands, so each sees what the other
+     * wrote.
+     *
+     */
+    private static class Connection {
+
+        // Declaration of instance variables
+        private GameSession session;
+        private SelectionKey key;
+        private ByteBuffer input;
+        private ByteBuffer output;
+        private BufferAppender appender;
+        private Runnable task;
+        private int command;
+        private int[] arguments;
+        private boolean isFirst;
+        private boolean isQuitting;
+        private boolean isDiscarding;
+        // Whether a worker runs the command, whether the connection was closed meanwhile, and whether it failed.
+        private boolean isBusy;
+        private boolean isClosed;
+        private boolean isFailed;
+
+        /**
+         *
+         * Parameterized constructor of the Connection class. No buffer is held until needed.
+         *
+         * @param session - (GameSession) The session of the connection.
+         *
+         */
+        Connection(GameSession session) {
+            this.session = session;
+            appender = new BufferAppender();
+            arguments = new int[3];
+        }
+    }
+
+    /**
+     *
+     * This class writes characters into a byte buffer, one byte each, for answers made of ASCII only. Each connection
+     * has its own, pointed at its output buffer before each answer.
+     *
+     */
+    private static class BufferAppender implements Appendable {
+
+        // Declaration of instance variables
+        private ByteBuffer buffer;
+
+        /**
+         *
+         * A method that writes one character.
+         *
+         * @param character - (char) The character, ASCII.
+         *
+         * @return Appendable - this appender, for chaining.
+         *
+         */
+        public Appendable append(char character) {
+            buffer.put((byte) character);
+            return this;
+        }
+
+        /**
+         *
+         * A method that writes every character of a sequence.
+         *
+         * @param characters - (CharSequence) The characters, ASCII.
+         *
+         * @return Appendable - this appender, for chaining.
+         *
+         */
+        public Appendable append(CharSequence characters) {
+            return append(characters, 0, characters.length());
+        }
+
+        /**
+         *
+         * A method that writes part of a sequence of characters.
+         *
+         * @param characters - (CharSequence) The characters, ASCII.
+         * @param start - (int) The index of the first character written.
+         * @param end - (int) The index after the last character written.
+         *
+         * @return Appendable - this appender, for chaining.
+         *
+         */
+        public Appendable append(CharSequence characters, int start, int end) {
+            for (int index = start; index < end; index++) {
+                buffer.put((byte) characters.charAt(index));
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ *
+ * This class is a computer player that plays the first moves of a game from an opening book, a file of replies
+ * found offline by OpeningBookBuilder with searches far deeper than a game can afford. The first moves are the most
+ * expensive to search since the game board is nearly empty. Once the game leaves the book, moves are passed on to
+ * a fallback computer player.
+ *
+ * Positions are keyed by their canonical key from Symmetry, so one entry covers every rotation and reflection of a
+ * position. The file starts with a header of magic number, version, dimensions, whether the winning lines are full
+ * 3D, the number of moves covered and the number of entries. It is followed by the keys, sorted, then the reply of
+ * each key in the canonical form as a short. The file is memory mapped and searched in place.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see OpeningBookBuilder
+ * @see Symmetry#getCanonicalSymmetry(TicTacTix game)
+ *
+ */
+public class OpeningBook implements MoveStrategy {
+
+    // Declaration of instance variables
+    private MappedByteBuffer buffer;
+    private int dimensions;
+    private boolean isFull3D;
+    private int plies;
+    private int entryCount;
+    private Symmetry symmetry;
+    private MoveStrategy fallback;
+    private long hits;
+    private long misses;
+
+    // Declaration of static variables.
+    final static int MAGIC = 0x54545842;
+    final static int VERSION = 1;
+    final static int HEADER_BYTES = 24;
+    final static int KEY_BYTES = 8;
+    final static int MOVE_BYTES = 2;
+
+
+    /**
+     *
+     * Parameterized constructor of the OpeningBook class. Maps the file into memory and checks its header.
+     *
+     * @param file - (File) The opening book written by OpeningBookBuilder.
+     * @param fallback - (MoveStrategy) The computer player for positions out of the book.
+     *
+     * @throws IOException - if the file cannot be read or is not an opening book.
+     *
+     */
+    public OpeningBook(File file, MoveStrategy fallback) throws IOException {
+
+        // Map the whole file read only. The mapping stays valid once the channel is closed.
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        // Read and check the header.
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException(file + " is not an opening book");
+        }
+        dimensions = buffer.getInt(8);
+        isFull3D = buffer.getInt(12) != 0;
+        plies = buffer.getInt(16);
+        entryCount = buffer.getInt(20);
+        if (buffer.capacity() < HEADER_BYTES + (long) entryCount * (KEY_BYTES + MOVE_BYTES)) {
+            throw new IOException(file + " is truncated");
+        }
+
+        // Initialize the instance variables
+        symmetry = Symmetry.getInstance(dimensions);
+        this.fallback = fallback;
+    }
+
+    /**
+     *
+     * A method that picks the move for the player whose turn it is, the reply of the book if the position is in it,
+     * otherwise the move of the fallback computer player.
+     *
+     * @param game - (TicTacTix) The game to pick a move for.
+     *
+     * @return int - The flat index of the picked cell.
+     *
+     */
+    public int selectMove(TicTacTix game) {
+
+        // Look the position up while the game is still in the first moves of the book.
+        int move = getBookMove(game);
+        if (move != -1) {
+            hits++;
+            return move;
+        }
+        misses++;
+        return fallback.selectMove(game);
+    }
+
+    /**
+     *
+     * A method that returns the reply of the book for the position, without searching.
+     *
+     * @param game - (TicTacTix) The game holding the position.
+     *
+     * @return int - The flat index of the reply, or -1 if the position is out of the book.
+     *
+     */
+    public int getBookMove(TicTacTix game) {
+
+        // Only positions of the first moves of the same game board can be in the book.
+        if (game.getDimensions() != dimensions || game.isFull3D() != isFull3D || getPly(game) >= plies) {
+            return -1;
+        }
+
+        // Find the canonical key, then map the reply back from the canonical form.
+        int symmetryIndex = symmetry.getCanonicalSymmetry(game);
+        int index = find(symmetry.getKey(game, symmetryIndex));
+        if (index == -1) {
+            return -1;
+        }
+        int move = symmetry.unmapCell(symmetryIndex, buffer.getShort(HEADER_BYTES + entryCount * KEY_BYTES
+                                                                      + index * MOVE_BYTES));
+
+        // A different position sharing the hash could name a taken cell, so check before playing it.
+        return (game.getCell(move) == 0) ? move : -1;
+    }
+
+    /**
+     *
+     * A helper method that finds the index of a canonical key by binary search over the mapped keys.
+     *
+     * @param key - (long) The canonical key of the position.
+     *
+     * @return int - The index of the key, or -1 if the position is not in the book.
+     *
+     */
+    private int find(long key) {
+
+        // Create and initialize variables required.
+        int low = 0;
+        int high = entryCount - 1;
+
+        // Halve the range until the key is found or the range is empty.
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleKey = buffer.getLong(HEADER_BYTES + middle * KEY_BYTES);
+            if (middleKey < key) {
+                low = middle + 1;
+            }
+            else if (middleKey > key) {
+                high = middle - 1;
+            }
+            else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     *
+     * A method that returns how many moves have been made in a game, not counting the reserved cell.
+     *
+     * @param game - (TicTacTix) The game to count the moves of.
+     *
+     * @return int - the number of moves made.
+     *
+     */
+    static int getPly(TicTacTix game) {
+        int cells = game.getDimensions() * game.getDimensions() * game.getDimensions();
+        return cells - 1 - game.getFreeCellCount();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of positions in the book.
+     *
+     * @return int - the number of entries.
+     *
+     */
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     *
+     * A accessor method that returns how many moves into a game the book covers.
+     *
+     * @return int - the number of moves covered.
+     *
+     */
+    public int getPlies() {
+        return plies;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of moves played from the book.
+     *
+     * @return long - the number of hits.
+     *
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of moves passed on to the fallback computer player.
+     *
+     * @return long - the number of misses.
+     *
+     */
+    public long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,191 @@
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Arrays;
+
+/**
+ *
+ * This class is the offline tool that builds an opening book for OpeningBook. Every position the computer can face
+ * in the first moves of a game is searched far deeper than a game can afford, whether the computer moves first or
+ * second, on the assumption that it plays the book reply while the other player may play anything. Positions that
+ * are rotations or reflections of one already searched are skipped. A book is built with:
+ *
+ *     java OpeningBookBuilder TicTacTix4x4x4.book 4 4 2000
+ *
+ * where the arguments are the file to write, the dimensions, the number of moves the book covers and the time to
+ * search each position in milliseconds.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see OpeningBook
+ *
+ */
+public class OpeningBookBuilder {
+
+    // Declaration of instance variables
+    private int plies;
+    private Symmetry symmetry;
+    private MoveStrategy searcher;
+    private Map<Long, Integer> replies;
+
+    // Declaration of static variables.
+    private final static long TABLE_BYTES = 256L << 20;
+
+
+    /**
+     *
+     * Parameterized constructor of the OpeningBookBuilder class, searching each position with negamax under a time
+     * budget.
+     *
+     * @param dimensions - (int) The dimensions of the game board.
+     * @param plies - (int) How many moves into a game the book covers.
+     * @param budgetMillis - (long) The time to search each position in milliseconds.
+     *
+     */
+    public OpeningBookBuilder(int dimensions, int plies, long budgetMillis) {
+
+        // Initialize the instance variables
+        this.plies = plies;
+        symmetry = Symmetry.getInstance(dimensions);
+        NegamaxStrategy negamax = new NegamaxStrategy(dimensions * dimensions * dimensions,
+            new TranspositionTable(TABLE_BYTES, TranspositionTable.REPLACE_DEPTH_PREFERRED));
+        negamax.setTimeBudget(budgetMillis);
+        searcher = negamax;
+        replies = new HashMap<Long, Integer>();
+    }
+
+    /*
+     * This is the main method that builds the opening book and writes it.
+     */
+    public static void main(String[] args) throws IOException {
+
+        // Read the arguments.
+        File file = new File((args.length > 0) ? args[0] : "TicTacTix4x4x4.book");
+        int dimensions = (args.length > 1) ? Integer.parseInt(args[1]) : 4;
+        int plies = (args.length > 2) ? Integer.parseInt(args[2]) : 4;
+        long budgetMillis = (args.length > 3) ? Long.parseLong(args[3]) : 2000;
+
+        // Build from both the computer moving first and second, then write the book.
+        long start = System.nanoTime();
+        OpeningBookBuilder builder = new OpeningBookBuilder(dimensions, plies, budgetMillis);
+        builder.addPosition(new TicTacTix(dimensions, false));
+        builder.addReplies(new TicTacTix(dimensions, true));
+        builder.write(file, dimensions);
+
+        System.out.println("Searched " + builder.replies.size() + " positions in "
+                           + (System.nanoTime() - start) / 1000000 + " ms, wrote " + file.length() + " bytes to "
+                           + file);
+    }
+
+    /**
+     *
+     * A method that searches a position with the computer to move, then every position reached by the book reply
+     * and any move of the other player, until the book has covered its number of moves.
+     *
+     * @param game - (TicTacTix) The game holding the position, restored before returning.
+     *
+     */
+    public void addPosition(TicTacTix game) {
+
+        // Stop past the end of the book, at the end of the game or at a position already searched.
+        if (OpeningBook.getPly(game) >= plies || isOver(game)) {
+            return;
+        }
+        int symmetryIndex = symmetry.getCanonicalSymmetry(game);
+        long key = symmetry.getKey(game, symmetryIndex);
+        if (replies.containsKey(key)) {
+            return;
+        }
+
+        // Search the position and record the reply in the canonical form.
+        int move = searcher.selectMove(game);
+        replies.put(key, symmetry.mapCell(symmetryIndex, move));
+
+        // Play the reply, then follow every move of the other player.
+        game.moveCell(move);
+        addReplies(game);
+        game.undoMove(move);
+    }
+
+    /**
+     *
+     * A method that follows every move of the other player from a position.
+     *
+     * @param game - (TicTacTix) The game holding the position, restored before returning.
+     *
+     */
+    public void addReplies(TicTacTix game) {
+
+        // Stop past the end of the book or at the end of the game.
+        if (OpeningBook.getPly(game) >= plies || isOver(game)) {
+            return;
+        }
+
+        // Follow every move, working on a copy of the empty cells since moves reorder them.
+        int[] moves = new int[game.getFreeCellCount()];
+        for (int index = 0; index < moves.length; index++) {
+            moves[index] = game.getFreeCell(index);
+        }
+        for (int move : moves) {
+            game.moveCell(move);
+            addPosition(game);
+            game.undoMove(move);
+        }
+    }
+
+    /**
+     *
+     * A method that writes the book to a file: the header, the sorted keys, then the reply of each key.
+     *
+     * @param file - (File) The file to write.
+     * @param dimensions - (int) The dimensions of the game board.
+     *
+     * @throws IOException - if the file cannot be written.
+     *
+     */
+    public void write(File file, int dimensions) throws IOException {
+
+        // Sort the keys, so they can be binary searched.
+        long[] keys = new long[replies.size()];
+        int count = 0;
+        for (long key : replies.keySet()) {
+            keys[count++] = key;
+        }
+        Arrays.sort(keys);
+
+        // Write the header, the keys, then the replies.
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(OpeningBook.MAGIC);
+            output.writeInt(OpeningBook.VERSION);
+            output.writeInt(dimensions);
+            // Always built with the winning lines of the planes, not full 3D.
+            output.writeInt(0);
+            output.writeInt(plies);
+            output.writeInt(count);
+            for (long key : keys) {
+                output.writeLong(key);
+            }
+            for (long key : keys) {
+                output.writeShort(replies.get(key));
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that determines if the game has ended.
+     *
+     * @param game - (TicTacTix) The game to check.
+     *
+     * @return boolean - whether someone has won or the game board is full.
+     *
+     */
+    private static boolean isOver(TicTacTix game) {
+        return game.hasWon() || game.getFreeCellCount() == 0;
+    }
+}
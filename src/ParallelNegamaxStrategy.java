@@ -0,0 +1,238 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ * This class is a computer player that splits the negamax search of the root moves across the threads of a
+ * ForkJoinPool. The first root move, the best one stored in the transposition table if any, is searched alone to
+ * get a score to beat (Young Brothers Wait). The remaining root moves are then split between the threads by work
+ * stealing, and each search only has to prove it beats the best score found so far.
+ *
+ * Every root move is searched on its own copy of the game board, by a NegamaxStrategy owned by the thread, so the
+ * threads share nothing but the transposition table. The table needs no locks since a torn entry reads as a miss.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see NegamaxStrategy
+ * @see TranspositionTable
+ *
+ */
+public class ParallelNegamaxStrategy implements MoveStrategy {
+
+    // Declaration of instance variables
+    private int maxDepth;
+    private TranspositionTable table;
+    private ForkJoinPool pool;
+    private ThreadLocal<NegamaxStrategy> workers;
+    private NegamaxStrategy leader;
+    private long nodes;
+    private long elapsedNanos;
+
+    // Declaration of static variables.
+    private final static long NANOS_PER_SECOND = 1000000000L;
+
+
+    /**
+     *
+     * Parameterized constructor of the ParallelNegamaxStrategy class. Creates its own pool of threads.
+     *
+     * @param maxDepth - (int) How many moves ahead to search, at least 1.
+     * @param table - (TranspositionTable) The table shared by every thread, or null to search without one.
+     * @param parallelism - (int) The number of threads searching at once.
+     *
+     */
+    public ParallelNegamaxStrategy(int maxDepth, TranspositionTable table, int parallelism) {
+
+        // Initialize the instance variables
+        this.maxDepth = Math.max(1, maxDepth);
+        this.table = table;
+        pool = new ForkJoinPool(Math.max(1, parallelism));
+        leader = new NegamaxStrategy(this.maxDepth, table);
+        workers = ThreadLocal.withInitial(() -> new NegamaxStrategy(this.maxDepth, this.table));
+    }
+
+    /**
+     *
+     * A method that picks the move for the player whose turn it is by searching maxDepth moves ahead, with the root
+     * moves split across the pool. The game is left as it was found.
+     *
+     * @param game - (TicTacTix) The game to pick a move for.
+     *
+     * @return int - The flat index of the picked cell.
+     *
+     */
+    public int selectMove(TicTacTix game) {
+
+        // Create and initialize variables/objects required.
+        long start = System.nanoTime();
+        int moveCount = game.getFreeCellCount();
+        int[] moves = new int[moveCount];
+        int[] scores = new int[moveCount];
+        boolean[] isExact = new boolean[moveCount];
+        for (int index = 0; index < moveCount; index++) {
+            moves[index] = game.getFreeCell(index);
+        }
+
+        // Try the best move of the transposition table first.
+        if (table != null) {
+            table.newSearch();
+        }
+        NegamaxStrategy.moveToFront(moves, moveCount, leader.getTableMove(game));
+
+        // Search the first move alone, with the full window, for a score to beat.
+        long leaderNodes = leader.getNodesSearched();
+        scores[0] = leader.searchMove(game, moves[0], maxDepth, -NegamaxStrategy.INFINITY, NegamaxStrategy.INFINITY);
+        isExact[0] = true;
+        LongAdder searched = new LongAdder();
+        searched.add(leader.getNodesSearched() - leaderNodes + 1);
+
+        // Split the other moves across the pool.
+        if (moveCount > 1) {
+            AtomicInteger alpha = new AtomicInteger(scores[0]);
+            pool.invoke(new RootSplit(game, moves, scores, isExact, 1, moveCount, alpha, searched));
+        }
+
+        // Pick the highest exact score, the first one if several are equal.
+        int best = 0;
+        for (int index = 1; index < moveCount; index++) {
+            if (isExact[index] && scores[index] > scores[best]) {
+                best = index;
+            }
+        }
+
+        // Record the work done and return the best move.
+        nodes = searched.sum();
+        elapsedNanos = System.nanoTime() - start;
+        return moves[best];
+    }
+
+    /**
+     *
+     * This class is a task that searches a range of root moves, splitting the range in half until a single move is
+     * left so idle threads can steal the other half.
+     *
+     */
+    private class RootSplit extends RecursiveAction {
+
+        // Declaration of instance variables
+        private static final long serialVersionUID = 1L;
+        private TicTacTix game;
+        private int[] moves;
+        private int[] scores;
+        private boolean[] isExact;
+        private int from;
+        private int to;
+        private AtomicInteger alpha;
+        private LongAdder searched;
+
+        /**
+         *
+         * Parameterized constructor of the RootSplit class.
+         *
+         * @param game - (TicTacTix) The game at the root, copied for every move searched and never changed.
+         * @param moves - (int[]) The moves of the root.
+         * @param scores - (int[]) The score of each move, filled in by the search.
+         * @param isExact - (boolean[]) Whether each score is exact rather than an upper bound.
+         * @param from - (int) The first move of the range.
+         * @param to - (int) One past the last move of the range.
+         * @param alpha - (AtomicInteger) The best exact score found so far.
+         * @param searched - (LongAdder) The count of nodes searched by every thread.
+         *
+         */
+        RootSplit(TicTacTix game, int[] moves, int[] scores, boolean[] isExact, int from, int to,
+                  AtomicInteger alpha, LongAdder searched) {
+            this.game = game;
+            this.moves = moves;
+            this.scores = scores;
+            this.isExact = isExact;
+            this.from = from;
+            this.to = to;
+            this.alpha = alpha;
+            this.searched = searched;
+        }
+
+        /**
+         *
+         * A method that searches the range, splitting it if it holds more than one move.
+         *
+         */
+        protected void compute() {
+
+            // Split the range in half.
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RootSplit(game, moves, scores, isExact, from, middle, alpha, searched),
+                          new RootSplit(game, moves, scores, isExact, middle, to, alpha, searched));
+                return;
+            }
+
+            // Search the single move on a private copy, only needing to know if it beats the best so far.
+            NegamaxStrategy worker = workers.get();
+            long workerNodes = worker.getNodesSearched();
+            int bound = alpha.get();
+            int score = worker.searchMove(new TicTacTix(game), moves[from], maxDepth, bound, NegamaxStrategy.INFINITY);
+            searched.add(worker.getNodesSearched() - workerNodes);
+
+            // A score above the bound is exact, raise the best so far.
+            scores[from] = score;
+            isExact[from] = score > bound;
+            alpha.accumulateAndGet(score, Math::max);
+        }
+    }
+
+    /**
+     *
+     * A method that stops the threads of the pool once the computer player is no longer needed.
+     *
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of threads searching at once.
+     *
+     * @return int - the parallelism of the pool.
+     *
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of nodes visited by the last search, across every thread.
+     *
+     * @return long - the number of nodes searched.
+     *
+     */
+    public long getNodesSearched() {
+        return nodes;
+    }
+
+    /**
+     *
+     * A accessor method that returns how fast the last search visited nodes, across every thread.
+     *
+     * @return long - the nodes searched per second.
+     *
+     */
+    public long getNodesPerSecond() {
+        return (elapsedNanos == 0) ? 0 : nodes * NANOS_PER_SECOND / elapsedNanos;
+    }
+
+    /**
+     *
+     * A accessor method that returns how long the last search took.
+     *
+     * @return long - the time taken by the last search in nanoseconds.
+     *
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,152 @@
+/**
+ *
+ * This class lets the computer think during the human player's turn (pondering). While the player decides on a move,
+ * a background thread searches the position after each of the player's possible replies, the most likely one first,
+ * storing what it finds in the transposition table of the computer player. Once the player has moved, the computer's
+ * own search finds much of its work already done in the table. All the slices of one pondering search within one
+ * generation of the table, so they do not free the entries of one another for replacement.
+ *
+ * Pondering works on a private copy of the game, so it never changes the game board of the main thread. It is
+ * cancelled as soon as the player has moved. Only complete results are stored: the subtrees a cancelled slice
+ * finished searching stay in the table, while the subtree it was cut off in stores nothing. Each reply is searched
+ * for a short slice of time, doubling with every pass over the replies.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see NegamaxStrategy
+ *
+ */
+public class Ponderer {
+
+    // Declaration of instance variables
+    private NegamaxStrategy searcher;
+    private Thread thread;
+    private volatile boolean isRunning;
+    private volatile long positionsPondered;
+
+    // Declaration of static variables.
+    private final static long SLICE_MILLIS = 10;
+    private final static int MAX_PASSES = 10;
+
+
+    /**
+     *
+     * Parameterized constructor of the Ponderer class. Pondering searches with its own NegamaxStrategy, sharing the
+     * transposition table of the computer player and keyed and scored the same way.
+     *
+     * @param strategy - (NegamaxStrategy) The computer player to ponder for. It must have a transposition table.
+     *
+     */
+    public Ponderer(NegamaxStrategy strategy) {
+
+        // Initialize the instance variables
+        searcher = new NegamaxStrategy(strategy.getMaxDepth(), strategy.getTranspositionTable());
+        searcher.setCanonical(strategy.isCanonical());
+        searcher.setLineWeights(strategy.getLineWeights());
+        searcher.setEvaluation(strategy.isEvaluating());
+    }
+
+    /**
+     *
+     * A method that starts pondering the position of a game in the background, stopping any earlier pondering first.
+     * The game is copied before this method returns, so it may be changed freely afterwards.
+     *
+     * @param game - (TicTacTix) The game, with the human player to move.
+     *
+     */
+    public void start(TicTacTix game) {
+
+        // Stop the last pondering, then ponder a copy of the game.
+        stop();
+        TicTacTix copy = new TicTacTix(game);
+        isRunning = true;
+        searcher.setCancelled(false);
+        thread = new Thread(() -> ponder(copy), "Ponderer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     *
+     * A method that cancels pondering and waits for the background thread to finish, so the transposition table is
+     * no longer being written once it returns.
+     *
+     */
+    public void stop() {
+
+        // Nothing to stop.
+        if (thread == null) {
+            return;
+        }
+
+        // Cancel the running search and wait for the thread.
+        isRunning = false;
+        searcher.setCancelled(true);
+        try {
+            thread.join();
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    /**
+     *
+     * A helper method that ponders until cancelled or every pass is done: first searching the player's move to find
+     * the most likely reply, then searching the position after every reply, a longer slice each pass.
+     *
+     * @param game - (TicTacTix) The private copy of the game, with the human player to move.
+     *
+     */
+    private void ponder(TicTacTix game) {
+
+        // Start one generation of the table for the whole pondering.
+        searcher.getTranspositionTable().newSearch();
+
+        // Find the player's most likely reply, and list it first.
+        int[] replies = new int[game.getFreeCellCount()];
+        for (int index = 0; index < replies.length; index++) {
+            replies[index] = game.getFreeCell(index);
+        }
+        searcher.setTimeBudget(SLICE_MILLIS);
+        NegamaxStrategy.moveToFront(replies, replies.length, searcher.selectMove(game, false));
+
+        // Search the computer's move after every reply, a longer slice each pass.
+        for (int pass = 0; pass < MAX_PASSES && isRunning; pass++) {
+            searcher.setTimeBudget(SLICE_MILLIS << pass);
+            for (int index = 0; index < replies.length && isRunning; index++) {
+                game.moveCell(replies[index]);
+                if (!game.hasWon() && game.getFreeCellCount() > 0) {
+                    searcher.selectMove(game, false);
+                    positionsPondered++;
+                }
+                game.undoMove(replies[index]);
+            }
+        }
+    }
+
+    /**
+     *
+     * A accessor method that determines if pondering is running in the background.
+     *
+     * @return boolean - whether the background thread is still searching.
+     *
+     */
+    public boolean isPondering() {
+        return thread != null && thread.isAlive();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of positions searched by pondering so far, counting a position again
+     * on every pass.
+     *
+     * @return long - the number of positions pondered.
+     *
+     */
+    public long getPositionsPondered() {
+        return positionsPondered;
+    }
+}
@@ -0,0 +1,378 @@
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Supplier;
+
+/**
+ *
+ * This class plays many games of TicTacTix between two computer strategies, without a console, to generate games
+ * in bulk and compare strategies. The strategies hold the checkers of player 1 and player 2 for every game, player 1
+ * moving first in even games and second in odd ones, so neither gets the first move more often.
+ *
+ * The games are split between the threads of a ForkJoinPool in ranges, which idle threads steal from busy ones. Each
+ * thread has a worker of its own: one game board, started over with reset(boolean isFirst) for every game, a
+ * strategy for each player and its own counts of the results, so the threads share nothing while playing. The
+ * counts of every worker are added up once the games are over. A simulation is run on its own with:
+ *
+ *     java SelfPlaySimulator 100000 3 negamax:2 random
+ *
+ * The arguments are the number of games, the dimensions, the strategy of each player (random, negamax:depth or
+ * mcts:playouts), optionally the number of threads, every core by default, and optionally full3d for the full 3D
+ * rule mode, which only changes the game on even dimensions.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see MoveStrategy
+ * @see TicTacTix#reset(boolean isFirst)
+ *
+ */
+public class SelfPlaySimulator {
+
+    // Declaration of instance variables
+    private int dimensions;
+    private boolean isFull3D;
+    private Supplier<MoveStrategy> playerOneStrategies;
+    private Supplier<MoveStrategy> playerTwoStrategies;
+    private ForkJoinPool pool;
+    private ThreadLocal<Worker> workers;
+    private Queue<Worker> allWorkers;
+    // The results of the last simulation: the number of games by outcome (tie, player 1 or 2 wins) and moves played.
+    private long[][] lengthCounts;
+    private int gamesPlayed;
+    private long elapsedNanos;
+
+    // Declaration of static variables.
+    private final static int TIE = 0;
+    private final static int PLAYER_ONE = 1;
+    private final static int PLAYER_TWO = 2;
+    // The fewest games of a range played by one thread without splitting it further.
+    private final static int GAMES_PER_TASK = 16;
+    private final static long NANOS_PER_SECOND = 1000000000L;
+
+
+    /**
+     *
+     * Parameterized constructor of the SelfPlaySimulator class. Nothing is played until play(int games).
+     *
+     * @param dimensions - (int) The dimensions of the game boards.
+     * @param isFull3D - (boolean) Determines if the space diagonals of the cube are winning lines.
+     * @param playerOneStrategies - (Supplier) Creates the strategy of player 1, once per thread.
+     * @param playerTwoStrategies - (Supplier) Creates the strategy of player 2, once per thread.
+     * @param parallelism - (int) The number of threads playing at once.
+     *
+     */
+    public SelfPlaySimulator(int dimensions, boolean isFull3D, Supplier<MoveStrategy> playerOneStrategies,
+                             Supplier<MoveStrategy> playerTwoStrategies, int parallelism) {
+
+        // Initialize the instance variables
+        this.dimensions = dimensions;
+        this.isFull3D = isFull3D;
+        this.playerOneStrategies = playerOneStrategies;
+        this.playerTwoStrategies = playerTwoStrategies;
+        pool = new ForkJoinPool(Math.max(1, parallelism));
+        allWorkers = new ConcurrentLinkedQueue<Worker>();
+        lengthCounts = new long[PLAYER_TWO+1][dimensions*dimensions*dimensions];
+    }
+
+    /*
+     * This is the main method that runs a simulation from the command line and prints its report.
+     */
+    public static void main(String[] args) {
+
+        // Read the arguments, the rule mode last if given.
+        boolean isFull3D = args.length > 4 && args[args.length-1].equalsIgnoreCase("full3d");
+        int argumentCount = isFull3D ? args.length-1 : args.length;
+        if (argumentCount < 4) {
+            System.out.println("Usage: java SelfPlaySimulator games dimensions strategy strategy [threads] [full3d]");
+            System.out.println("A strategy is random, negamax:depth or mcts:playouts.");
+            return;
+        }
+        int games = Integer.parseInt(args[0]);
+        int dimensions = Integer.parseInt(args[1]);
+        int threads = (argumentCount > 4) ? Integer.parseInt(args[4]) : Runtime.getRuntime().availableProcessors();
+        if (isFull3D && dimensions % 2 == 1) {
+            System.out.println("Note: every space diagonal of an odd cube runs through the reserved middle cell, so "
+                               + "the full 3D rules change nothing.");
+        }
+
+        // Play, then report.
+        SelfPlaySimulator simulator = new SelfPlaySimulator(dimensions, isFull3D, parseStrategy(args[2]),
+                                                            parseStrategy(args[3]), threads);
+        simulator.play(games);
+        System.out.println(simulator.getReport(args[2], args[3]));
+    }
+
+    /**
+     *
+     * A method that reads the name of a strategy: random, negamax:depth or mcts:playouts.
+     *
+     * @param name - (String) The name of the strategy.
+     *
+     * @return Supplier - creates the strategy, a new one each time.
+     *
+     * @throws IllegalArgumentException - if the name is not one of a strategy.
+     *
+     */
+    public static Supplier<MoveStrategy> parseStrategy(String name) {
+
+        // Split the name from its setting.
+        String[] parts = name.toLowerCase().split(":");
+        int setting = (parts.length > 1) ? Integer.parseInt(parts[1]) : 0;
+
+        if (parts[0].equals("random")) {
+            return () -> {
+                SplittableRandom generator = new SplittableRandom();
+                return game -> game.getFreeCell(generator.nextInt(game.getFreeCellCount()));
+            };
+        }
+        if (parts[0].equals("negamax") && setting > 0) {
+            return () -> new NegamaxStrategy(setting);
+        }
+        if (parts[0].equals("mcts") && setting > 0) {
+            return () -> {
+                MonteCarloStrategy strategy = new MonteCarloStrategy(1);
+                strategy.setPlayoutBudget(setting);
+                return strategy;
+            };
+        }
+        throw new IllegalArgumentException("Unknown strategy " + name);
+    }
+
+    /**
+     *
+     * A method that plays a number of games across the pool, replacing the results of the last simulation.
+     *
+     * @param games - (int) The number of games to play.
+     *
+     */
+    public void play(int games) {
+
+        // Give every thread a new worker, so no counts are left from the last simulation.
+        long start = System.nanoTime();
+        workers = ThreadLocal.withInitial(this::newWorker);
+        allWorkers.clear();
+
+        // Play every game.
+        pool.invoke(new GameRange(0, games));
+        elapsedNanos = System.nanoTime() - start;
+
+        // Add up the counts of every worker.
+        gamesPlayed = games;
+        for (long[] counts : lengthCounts) {
+            Arrays.fill(counts, 0);
+        }
+        for (Worker worker : allWorkers) {
+            for (int outcome = TIE; outcome <= PLAYER_TWO; outcome++) {
+                for (int moves = 0; moves < lengthCounts[outcome].length; moves++) {
+                    lengthCounts[outcome][moves] += worker.lengthCounts[outcome][moves];
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that creates the worker of a thread, keeping it so its counts can be added up.
+     *
+     * @return Worker - the new worker.
+     *
+     */
+    private Worker newWorker() {
+        Worker worker = new Worker();
+        allWorkers.add(worker);
+        return worker;
+    }
+
+    /**
+     *
+     * A method that describes the results of the last simulation: the games per second, how often each player won
+     * and, for each outcome, how many games took each number of moves.
+     *
+     * @param playerOneName - (String) The name of the strategy of player 1.
+     * @param playerTwoName - (String) The name of the strategy of player 2.
+     *
+     * @return String - the report, one fact per line.
+     *
+     */
+    public String getReport(String playerOneName, String playerTwoName) {
+
+        // Create and initialize variables/objects required.
+        StringBuilder report = new StringBuilder();
+        double games = Math.max(1, gamesPlayed);
+
+        // The totals.
+        report.append(String.format("%d games of %dx%dx%d%s on %d threads in %d ms, %.0f games/s%n", gamesPlayed,
+                                    dimensions, dimensions, dimensions, isFull3D ? " (full 3D)" : "",
+                                    pool.getParallelism(), elapsedNanos / 1000000, getGamesPerSecond()));
+        report.append(String.format("player 1 (%s) wins\t%.2f%%%n", playerOneName,
+                                    100 * getGameCount(PLAYER_ONE) / games));
+        report.append(String.format("player 2 (%s) wins\t%.2f%%%n", playerTwoName,
+                                    100 * getGameCount(PLAYER_TWO) / games));
+        report.append(String.format("ties\t\t\t%.2f%%%n", 100 * getGameCount(TIE) / games));
+
+        // The games by number of moves, only the numbers some game took.
+        report.append(String.format("%nmoves\tplayer 1\tplayer 2\ttie%n"));
+        for (int moves = 0; moves < lengthCounts[TIE].length; moves++) {
+            if (lengthCounts[PLAYER_ONE][moves] + lengthCounts[PLAYER_TWO][moves] + lengthCounts[TIE][moves] > 0) {
+                report.append(String.format("%d\t%d\t\t%d\t\t%d%n", moves, lengthCounts[PLAYER_ONE][moves],
+                                            lengthCounts[PLAYER_TWO][moves], lengthCounts[TIE][moves]));
+            }
+        }
+        return report.toString();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of games of the last simulation with the given outcome.
+     *
+     * @param outcome - (int) 1 or 2 for the games won by that player, 0 for ties.
+     *
+     * @return long - the number of games.
+     *
+     */
+    public long getGameCount(int outcome) {
+        long count = 0;
+        for (long games : lengthCounts[outcome]) {
+            count += games;
+        }
+        return count;
+    }
+
+    /**
+     *
+     * A accessor method that returns how many games of the last simulation with the given outcome took each number
+     * of moves.
+     *
+     * @param outcome - (int) 1 or 2 for the games won by that player, 0 for ties.
+     *
+     * @return long[] - the number of games by number of moves made, a copy.
+     *
+     */
+    public long[] getLengthCounts(int outcome) {
+        return lengthCounts[outcome].clone();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of games played in the last simulation.
+     *
+     * @return int - the number of games.
+     *
+     */
+    public int getGamesPlayed() {
+        return gamesPlayed;
+    }
+
+    /**
+     *
+     * A accessor method that returns how long the last simulation took.
+     *
+     * @return long - the time taken in nanoseconds.
+     *
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of games played per second in the last simulation.
+     *
+     * @return double - the games per second.
+     *
+     */
+    public double getGamesPerSecond() {
+        return gamesPlayed * (double) NANOS_PER_SECOND / Math.max(1, elapsedNanos);
+    }
+
+    /**
+     *
+     * This class is a range of games to play, split in halves for other threads to steal until small enough to
+     * play in one go.
+     *
+     */
+    private class GameRange extends RecursiveAction {
+
+        // Declaration of instance variables
+        private static final long serialVersionUID = 1L;
+        private int from;
+        private int to;
+
+        /**
+         *
+         * Parameterized constructor of the GameRange class.
+         *
+         * @param from - (int) The number of the first game.
+         * @param to - (int) The number after the last game.
+         *
+         */
+        GameRange(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         *
+         * A method that plays the range on this thread, or splits it in two.
+         *
+         */
+        protected void compute() {
+            if (to - from <= GAMES_PER_TASK) {
+                Worker worker = workers.get();
+                for (int game = from; game < to; game++) {
+                    worker.play(game % 2 == 0);
+                }
+            }
+            else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new GameRange(from, middle), new GameRange(middle, to));
+            }
+        }
+    }
+
+    /**
+     *
+     * This class is a thread's share of the simulation. It owns a game board reused for every game, a strategy for
+     * each player and the counts of its results.
+     *
+     */
+    private class Worker {
+
+        // Declaration of instance variables
+        private TicTacTix game;
+        private MoveStrategy[] strategies;
+        private long[][] lengthCounts;
+
+        /**
+         *
+         * Default constructor of the Worker class.
+         *
+         */
+        Worker() {
+            game = new TicTacTix(dimensions, true, isFull3D);
+            strategies = new MoveStrategy[] {null, playerOneStrategies.get(), playerTwoStrategies.get()};
+            lengthCounts = new long[PLAYER_TWO+1][dimensions*dimensions*dimensions];
+        }
+
+        /**
+         *
+         * A method that plays one game to the end on the reused game board and counts its result.
+         *
+         * @param isPlayerOneFirst - (boolean) Determines if player 1 moves first.
+         *
+         */
+        void play(boolean isPlayerOneFirst) {
+            game.reset(isPlayerOneFirst);
+            int moves = 0;
+            while (!game.isGameOver()) {
+                game.moveCell(strategies[game.getCurrentPlayer()].selectMove(game));
+                moves++;
+            }
+            lengthCounts[game.getWinner()][moves]++;
+        }
+    }
+}
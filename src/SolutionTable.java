@@ -0,0 +1,250 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ *
+ * This class is a computer player that plays perfectly by looking its moves up in a solution table, a file written
+ * offline by SolutionTableBuilder. The file is memory mapped, so the table is never copied onto the heap and is ready
+ * as soon as it is opened. Positions that are not in the table are passed on to a fallback computer player.
+ *
+ * The file starts with a header of magic number, version, dimensions, whether the winning lines are full 3D, and the
+ * number of entries. The entries follow, one long each, sorted by the canonical key of their position. Each entry
+ * packs the canonical key (the low 54 bits), the best move in the canonical form (the next 5 bits) and the value of
+ * the position for the player to move (the next 2 bits). Since canonical keys are exact, only game boards of up to
+ * 3 by 3 by 3 can be solved.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see SolutionTableBuilder
+ * @see Symmetry#getCanonicalKey(TicTacTix game)
+ *
+ */
+public class SolutionTable implements MoveStrategy {
+
+    // Declaration of instance variables
+    private MappedByteBuffer buffer;
+    private int dimensions;
+    private boolean isFull3D;
+    private long entryCount;
+    private Symmetry symmetry;
+    private MoveStrategy fallback;
+
+    // Declaration of static variables.
+    public final static int UNKNOWN = 0;
+    public final static int WIN = 1;
+    public final static int LOSS = 2;
+    public final static int TIE = 3;
+    final static int MAGIC = 0x54545853;
+    final static int VERSION = 1;
+    final static int HEADER_BYTES = 24;
+    final static int ENTRY_BYTES = 8;
+    final static int MAX_CELLS = 27;
+    private final static int KEY_BITS = 54;
+    private final static long KEY_MASK = (1L << KEY_BITS) - 1;
+    private final static int MOVE_SHIFT = KEY_BITS;
+    private final static int MOVE_MASK = 0x1F;
+    private final static int VALUE_SHIFT = 59;
+    private final static int VALUE_MASK = 0x3;
+
+
+    /**
+     *
+     * Parameterized constructor of the SolutionTable class. Maps the file into memory and checks its header.
+     *
+     * @param file - (File) The solution table written by SolutionTableBuilder.
+     * @param fallback - (MoveStrategy) The computer player for positions not in the table.
+     *
+     * @throws IOException - if the file cannot be read or is not a solution table.
+     *
+     */
+    public SolutionTable(File file, MoveStrategy fallback) throws IOException {
+
+        // Map the whole file read only. The mapping stays valid once the channel is closed.
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        // Read and check the header.
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException(file + " is not a solution table");
+        }
+        dimensions = buffer.getInt(8);
+        isFull3D = buffer.getInt(12) != 0;
+        entryCount = buffer.getLong(16);
+        if (buffer.capacity() < HEADER_BYTES + entryCount * ENTRY_BYTES) {
+            throw new IOException(file + " is truncated");
+        }
+
+        // Initialize the instance variables
+        symmetry = Symmetry.getInstance(dimensions);
+        this.fallback = fallback;
+    }
+
+    /**
+     *
+     * A method that picks the move for the player whose turn it is, the best move of the table if the position is
+     * in it, otherwise the move of the fallback computer player.
+     *
+     * @param game - (TicTacTix) The game to pick a move for.
+     *
+     * @return int - The flat index of the picked cell.
+     *
+     */
+    public int selectMove(TicTacTix game) {
+
+        // Look the position up, mapping the move back from the canonical form.
+        if (isSameGame(game)) {
+            int symmetryIndex = symmetry.getCanonicalSymmetry(game);
+            long entry = find(symmetry.getKey(game, symmetryIndex));
+            if (entry != -1) {
+                return symmetry.unmapCell(symmetryIndex, getMove(entry));
+            }
+        }
+        return fallback.selectMove(game);
+    }
+
+    /**
+     *
+     * A method that returns the value of the position with perfect play, for the player whose turn it is.
+     *
+     * @param game - (TicTacTix) The game holding the position.
+     *
+     * @return int - WIN, LOSS or TIE, or UNKNOWN if the position is not in the table.
+     *
+     */
+    public int getValue(TicTacTix game) {
+
+        // Look the position up.
+        if (!isSameGame(game)) {
+            return UNKNOWN;
+        }
+        long entry = find(symmetry.getCanonicalKey(game));
+        return (entry != -1) ? getValue(entry) : UNKNOWN;
+    }
+
+    /**
+     *
+     * A helper method that determines if a game is played on the game board the table was solved for.
+     *
+     * @param game - (TicTacTix) The game to check.
+     *
+     * @return boolean - whether the dimensions and winning lines match.
+     *
+     */
+    private boolean isSameGame(TicTacTix game) {
+        return game.getDimensions() == dimensions && game.isFull3D() == isFull3D;
+    }
+
+    /**
+     *
+     * A helper method that finds the entry of a canonical key by binary search over the mapped entries.
+     *
+     * @param key - (long) The canonical key of the position.
+     *
+     * @return long - The packed entry, or -1 if the position is not in the table.
+     *
+     */
+    private long find(long key) {
+
+        // Create and initialize variables required.
+        long low = 0;
+        long high = entryCount - 1;
+
+        // Halve the range until the key is found or the range is empty.
+        while (low <= high) {
+            long middle = (low + high) >>> 1;
+            long entry = buffer.getLong((int) (HEADER_BYTES + middle * ENTRY_BYTES));
+            long middleKey = entry & KEY_MASK;
+            if (middleKey < key) {
+                low = middle + 1;
+            }
+            else if (middleKey > key) {
+                high = middle - 1;
+            }
+            else {
+                return entry;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     *
+     * A method that packs the canonical key, best move and value of a position into an entry.
+     *
+     * @param key - (long) The canonical key of the position.
+     * @param move - (int) The flat index of the best move in the canonical form.
+     * @param value - (int) WIN, LOSS or TIE for the player to move.
+     *
+     * @return long - The packed entry.
+     *
+     */
+    static long pack(long key, int move, int value) {
+        return (key & KEY_MASK) | ((long) (move & MOVE_MASK) << MOVE_SHIFT) | ((long) value << VALUE_SHIFT);
+    }
+
+    /**
+     *
+     * A method that reads the canonical key of a packed entry.
+     *
+     * @param entry - (long) The packed entry.
+     *
+     * @return long - The canonical key of the position.
+     *
+     */
+    static long getKey(long entry) {
+        return entry & KEY_MASK;
+    }
+
+    /**
+     *
+     * A method that reads the best move of a packed entry.
+     *
+     * @param entry - (long) The packed entry.
+     *
+     * @return int - The flat index of the best move in the canonical form.
+     *
+     */
+    static int getMove(long entry) {
+        return (int) (entry >>> MOVE_SHIFT) & MOVE_MASK;
+    }
+
+    /**
+     *
+     * A method that reads the value of a packed entry.
+     *
+     * @param entry - (long) The packed entry.
+     *
+     * @return int - WIN, LOSS or TIE for the player to move.
+     *
+     */
+    static int getValue(long entry) {
+        return (int) (entry >>> VALUE_SHIFT) & VALUE_MASK;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of positions in the table.
+     *
+     * @return long - the number of entries.
+     *
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     *
+     * A accessor method that returns the dimensions of the game board the table was solved for.
+     *
+     * @return int - the dimensions.
+     *
+     */
+    public int getDimensions() {
+        return dimensions;
+    }
+}
@@ -0,0 +1,216 @@
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.Arrays;
+
+/**
+ *
+ * This class is the offline solver that writes the solution table of a small game board for SolutionTable. Every
+ * position the computer can face is solved exactly, whether it moves first or second, on the assumption that it
+ * always plays the best move while the other player may play anything. Each position is solved by a full depth
+ * negamax search that deepens one move at a time, stopping at the fastest forced win or loss, with a canonical
+ * transposition table shared between positions.
+ *
+ * The positions reached by the computer's own inferior moves are left out, which keeps the table to the ones that
+ * can actually come up in a game. A game board is solved with:
+ *
+ *     java SolutionTableBuilder TicTacTix3x3x3.solution 3
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see SolutionTable
+ *
+ */
+public class SolutionTableBuilder {
+
+    // Declaration of instance variables
+    private Symmetry symmetry;
+    private NegamaxStrategy solver;
+    private Map<Long, Long> entries;
+
+    // Declaration of static variables.
+    private final static long TABLE_BYTES = 256L << 20;
+
+
+    /**
+     *
+     * Parameterized constructor of the SolutionTableBuilder class.
+     *
+     * @param dimensions - (int) The dimensions of the game board to solve.
+     *
+     */
+    public SolutionTableBuilder(int dimensions) {
+
+        // Initialize the instance variables
+        int cells = dimensions * dimensions * dimensions;
+        symmetry = Symmetry.getInstance(dimensions);
+        solver = new NegamaxStrategy(cells, new TranspositionTable(TABLE_BYTES,
+                                                                   TranspositionTable.REPLACE_DEPTH_PREFERRED));
+        solver.setCanonical(true);
+        solver.setIterativeDeepening(true);
+        entries = new HashMap<Long, Long>();
+    }
+
+    /*
+     * This is the main method that solves the game board and writes the solution table.
+     */
+    public static void main(String[] args) throws IOException {
+
+        // Read the arguments.
+        File file = new File((args.length > 0) ? args[0] : "TicTacTix3x3x3.solution");
+        int dimensions = (args.length > 1) ? Integer.parseInt(args[1]) : 3;
+        if (dimensions * dimensions * dimensions > SolutionTable.MAX_CELLS) {
+            throw new IllegalArgumentException("Only game boards of up to " + SolutionTable.MAX_CELLS
+                                               + " cells can be solved");
+        }
+
+        // Solve, then write the table.
+        long start = System.nanoTime();
+        SolutionTableBuilder builder = new SolutionTableBuilder(dimensions);
+        builder.solveComputerFirst(new TicTacTix(dimensions, false));
+        builder.solveComputerSecond(new TicTacTix(dimensions, true));
+        builder.write(file, dimensions);
+
+        System.out.println("Solved " + builder.entries.size() + " positions in "
+                           + (System.nanoTime() - start) / 1000000 + " ms, wrote " + file.length() + " bytes to "
+                           + file);
+    }
+
+    /**
+     *
+     * A method that solves every position the computer can face after moving first.
+     *
+     * @param game - (TicTacTix) An empty game with the computer to move.
+     *
+     */
+    public void solveComputerFirst(TicTacTix game) {
+        solve(game);
+    }
+
+    /**
+     *
+     * A method that solves every position the computer can face after moving second, so after every first move.
+     *
+     * @param game - (TicTacTix) An empty game with the other player to move.
+     *
+     */
+    public void solveComputerSecond(TicTacTix game) {
+        solveReplies(game);
+    }
+
+    /**
+     *
+     * A helper method that solves a position with the computer to move, then every position reached by its best move
+     * and any reply. Positions already solved, in any rotation or reflection, are skipped.
+     *
+     * @param game - (TicTacTix) The game holding the position, restored before returning.
+     *
+     */
+    private void solve(TicTacTix game) {
+
+        // Stop at the end of the game or at a position already solved.
+        if (isOver(game)) {
+            return;
+        }
+        int symmetryIndex = symmetry.getCanonicalSymmetry(game);
+        long key = symmetry.getKey(game, symmetryIndex);
+        if (entries.containsKey(key)) {
+            return;
+        }
+
+        // Solve the position and record its best move in the canonical form.
+        int move = solver.selectMove(game);
+        int score = solver.getBestScore();
+        int value = SolutionTable.TIE;
+        if (score > NegamaxStrategy.WIN_THRESHOLD) {
+            value = SolutionTable.WIN;
+        }
+        else if (score < -NegamaxStrategy.WIN_THRESHOLD) {
+            value = SolutionTable.LOSS;
+        }
+        entries.put(key, SolutionTable.pack(key, symmetry.mapCell(symmetryIndex, move), value));
+
+        // Play the best move, then follow every reply.
+        game.moveCell(move);
+        solveReplies(game);
+        game.undoMove(move);
+    }
+
+    /**
+     *
+     * A helper method that solves the position after every move of the other player.
+     *
+     * @param game - (TicTacTix) The game holding the position, restored before returning.
+     *
+     */
+    private void solveReplies(TicTacTix game) {
+
+        // Stop at the end of the game.
+        if (isOver(game)) {
+            return;
+        }
+
+        // Follow every reply, working on a copy of the empty cells since moves reorder them.
+        int[] replies = new int[game.getFreeCellCount()];
+        for (int index = 0; index < replies.length; index++) {
+            replies[index] = game.getFreeCell(index);
+        }
+        for (int reply : replies) {
+            game.moveCell(reply);
+            solve(game);
+            game.undoMove(reply);
+        }
+    }
+
+    /**
+     *
+     * A helper method that writes the solved positions to a file, sorted by canonical key.
+     *
+     * @param file - (File) The file to write.
+     * @param dimensions - (int) The dimensions of the game board solved.
+     *
+     * @throws IOException - if the file cannot be written.
+     *
+     */
+    public void write(File file, int dimensions) throws IOException {
+
+        // Sort the keys, so the entries can be written in order.
+        long[] keys = new long[entries.size()];
+        int count = 0;
+        for (long key : entries.keySet()) {
+            keys[count++] = key;
+        }
+        Arrays.sort(keys);
+
+        // Write the header, then the entries.
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            output.writeInt(SolutionTable.MAGIC);
+            output.writeInt(SolutionTable.VERSION);
+            output.writeInt(dimensions);
+            // Always solved with the winning lines of the planes, not full 3D.
+            output.writeInt(0);
+            output.writeLong(count);
+            for (long key : keys) {
+                output.writeLong(entries.get(key));
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that determines if the game has ended.
+     *
+     * @param game - (TicTacTix) The game to check.
+     *
+     * @return boolean - whether someone has won or the game board is full.
+     *
+     */
+    private static boolean isOver(TicTacTix game) {
+        return game.hasWon() || game.getFreeCellCount() == 0;
+    }
+}
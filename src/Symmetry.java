@@ -0,0 +1,285 @@
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ *
+ * This class provides the symmetries of a TicTacTix game board, used to map a position to one canonical form shared
+ * by every rotation and reflection of it. A cube has 48 symmetries (6 ways to order the axes times 8 ways to flip
+ * them). Each one that leaves the reserved cell in place is precomputed as a permutation of the cells. For odd
+ * dimensions the reserved cell is the centre of the cube, so all 48 are kept. For even dimensions it is off centre,
+ * so only the 6 axis orderings are kept.
+ *
+ * The key of a position under a symmetry is the position itself when it fits in one long (up to 3 by 3 by 3), with
+ * the checkers of the player to move in the low maxCells bits and those of the opponent above them. Larger game
+ * boards use the Zobrist hash of the transformed position instead, taken from TicTacTix.getSymmetryHash(int index).
+ * The canonical key is the smallest key over every symmetry, compared unsigned, and the symmetry giving it maps
+ * moves to and from the canonical form.
+ *
+ * The canonical hash of TicTacTix, used by the transposition table, is the same canonical form on game boards larger
+ * than 3 by 3 by 3, and is found through it. Up to 3 by 3 by 3 the exact keys are kept apart from it, since the
+ * solution table and the opening book store their keys in files and must tell every position apart, which a hash
+ * cannot promise.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see TicTacTix#getCanonicalHash()
+ *
+ */
+public final class Symmetry {
+
+    // Declaration of instance variables
+    private final int dimensions;
+    private final int maxCells;
+    private final int[][] permutations;
+    private final int[][] inverses;
+
+    // Declaration of static variables.
+    private final static int AXES = 3;
+    private final static int[][] AXIS_ORDERS = {{0, 1, 2}, {0, 2, 1}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {2, 1, 0}};
+    private final static ConcurrentMap<Integer, Symmetry> CACHE = new ConcurrentHashMap<Integer, Symmetry>();
+
+
+    /**
+     *
+     * Private constructor of the Symmetry class. Builds the cell permutations for the given dimensions. Use
+     * getInstance(int dimensions) to get the shared copy.
+     *
+     * @param dimensions - (int) The dimensions of the even grid.
+     *
+     */
+    private Symmetry(int dimensions) {
+
+        // Initialize the instance variables
+        this.dimensions = dimensions;
+        maxCells = dimensions * dimensions * dimensions;
+        permutations = buildPermutations();
+
+        // Build the inverse of every permutation.
+        inverses = new int[permutations.length][maxCells];
+        for (int symmetry = 0; symmetry < permutations.length; symmetry++) {
+            for (int cell = 0; cell < maxCells; cell++) {
+                inverses[symmetry][permutations[symmetry][cell]] = cell;
+            }
+        }
+    }
+
+    /**
+     *
+     * A method that returns the shared symmetries for the given dimensions, building them the first time they are
+     * asked for.
+     *
+     * @param dimensions - (int) The dimensions of the even grid.
+     *
+     * @return Symmetry - the shared symmetries for those dimensions.
+     *
+     */
+    public static Symmetry getInstance(int dimensions) {
+
+        // Look up the cached symmetries first, building them only if missing.
+        Symmetry symmetry = CACHE.get(dimensions);
+        if (symmetry == null) {
+            symmetry = CACHE.computeIfAbsent(dimensions, missing -> new Symmetry(dimensions));
+        }
+        return symmetry;
+    }
+
+    /**
+     *
+     * A helper method that builds the cell permutation of every symmetry of the cube that leaves the reserved cell
+     * in place. The first permutation is always the identity.
+     *
+     * @return int[][] - The permutations, indexed by symmetry then cell.
+     *
+     */
+    private int[][] buildPermutations() {
+
+        // Create and initialize variables/objects required.
+        List<int[]> permutationList = new ArrayList<int[]>();
+        int middle = dimensions/2;
+        int reserved = (middle*dimensions + middle)*dimensions + middle;
+        int[] coordinates = new int[AXES];
+        int[] mapped = new int[AXES];
+
+        // Go through every order of the axes and every combination of flipped axes.
+        for (int[] order : AXIS_ORDERS) {
+            for (int flips = 0; flips < (1 << AXES); flips++) {
+
+                // Map every cell: take the coordinates in the new order, flipping the chosen axes.
+                int[] permutation = new int[maxCells];
+                for (int cell = 0; cell < maxCells; cell++) {
+                    coordinates[0] = cell / (dimensions*dimensions);
+                    coordinates[1] = (cell / dimensions) % dimensions;
+                    coordinates[2] = cell % dimensions;
+                    for (int axis = 0; axis < AXES; axis++) {
+                        mapped[axis] = coordinates[order[axis]];
+                        if ((flips & (1 << axis)) != 0) {
+                            mapped[axis] = dimensions-1 - mapped[axis];
+                        }
+                    }
+                    permutation[cell] = (mapped[0]*dimensions + mapped[1])*dimensions + mapped[2];
+                }
+
+                // Keep the symmetry only if the reserved cell stays where it is.
+                if (permutation[reserved] == reserved) {
+                    permutationList.add(permutation);
+                }
+            }
+        }
+
+        // Return the permutations.
+        return permutationList.toArray(new int[permutationList.size()][]);
+    }
+
+    /**
+     *
+     * A method that returns the canonical key of a position, the smallest key of the position over every symmetry.
+     * Every rotation and reflection of a position has the same canonical key.
+     *
+     * @param game - (TicTacTix) The game holding the position.
+     *
+     * @return long - The canonical key of the position.
+     *
+     * @see getKey(TicTacTix game, int symmetry)
+     *
+     */
+    public long getCanonicalKey(TicTacTix game) {
+        return getKey(game, getCanonicalSymmetry(game));
+    }
+
+    /**
+     *
+     * A method that finds the symmetry mapping a position to its canonical form, the one giving the smallest key.
+     * If several symmetries give the same key, the first of them is returned. Hashed keys are left to the game, which
+     * may keep them up to date move by move.
+     *
+     * @param game - (TicTacTix) The game holding the position.
+     *
+     * @return int - The index of the symmetry.
+     *
+     */
+    public int getCanonicalSymmetry(TicTacTix game) {
+
+        // Hashed keys are the symmetry hashes of the game.
+        if (!isExact()) {
+            return game.getCanonicalSymmetry();
+        }
+
+        // Create and initialize variables required.
+        int best = 0;
+        long bestKey = getKey(game, 0);
+
+        // Keep the symmetry with the smallest key (compared unsigned, so every bit counts the same).
+        for (int symmetry = 1; symmetry < permutations.length; symmetry++) {
+            long key = getKey(game, symmetry);
+            if (Long.compareUnsigned(key, bestKey) < 0) {
+                best = symmetry;
+                bestKey = key;
+            }
+        }
+        return best;
+    }
+
+    /**
+     *
+     * A method that returns the key of a position after applying a symmetry. The key is the position itself if it
+     * fits in one long, otherwise it is the Zobrist hash of the transformed position.
+     *
+     * @param game - (TicTacTix) The game holding the position.
+     * @param symmetry - (int) The index of the symmetry.
+     *
+     * @return long - The key of the transformed position.
+     *
+     */
+    public long getKey(TicTacTix game, int symmetry) {
+
+        // Create and initialize variables required.
+        int[] permutation = permutations[symmetry];
+        int mover = game.getCurrentPlayer();
+        long key = 0;
+
+        // Exact key: the mover's checkers in the low bits and the opponent's above them.
+        if (isExact()) {
+            for (int cell = 0; cell < maxCells; cell++) {
+                int owner = game.getCell(cell);
+                if (owner == mover) {
+                    key |= 1L << permutation[cell];
+                }
+                else if (owner > 0) {
+                    key |= 1L << (maxCells + permutation[cell]);
+                }
+            }
+        }
+        // Hashed key: the Zobrist hash of the transformed position.
+        else {
+            key = game.getSymmetryHash(symmetry);
+        }
+        return key;
+    }
+
+    /**
+     *
+     * A method that determines if the keys of this game board are exact, holding the whole position rather than a
+     * hash of it. Keys are exact when both players' checkers fit in one long.
+     *
+     * @return boolean - whether the keys are exact.
+     *
+     */
+    public boolean isExact() {
+        return 2*maxCells < Long.SIZE;
+    }
+
+    /**
+     *
+     * A method that maps a cell through a symmetry, from the position to its transformed form.
+     *
+     * @param symmetry - (int) The index of the symmetry.
+     * @param cell - (int) The flat index of the cell.
+     *
+     * @return int - The flat index of the mapped cell.
+     *
+     */
+    public int mapCell(int symmetry, int cell) {
+        return permutations[symmetry][cell];
+    }
+
+    /**
+     *
+     * A method that maps a cell back through a symmetry, from the transformed form to the position.
+     *
+     * @param symmetry - (int) The index of the symmetry.
+     * @param cell - (int) The flat index of the mapped cell.
+     *
+     * @return int - The flat index of the cell.
+     *
+     */
+    public int unmapCell(int symmetry, int cell) {
+        return inverses[symmetry][cell];
+    }
+
+    /**
+     *
+     * A accessor method that returns the cell permutation of a symmetry.
+     *
+     * @param symmetry - (int) The index of the symmetry.
+     *
+     * @return int[] - the permutation, indexed by cell (shared, must not be modified).
+     *
+     */
+    public int[] getPermutation(int symmetry) {
+        return permutations[symmetry];
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of symmetries kept, 48 for odd dimensions and 6 for even ones.
+     *
+     * @return int - the number of symmetries.
+     *
+     */
+    public int getSymmetryCount() {
+        return permutations.length;
+    }
+}
@@ -1,5 +1,7 @@
 import java.util.Random;
 import java.util.Arrays;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  *
@@ -13,7 +15,8 @@ import java.util.Arrays;
 public class TicTacTix {
     
     // Declaration of instance variables
-    private int[][][] grids;
+    // The content of every cell in one array, by flat index (layer * dimensions^2 + row * dimensions + column).
+    private byte[] cells;
     private int filledCells;
     private int maxCells;
     private int dimensions;
@@ -21,38 +24,129 @@ public class TicTacTix {
     private final int MAX_LAYER;
     private final int MAX_ROW;
     private final int MAX_COLUMN;
+    // The number of cells in a layer, dimensions^2.
+    private final int LAYER_SIZE;
     // The player whose turn it is (1 or 2).
     private int currentPlayer;
+    // Shared table of the winning lines and, for every cell, the lines passing through it.
+    private WinningLines winningLines;
+    private int[][] cellLines;
+    // Number of cells each player holds in every winning line, indexed by player then line.
+    private int[][] lineCounts;
+    // Number of winning lines completely held by a player. Any completed line is a win.
+    private int completedLines;
+    // Dense list of the empty cells, and the position of each cell in that list (-1 if taken).
+    private int[] freeCells;
+    private int[] freeCellPositions;
+    private int freeCellCount;
+    private Random generator;
+    // Zobrist hash of the position, and the shared keys it is built from.
+    private long hash;
+    private long[][] zobristKeys;
+    // Zobrist hash of the position under every symmetry of the cube, only kept once tracking is turned on.
+    private Symmetry symmetry;
+    private long[] symmetryHashes;
+    // The lines through the reserved cell, which nobody can win.
+    private boolean[] isDeadLine;
+    // Weights of an open line by its number of checkers, and the weighted sum of each player's open lines. Only kept
+    // once weights are set.
+    private int[] lineWeights;
+    private int[] openLineScores;
+    // Draws the game board, shared by every game of the same dimensions.
+    private BoardRenderer renderer;
     
     // Declaration of static variables.
     private final static int TIE = 0;
     private final static int PLAYER = 1;
     private final static int COMPUTER = 2;
+    // Every heading the game can show, built once.
+    private final static String HEADING_START = "\t\t     ====TIC-TAC-TOE=====\n\n";
+    private final static String HEADING_PLAYER = "\t\t     ====PLAYER'S MOVE====\n\n";
+    private final static String HEADING_COMPUTER = "\t\t     ===COMPUTER'S MOVE===\n\n";
+    private final static String HEADING_PLAYER_WINS = "\t\t***GAME OVER: PLAYER WINS***\n\n";
+    private final static String HEADING_COMPUTER_WINS = "\t\t***GAME OVER: COMPUTER WINS***\n\n";
+    private final static String HEADING_TIE = "\t\t***GAME OVER: NO ONE WINS***\n\n";
     
     
     /**
      * 
      * Parameterized constructor of the TicTacTix class. Creates an appropriate game setup depending on dimensions 
-     * and the data on which player gets to go first.
+     * and the data on which player gets to go first. Only lines within a horizontal or vertical 2D grid are wins.
      *
      * @param dimensions - (int) The dimensions of the even grid. Layer, row, and column will be determined by this.
      * @param isFirst - (boolean) Determines if the user gets to go first in the game.
      *
-     * @see reserveMiddle()
+     * @see TicTacTix(int dimensions, boolean isFirst, boolean isFull3D)
      *
      */
     public TicTacTix(int dimensions, boolean isFirst) {
+        this(dimensions, isFirst, false);
+    }
+    
+    /**
+     * 
+     * Parameterized constructor of the TicTacTix class. Creates an appropriate game setup depending on dimensions,
+     * the data on which player gets to go first, and the rule mode. In the full 3D rule mode every line in the cube
+     * is a win, including the four space diagonals running corner to corner. This only changes the game on even
+     * dimensions, as on odd ones every space diagonal runs through the reserved middle cell.
+     *
+     * @param dimensions - (int) The dimensions of the even grid. Layer, row, and column will be determined by this.
+     * @param isFirst - (boolean) Determines if the user gets to go first in the game.
+     * @param isFull3D - (boolean) Determines if the space diagonals of the cube are winning lines.
+     *
+     * @see TicTacTix(int dimensions, boolean isFirst, boolean isFull3D, Random generator)
+     *
+     */
+    public TicTacTix(int dimensions, boolean isFirst, boolean isFull3D) {
+        this(dimensions, isFirst, isFull3D, new Random());
+    }
+    
+    /**
+     * 
+     * Parameterized constructor of the TicTacTix class. Creates an appropriate game setup depending on dimensions,
+     * the data on which player gets to go first, and the rule mode. The given random number generator is used for
+     * every computer move of the game, so a seeded generator replays the same game.
+     *
+     * @param dimensions - (int) The dimensions of the even grid. Layer, row, and column will be determined by this.
+     * @param isFirst - (boolean) Determines if the user gets to go first in the game.
+     * @param isFull3D - (boolean) Determines if the space diagonals of the cube are winning lines.
+     * @param generator - (Random) The random number generator used for computer moves.
+     *
+     * @see reserveMiddle()
+     * @see WinningLines
+     *
+     */
+    public TicTacTix(int dimensions, boolean isFirst, boolean isFull3D, Random generator) {
         
         // Initialize the instance variables
         this.dimensions = dimensions;
+        this.generator = generator;
         maxCells = dimensions * dimensions * dimensions;
         winner = -1;
         MAX_LAYER = dimensions;
         MAX_ROW = dimensions;
         MAX_COLUMN = dimensions;
+        LAYER_SIZE = MAX_ROW * MAX_COLUMN;
+        
+        // Create the n layer x n row x n col cells in one array... (dimension default is 3).
+        cells = new byte[maxCells];
+        
+        // Set up the winning lines and a counter of each player's cells in every line.
+        winningLines = WinningLines.getInstance(dimensions, isFull3D);
+        cellLines = winningLines.getCellLines();
+        isDeadLine = winningLines.getDeadLines();
+        renderer = BoardRenderer.getInstance(dimensions);
+        lineCounts = new int[COMPUTER+1][winningLines.getLineCount()];
+        completedLines = 0;
         
-        // Create the n layer x n row x n col grids of integers... (dimension default is 3).
-        grids = new int[MAX_LAYER][MAX_ROW][MAX_COLUMN];
+        // Every cell starts out empty.
+        freeCells = new int[maxCells];
+        freeCellPositions = new int[maxCells];
+        for (int cell = 0; cell < maxCells; cell++) {
+            freeCells[cell] = cell;
+            freeCellPositions[cell] = cell;
+        }
+        freeCellCount = maxCells;
         
         // Set up the reserved cell.
         reserveMiddle();
@@ -66,8 +160,106 @@ public class TicTacTix {
             currentPlayer = COMPUTER;
         }
         
+        // Hash the empty game board, which only depends on whose turn it is.
+        zobristKeys = ZobristKeys.getKeys(maxCells);
+        hash = (currentPlayer == COMPUTER) ? ZobristKeys.SIDE_KEY : 0;
     }
     
+    /**
+     * 
+     * Copy constructor of the TicTacTix class. Creates an independent copy of a game, so moves made on the copy do
+     * not change the original. This lets several threads each search their own copy of the same position. The 
+     * shared tables of winning lines, keys and symmetries, and the random number generator, are shared with the 
+     * original.
+     *
+     * @param other - (TicTacTix) The game to copy.
+     *
+     */
+    public TicTacTix(TicTacTix other) {
+        
+        // Copy the instance variables
+        dimensions = other.dimensions;
+        generator = other.generator;
+        maxCells = other.maxCells;
+        winner = other.winner;
+        MAX_LAYER = other.MAX_LAYER;
+        MAX_ROW = other.MAX_ROW;
+        MAX_COLUMN = other.MAX_COLUMN;
+        LAYER_SIZE = other.LAYER_SIZE;
+        filledCells = other.filledCells;
+        currentPlayer = other.currentPlayer;
+        
+        // Copy the cells.
+        cells = other.cells.clone();
+        
+        // Share the winning lines and copy the counters of each player.
+        winningLines = other.winningLines;
+        cellLines = other.cellLines;
+        renderer = other.renderer;
+        lineCounts = new int[COMPUTER+1][];
+        for (int player = 0; player <= COMPUTER; player++) {
+            lineCounts[player] = other.lineCounts[player].clone();
+        }
+        completedLines = other.completedLines;
+        
+        // Copy the empty cells.
+        freeCells = other.freeCells.clone();
+        freeCellPositions = other.freeCellPositions.clone();
+        freeCellCount = other.freeCellCount;
+        
+        // Copy the hashes.
+        zobristKeys = other.zobristKeys;
+        hash = other.hash;
+        symmetry = other.symmetry;
+        symmetryHashes = (other.symmetryHashes != null) ? other.symmetryHashes.clone() : null;
+        
+        // Copy the scores of the open lines.
+        isDeadLine = other.isDeadLine;
+        lineWeights = other.lineWeights;
+        openLineScores = (other.openLineScores != null) ? other.openLineScores.clone() : null;
+    }
+
+    /**
+     *
+     * A method that starts a new game on the same game board, as if it was just constructed with the same dimensions
+     * and rule mode. Every cell is emptied in place and the middle is reserved again, so a program playing many games
+     * can keep one game instead of creating one per game. Symmetry tracking and the weights of the open lines stay
+     * as they were set.
+     *
+     * @param isFirst - (boolean) Determines if the user gets to go first in the game.
+     *
+     * @see reserveMiddle()
+     *
+     */
+    public void reset(boolean isFirst) {
+
+        // Empty every cell and line.
+        Arrays.fill(cells, (byte) 0);
+        Arrays.fill(lineCounts[PLAYER], 0);
+        Arrays.fill(lineCounts[COMPUTER], 0);
+        completedLines = 0;
+        winner = -1;
+
+        // Every cell is empty again, then the reserved cell is taken.
+        for (int cell = 0; cell < maxCells; cell++) {
+            freeCells[cell] = cell;
+            freeCellPositions[cell] = cell;
+        }
+        freeCellCount = maxCells;
+        reserveMiddle();
+        filledCells = 1;
+        currentPlayer = isFirst ? PLAYER : COMPUTER;
+
+        // The hashes of the empty game board only depend on whose turn it is, and an empty line weighs nothing.
+        hash = (currentPlayer == COMPUTER) ? ZobristKeys.SIDE_KEY : 0;
+        if (symmetryHashes != null) {
+            Arrays.fill(symmetryHashes, hash);
+        }
+        if (openLineScores != null) {
+            Arrays.fill(openLineScores, 0);
+        }
+    }
+
     /**
      * 
      * A helper method that that determines the point of the grid to be reserved at the start of a TicTacTix game.
@@ -83,7 +275,31 @@ public class TicTacTix {
         int midColumn = MAX_COLUMN/2;
         
         // Reserve the appropriate coordinate.
-        grids[midLayer][midRow][midColumn] = -1;
+        int middle = midLayer*LAYER_SIZE + midRow*MAX_COLUMN + midColumn;
+        cells[middle] = -1;
+        takeFreeCell(middle);
+    }
+    
+    /**
+     * 
+     * A helper method that removes a cell from the list of empty cells. The last empty cell is swapped into its 
+     * place, so the list stays dense without shifting.
+     *
+     * @param cell - (int) The flat index of the cell being taken.
+     *
+     */
+    private void takeFreeCell(int cell) {
+        
+        // Move the last empty cell into the position of the taken cell.
+        int position = freeCellPositions[cell];
+        int lastCell = freeCells[freeCellCount-1];
+        freeCells[position] = lastCell;
+        freeCellPositions[lastCell] = position;
+        
+        // Drop the taken cell from the end of the list.
+        freeCellCount--;
+        freeCells[freeCellCount] = cell;
+        freeCellPositions[cell] = -1;
     }
     
     /**
@@ -92,9 +308,8 @@ public class TicTacTix {
      * an integer array consisting of three elements. The first will indicate the layer, the second for the row, and
      * the third indicating the column. 
      *
-     * Note: Since the move is randomly generated and checked without logging, it may take a while for the generator
-     * to get a valid position on the game board. This is especially evident when there are 1-2 remaining cells on 
-     * the grid.
+     * Note: The move is drawn from the list of empty cells kept by move(int layer, int row, int column), so a single
+     * draw always gives a valid position on the game board, however few cells remain.
      *
      * @return int[] - The coordinates of a valid move that the computer may make. They order from layer, row, and 
      * column.
@@ -105,24 +320,60 @@ public class TicTacTix {
      */
     public int[] getComputerMove() {
         
+        // Draw one of the empty cells and convert it to coordinates (index start at 1).
+        int[] coordinates = toCoordinates(freeCells[generator.nextInt(freeCellCount)]);
+        
+        // Make the move.
+        move(coordinates[0], coordinates[1], coordinates[2]);
+        
+        // Return array of coordinates.
+        return coordinates;
+    }
+    
+    /**
+     * 
+     * A method that asks a move strategy for the computer's move and makes it. The move will be returned as an 
+     * integer array consisting of three elements. The first will indicate the layer, the second for the row, and the
+     * third indicating the column.
+     *
+     * @param strategy - (MoveStrategy) The strategy picking the computer's move.
+     *
+     * @return int[] - The coordinates of the move made by the computer. They order from layer, row, and column.
+     *
+     * @see MoveStrategy
+     *
+     */
+    public int[] getComputerMove(MoveStrategy strategy) {
+        
         // Create and initialize variables/objects required.
-        Random generator = new Random();
+        int[] coordinates = toCoordinates(strategy.selectMove(this));
+        
+        // Make the move.
+        move(coordinates[0], coordinates[1], coordinates[2]);
+        
+        // Return array of coordinates.
+        return coordinates;
+    }
+    
+    /**
+     * 
+     * A helper method that converts the flat index of a cell (layer * dimensions^2 + row * dimensions + column) to 
+     * its coordinates (index start at 1).
+     *
+     * @param cell - (int) The flat index of the cell.
+     *
+     * @return int[] - The coordinates of the cell. They order from layer, row, and column.
+     *
+     */
+    public int[] toCoordinates(int cell) {
+        
+        // Create and initialize variable required.
         int[] coordinates = new int[3];
-        int computerLayer = -1;
-        int computerRow = -1;
-        int computerColumn = -1;
-        
-        // Generate a coordinate on the grid. Repeat until the coordinates are valid.
-        do {
-            computerLayer = generator.nextInt(MAX_LAYER) + 1;
-            computerRow = generator.nextInt(MAX_ROW) + 1;
-            computerColumn = generator.nextInt(MAX_COLUMN) + 1;
-        } while(!move(computerLayer, computerRow, computerColumn));
-        
-        // Store valid coordinates onto a single int array.
-        coordinates[0] = computerLayer;
-        coordinates[1] = computerRow;
-        coordinates[2] = computerColumn;
+        
+        // Split the flat index into layer, row and column.
+        coordinates[0] = getLayer(cell);
+        coordinates[1] = getRow(cell);
+        coordinates[2] = getColumn(cell);
         
         // Return array of coordinates.
         return coordinates;
@@ -142,351 +393,417 @@ public class TicTacTix {
      */
     public boolean move(int layer, int row, int column) {
         
-        // Create and initialize variable required.
-        boolean valid = true;
+        // Convert the coordinates to the flat index of the cell (-1 if off the grid).
+        int cell = toCell(layer, row, column);
         
-        // Tweak layer, row, and column arguments to make data usable for arrays data structure (index start at 0).
-        layer-=1;
-        row-=1;
-        column-=1;
+        // If the cell is on the grid, check if the position is taken and make the move accordingly.
+        return cell != -1 && moveCell(cell);
+    }
+    
+    /**
+     * 
+     * A method that converts the coordinates of a cell (index start at 1) to its flat index (layer * dimensions^2 + 
+     * row * dimensions + column, index start at 0).
+     *
+     * @param layer - (int) The layer of the cell.
+     * @param row - (int) The row of the cell.
+     * @param column - (int) The column of the cell.
+     *
+     * @return int - the flat index of the cell, or -1 if the coordinates are off the grid.
+     *
+     * @see toCoordinates(int cell)
+     *
+     */
+    public int toCell(int layer, int row, int column) {
         
-        // Check range of layer
-        if (layer < 0 || layer > MAX_COLUMN-1) {
-            valid = false;
+        // Check range of layer, row and column.
+        if (layer < 1 || layer > MAX_LAYER || row < 1 || row > MAX_ROW || column < 1 || column > MAX_COLUMN) {
+            return -1;
         }
-        // check range of row
-        else if (row < 0 || row > MAX_ROW-1) {
-            valid =  false;
-        }
-        // check range of column
-        else if (column  < 0 || column > MAX_COLUMN-1) {
-            valid =  false;
+        return (layer-1)*LAYER_SIZE + (row-1)*MAX_COLUMN + (column-1);
+    }
+    
+    /**
+     * 
+     * A method that returns the layer of a cell (index start at 1), without allocating like toCoordinates(int cell).
+     *
+     * @param cell - (int) The flat index of the cell.
+     *
+     * @return int - the layer of the cell.
+     *
+     */
+    public int getLayer(int cell) {
+        return cell / LAYER_SIZE + 1;
+    }
+    
+    /**
+     * 
+     * A method that returns the row of a cell (index start at 1), without allocating like toCoordinates(int cell).
+     *
+     * @param cell - (int) The flat index of the cell.
+     *
+     * @return int - the row of the cell.
+     *
+     */
+    public int getRow(int cell) {
+        return (cell % LAYER_SIZE) / MAX_COLUMN + 1;
+    }
+    
+    /**
+     * 
+     * A method that returns the column of a cell (index start at 1), without allocating like toCoordinates(int cell).
+     *
+     * @param cell - (int) The flat index of the cell.
+     *
+     * @return int - the column of the cell.
+     *
+     */
+    public int getColumn(int cell) {
+        return cell % MAX_COLUMN + 1;
+    }
+    
+    /**
+     * 
+     * A method that makes a move given the flat index of the cell (layer * dimensions^2 + row * dimensions + column).
+     * If the cell is empty, execute the move and return true. Otherwise, return false. Together with 
+     * undoMove(int cell) this lets a search try moves on the game board in place.
+     *
+     * @param cell - (int) The flat index of the cell.
+     *
+     * @return boolean - Returns a status determining if the move is valid or not.
+     *
+     * @see undoMove(int cell)
+     *
+     */
+    public boolean moveCell(int cell) {
+        
+        // Check range of cell and if position taken (reserved and filled cells are not in the empty cell list).
+        if (cell < 0 || cell >= maxCells || freeCellPositions[cell] == -1) {
+            return false;
         }
-        // check if position taken
-        else if (grids[layer][row][column] != 0) {
-            valid = false;
+        
+        // Fill the cell with a checker. Record move.
+        cells[cell] = (byte) currentPlayer;
+        filledCells++;
+        takeFreeCell(cell);
+        hash ^= zobristKeys[currentPlayer][cell] ^ ZobristKeys.SIDE_KEY;
+        if (symmetryHashes != null) {
+            updateSymmetryHashes(currentPlayer, cell);
         }
         
-        // If move is still valid, make the move accordingly.
-        if (valid) {
-            // Fill the row and column with a checker. Record move.
-            grids[layer][row][column] = currentPlayer;
-            filledCells++;
-            
-            // Alternate the player turn (switch between 1 and 2).
-            currentPlayer = (currentPlayer%2)+1;
+        // Count the checker in every line passing through the cell. A full line is a win.
+        for (int line : cellLines[cell]) {
+            if (lineWeights != null) {
+                scoreLine(line, currentPlayer, 1);
+            }
+            lineCounts[currentPlayer][line]++;
+            if (lineCounts[currentPlayer][line] == dimensions) {
+                completedLines++;
+            }
         }
         
-        // Return validity of move. 
-        return valid;
+        // Alternate the player turn (switch between 1 and 2).
+        currentPlayer = (currentPlayer%2)+1;
+        return true;
     }
     
     /**
      * 
-     * This method checks if the current game is over. This is used to determine when the game loop stops. 
-     * Specifically, this method checks the hasWon() method followed by checking if all the cells has been filled out.
-     * If game is over, return true, otherwise return false.
+     * A method that takes back the last move made, given the flat index of its cell. The cell becomes empty again, 
+     * the line counters are restored and the turn goes back to the player who made the move. Moves must be taken 
+     * back in the reverse order they were made.
      *
-     * @return boolean - a status that determines if the game is over or not.
+     * @param cell - (int) The flat index of the cell of the last move.
      *
-     * @see hasWon()
+     * @see moveCell(int cell)
      *
      */
-    public boolean isGameOver() {
-        
-        // Create and initialize variable required.
-        boolean status = false;
+    public void undoMove(int cell) {
         
+        // Create and initialize variable required, the player who made the move.
+        int player = (currentPlayer%2)+1;
         
-        // Check win condition first, followed by if all cells are filled out. Depending on the condition, Set
-        // the winner appropriately.
-        if (hasWon()) {
-            status = true;
-            // Get previous player (winner)
-            winner = (currentPlayer%2)+1;
+        // Empty the cell and put it back on the list of empty cells.
+        cells[cell] = 0;
+        filledCells--;
+        freeCells[freeCellCount] = cell;
+        freeCellPositions[cell] = freeCellCount;
+        freeCellCount++;
+        hash ^= zobristKeys[player][cell] ^ ZobristKeys.SIDE_KEY;
+        if (symmetryHashes != null) {
+            updateSymmetryHashes(player, cell);
         }
-        else if (filledCells >= maxCells) {
-            status = true;
-            winner = TIE;
+        
+        // Take the checker out of every line passing through the cell.
+        for (int line : cellLines[cell]) {
+            if (lineCounts[player][line] == dimensions) {
+                completedLines--;
+            }
+            lineCounts[player][line]--;
+            if (lineWeights != null) {
+                scoreLine(line, player, -1);
+            }
         }
         
-        // Returns the status of "game over".
-        return status;
+        // Give the turn back to the player who made the move.
+        currentPlayer = player;
     }
     
     /**
      * 
-     * This method checks the win condition and see if there is a winner in the following grid. This method will 
-     * check if there is a win by getting all possible 2D grids in the 3D game board. After this, each of the 2D game
-     * board will be checked by the method which determines if there is a win in a 2D grid. If there is a win, the 
-     * logic will be stopped and a boolean status indicating whether there is a win will be returned.
+     * A helper method that updates the scores of the open lines for a checker being added to or taken out of a line.
+     * The line counters must hold the smaller number of checkers, so before adding the checker and after taking it 
+     * out. A line is open for a player while the opponent has no checker in it.
      *
-     * @return boolean - determines whether there is a win in the 3D game board.
-     *
-     * @see has2DWon(int[][] grid)
+     * @param line - (int) The index of the line.
+     * @param player - (int) The player whose checker it is.
+     * @param sign - (int) 1 when the checker is added, -1 when it is taken out.
      *
      */
-    public boolean hasWon() {
+    private void scoreLine(int line, int player, int sign) {
         
-        // Create and initialize variables/object required.
-        boolean status = false;
-        int[][] tempGrid = new int[MAX_ROW][MAX_COLUMN];
+        // Create and initialize variables required.
+        int opponent = (player%2)+1;
+        int checkers = lineCounts[player][line];
+        int opponentCheckers = lineCounts[opponent][line];
         
-        // Horizontal layer, check each grid from side view, top to bottom.
-        for (int layer = 0; layer < MAX_LAYER; layer++) {
-            
-            // Record current 2D grid.
-            for (int row = 0; row < MAX_ROW; row++) {
-                for (int column = 0; column < MAX_COLUMN; column++) {
-                    tempGrid[row][column] = grids[layer][row][column];       
-                }
-            }
-            
-            // Check for win of each 2D grid, break loop if win found.
-            status = has2DWon(tempGrid);
-            if (status) {
-                break;
-            }
+        // Nobody can win a line through the reserved cell.
+        if (isDeadLine[line]) {
+            return;
         }
         
-        // If there is no win found previously, continue to search.
-        if (!status) {
-            
-            // Vertical layer, check each grid from side to side (from the top view, up and down).
-            for (int row = 0; row < MAX_ROW; row++) {
-                
-                // Record current 2D grid.
-                for (int layer = 0; layer < MAX_LAYER; layer++) {
-                    for (int column = 0; column < MAX_COLUMN; column++) {
-                        tempGrid[layer][column] = grids[layer][row][column];       
-                    }
-                }  
-                
-                // Check for win for each 2D grid, break loop if win found.
-                status = has2DWon(tempGrid);
-                if (status) {
-                    break;
-                }
-            }
+        // Still open for the player, so it is worth the weight of one more checker. Otherwise the first checker 
+        // blocks it for the opponent.
+        if (opponentCheckers == 0) {
+            openLineScores[player] += sign * (lineWeights[checkers+1] - lineWeights[checkers]);
         }
-        
-        // If there is no win found previously, continue to search.
-        if (!status) {
-            
-            // Vertical layer, check each grid from side to side (from the top view, left to right).
-            for (int column = 0; column < MAX_COLUMN; column++) {
-                
-                // Record current 2D gird.
-                for (int layer = 0; layer < MAX_LAYER; layer++) {
-                    for (int row = 0; row < MAX_ROW; row++) {
-                        tempGrid[layer][row] = grids[layer][row][column];       
-                    }
-                }    
-                
-                // Check for win for each 2D grid, break loop if win found.
-                status = has2DWon(tempGrid);
-                if (status) {
-                    break;
-                }
-            }
+        else if (checkers == 0) {
+            openLineScores[opponent] -= sign * lineWeights[opponentCheckers];
         }
-        
-        // Return the status of whether there is a win.
-        return status;
     }
     
     /**
      * 
-     * A helper method that takes a 2D grid, treat it as a normal TicTacToe game and check if there is a win. If there
-     * is a win, return true, otherwise return false.
+     * A mutator method that sets the weights of the open lines, turning on their scores. A line is open for a player
+     * who has checkers in it while the opponent has none, and is worth the weight of that number of checkers. The 
+     * scores are then kept up to date by every move and undone move, and read with getEvaluation().
      *
-     * @param grid - (int[][]) a 2D grid, treated like a TicTacToe game.
+     * @param weights - (int[]) The weight of an open line by number of checkers, from 0 to dimensions, or null to 
+     * turn the scores off. An empty line must weigh 0. The array is shared, not copied.
      *
-     * @return boolean - whether or not there is a win in this 2D grid.
+     * @throws IllegalArgumentException - if there is not one weight per number of checkers or an empty line has weight.
      *
-     * @see hasDiagonalWin()
-     * @see hasVerticalWin()
-     * @see hasDiagonalWin()
+     * @see getDefaultLineWeights()
      *
      */
-    private boolean has2DWon(int[][] grid) {
+    public void setLineWeights(int[] weights) {
         
-        // Create and initialize variable.
-        boolean status = false;
-        
-        // Check horizontal wins of 2D grid.
-        status = hasHorizontalWin(grid);
-        
-        // Continue to check vertical wins of 2D grid if necessary.
-        if (!status) {
-            status = hasVerticalWin(grid);
+        // Check the weights.
+        if (weights != null && (weights.length != dimensions+1 || weights[0] != 0)) {
+            throw new IllegalArgumentException("Expected " + (dimensions+1) + " weights, starting with 0");
         }
         
-        // Continue to check diagonal  wins of 2D grid if necessary.
-        if (!status) {
-            status = hasDiagonalWin(grid);
+        // Turn the scores off.
+        lineWeights = weights;
+        if (weights == null) {
+            openLineScores = null;
+            return;
         }
         
-        // Returns status of whether there is a win in the 2D grid.
-        return status;
+        // Score the position from scratch, from then on the moves keep the scores up to date.
+        openLineScores = new int[COMPUTER+1];
+        for (int line = 0; line < isDeadLine.length; line++) {
+            for (int player = PLAYER; player <= COMPUTER && !isDeadLine[line]; player++) {
+                if (lineCounts[(player%2)+1][line] == 0) {
+                    openLineScores[player] += weights[lineCounts[player][line]];
+                }
+            }
+        }
+    }
+    
+    /**
+     * 
+     * A accessor method that returns the weights of the open lines.
+     *
+     * @return int[] - the weights by number of checkers, or null if the scores are off.
+     *
+     */
+    public int[] getLineWeights() {
+        return lineWeights;
     }
     
     /**
      * 
-     * A helper method that takes a 2D grid, check for any horizontal wins (A row which has the same column, indicated
-     * by the symbol of a player move). The status of whether there is a win will be returned.
+     * A accessor method that returns the default weights of the open lines for this game board, four times more for
+     * every checker.
      *
-     * @param grid - (int[][]) a 2D grid, treated like a TicTacToe game.
+     * @return int[] - the weights by number of checkers (shared, must not be modified).
      *
-     * @return boolean - whether or not there is a horizontal win in this 2D grid.
+     */
+    public int[] getDefaultLineWeights() {
+        return winningLines.getDefaultWeights();
+    }
+    
+    /**
+     * 
+     * A method that counts the live lines passing through a cell, the lines that someone can still win. A line is 
+     * dead if it passes through the reserved cell or both players have a checker in it. A move touching many live 
+     * lines is usually a strong one, so this is used to order moves in a search.
+     *
+     * @param cell - (int) The flat index of the cell.
+     *
+     * @return int - the number of live lines through the cell.
      *
      */
-    private boolean hasHorizontalWin(int[][] grid) {
-        
-        // Create and initialize variables
-        boolean status = false;
-        int tempElement = -1;
+    public int getLiveLineCount(int cell) {
         
-        //Check for a horizontal win (of a row, all column have the same value of a player symbol).
-        for ( int row=0; row < MAX_ROW; row++ ) {
-            
-            // Check to see if it is a player symbol (not empty or reserved). Record value and continue to check...
-            if (grid[row][0] == 1 || grid[row][0] == 2) {
-                
-                // Assume there is a horizontal win until confirmed that there isn't.
-                status = true;
-                tempElement = grid[row][0];
-                
-                // Check to see if all columns have that same player symbol.
-                for ( int column=1; column < MAX_COLUMN; column++ ) {
-                    
-                    // Denied horizontal win, break out of loop.
-                    if (tempElement != grid[row][column]) {
-                        status = false;
-                        break;
-                    }
-                }
+        // Count the lines that are not dead.
+        int count = 0;
+        for (int line : cellLines[cell]) {
+            if (!isDeadLine[line] && (lineCounts[PLAYER][line] == 0 || lineCounts[COMPUTER][line] == 0)) {
+                count++;
             }
-            
-            // If there is a win, break out of loop.
-            if (status) {
-                break;
-            }   
         }
-        
-        // Return status reporting if there is a horizontal win.
-        return status;
+        return count;
+    }
+    
+    /**
+     * 
+     * A method that returns the static evaluation of the position for the player whose turn it is: the weighted sum
+     * of that player's open lines minus the opponent's. It is kept up to date by every move, so reading it is free.
+     *
+     * @return int - the evaluation, positive if good for the player whose turn it is, or 0 if the scores are off.
+     *
+     * @see setLineWeights(int[] weights)
+     *
+     */
+    public int getEvaluation() {
+        if (openLineScores == null) {
+            return 0;
+        }
+        return openLineScores[currentPlayer] - openLineScores[(currentPlayer%2)+1];
     }
     
     /**
      * 
-     * A helper method that takes a 2D grid, check for any vertical wins (A row which has the same column, indicated
-     * by the symbol of a player move). The status of whether there is a win will be returned.
+     * A method that computes the same evaluation as getEvaluation() from scratch, scanning the cells of every 
+     * winning line on the game board. This is what the incremental scores avoid, kept for checking and comparison.
+     * It works whether or not the scores are on.
      *
-     * @param grid - (int[][]) a 2D grid, treated like a TicTacToe game.
+     * @param weights - (int[]) The weight of an open line by number of checkers, from 0 (weighing 0) to dimensions.
      *
-     * @return boolean - whether or not there is a vertical win in this 2D grid.
+     * @return int - the evaluation, positive if good for the player whose turn it is.
      *
      */
-    private boolean hasVerticalWin(int[][] grid) {
+    public int getEvaluationFromScratch(int[] weights) {
         
         // Create and initialize variables required.
-        boolean status = false;
-        int tempElement = -1;
+        int evaluation = 0;
+        int[][] lines = winningLines.getLines();
         
-        //Check for a vertical win (of a column, all rows values are of the same player symbol).
-        for ( int column=0; column < MAX_COLUMN; column++ ) {
-            
-            // Check to see if it is a player symbol (not empty or reserved). Record value and continue to check...
-            if (grid[0][column] == 1 || grid[0][column] == 2) {
-                
-                // Assume there is a vertical win until denied.
-                status = true;
-                tempElement = grid[0][column];
-                
-                // Continue to check if all row of the column has the same value.
-                for ( int row=1; row < MAX_ROW; row++ ) {
-                    
-                    // Deny vertical win if conflict found.
-                    if (tempElement != grid[row][column]) {
-                        status = false;
-                        break;
-                    }
+        // Count the checkers of both players in every line, skipping the lines through the reserved cell.
+        for (int[] line : lines) {
+            int mine = 0;
+            int theirs = 0;
+            boolean isDead = false;
+            for (int cell : line) {
+                int owner = cells[cell];
+                if (owner == currentPlayer) {
+                    mine++;
+                }
+                else if (owner > 0) {
+                    theirs++;
+                }
+                else if (owner < 0) {
+                    isDead = true;
                 }
             }
             
-            // Break out of loop if win found.
-            if (status) {
-                break;
-            }   
+            // An open line counts for whoever holds it.
+            if (!isDead && theirs == 0) {
+                evaluation += weights[mine];
+            }
+            else if (!isDead && mine == 0) {
+                evaluation -= weights[theirs];
+            }
         }
-        
-        // Return the status of whether there is a vertical win.
-        return status;
+        return evaluation;
     }
     
     /**
      * 
-     * A helper method that takes a 2D grid, check for any diagonal wins (Each diagonal value is same as indicated
-     * by the symbol of a player move). The status of whether there is a win will be returned.
+     * This method checks if the current game is over. This is used to determine when the game loop stops. 
+     * Specifically, this method checks the hasWon() method followed by checking if all the cells has been filled out.
+     * If game is over, return true, otherwise return false.
      *
-     * @param grid - (int[][]) a 2D grid, treated like a TicTacToe game.
+     * @return boolean - a status that determines if the game is over or not.
      *
-     * @return boolean - whether or not there is a diagonal win in this 2D grid.
+     * @see hasWon()
      *
      */
-    private boolean hasDiagonalWin(int[][] grid) {
+    public boolean isGameOver() {
         
-        // Create and initialize variables required.
+        // Create and initialize variable required.
         boolean status = false;
-        int tempElement = -1;
         
-        //Check for a diagonal win (negative slope)
         
-        // Check if initial condition of a diagonal win (negative slope) is met (player symbol at initial position).
-        if (grid[0][0] == 1 || grid[0][0] == 2) {
-            
-            // Assume there is a diagonal win until denied.
-            tempElement = grid[0][0];
+        // Check win condition first, followed by if all cells are filled out. Depending on the condition, Set
+        // the winner appropriately.
+        if (hasWon()) {
             status = true;
-            
-            // Check diagonals with a negative slope.
-            for ( int slope=0; slope < dimensions; slope++ ) {
-                
-                // Deny diagonal win with a negative slope if there is a conflict.
-                if (tempElement != grid[slope][slope]) {
-                    status = false;
-                    break;
-                }
-            }
+            // Get previous player (winner)
+            winner = (currentPlayer%2)+1;
         }
-        
-        //Check for a diagonal win (positive slope). Only if negative slope is not a win.
-        if (!status) { 
-            
-            // Check if initial condition of a diagonal win (positive slope) is met (player symbol found at initial)
-            if (grid[0][dimensions-1] == 1 || grid[0][dimensions-1] == 2) {
-                
-                // Assume there is a diagonal win (positive slope) until denied. Record key for search.
-                tempElement = grid[0][dimensions-1];
-                status = true;
-                
-                // Check diagonals with positive slope.
-                for ( int slope=0; slope < dimensions; slope++ ) {
-                    
-                    // Deny diagonal win with positive slope if there is a conflict.
-                    if (tempElement != grid[slope][(dimensions-1)-slope]) {
-                        status = false;
-                        break;
-                    }
-                }
-            }
+        else if (filledCells >= maxCells) {
+            status = true;
+            winner = TIE;
         }
         
-        // Return status of whether there is a diagonal win or not.
+        // Returns the status of "game over".
         return status;
     }
     
+    /**
+     * 
+     * This method checks the win condition and see if there is a winner in the following grid. Every winning line
+     * keeps a per-player counter that is updated by move(int layer, int row, int column), so a win is recorded the
+     * moment one of those counters reaches the dimensions of the grid. This method simply reports that cached status.
+     *
+     * @return boolean - determines whether there is a win in the 3D game board.
+     *
+     * @see move(int layer, int row, int column)
+     *
+     */
+    public boolean hasWon() {
+        // Return the cached status of whether there is a win.
+        return completedLines > 0;
+    }
+    
+    /**
+     * 
+     * A method that computes the same status as hasWon() from scratch, scanning the cells of every winning line on 
+     * the game board for one held by a single player. This is what the line counters avoid, kept for checking and 
+     * comparison.
+     *
+     * @return boolean - determines whether there is a win in the 3D game board.
+     *
+     */
+    public boolean hasWonFromScratch() {
+        
+        // A line is won if every cell of it belongs to the owner of its first cell.
+        for (int[] line : winningLines.getLines()) {
+            int owner = cells[line[0]];
+            int index = 1;
+            while (owner > 0 && index < line.length && cells[line[index]] == owner) {
+                index++;
+            }
+            if (owner > 0 && index == line.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     /**
      * 
      * A accessor method that returns the value of "currentPlayer", an instance variable.
@@ -501,165 +818,298 @@ public class TicTacTix {
     
     /**
      * 
-     * A accessor method that returns the value of "winner", an instance variable.
+     * A accessor method that returns the value of "dimensions", an instance variable.
      *
-     * @return int - winner, used to represent the winner of the game.
+     * @return int - dimensions, the dimensions of the even grid.
      *
      */
-    public int getWinner() {
+    public int getDimensions() {
         // Return appropriate instance variable.
-        return winner;
+        return dimensions;
     }
     
     /**
+     * 
+     * A accessor method that returns the Zobrist hash of the current position, kept up to date by every move made 
+     * and taken back. Positions with the same checkers and the same player to move have the same hash.
+     *
+     * @return long - the hash of the current position.
      *
-     * A helper method that converts int representation of players to appropriate symbol for output in toString()
+     * @see ZobristKeys
+     *
+     */
+    public long getHash() {
+        // Return appropriate instance variable.
+        return hash;
+    }
+    
+    /**
+     * 
+     * A method that turns on or off keeping the hash of the position under every symmetry of the cube. While it is
+     * on, every move made or taken back updates those hashes, so the canonical hash is found without rescanning the
+     * game board. Tracking is off by default since it adds work to every move.
      *
-     * @param key - (int) int representation of player.
+     * @param isTracking - (boolean) Determines if the symmetry hashes are kept.
      *
-     * @return String - converted symbol given the int representation of a player.
+     * @see getCanonicalHash()
      *
      */
-    private String convertSymbol(int key) {
+    public void setSymmetryTracking(boolean isTracking) {
         
-        // Create and initialize variable required.
-        String symbol = null;
+        // Stop tracking.
+        if (!isTracking) {
+            symmetryHashes = null;
+        }
+        // Start tracking, hashing the current position under every symmetry once.
+        else if (symmetryHashes == null) {
+            symmetry = Symmetry.getInstance(dimensions);
+            long[] hashes = new long[symmetry.getSymmetryCount()];
+            for (int index = 0; index < hashes.length; index++) {
+                hashes[index] = getSymmetryHash(index);
+            }
+            symmetryHashes = hashes;
+        }
+    }
+    
+    /**
+     * 
+     * A helper method that XORs a checker in or out of the hash of the position under every symmetry.
+     *
+     * @param player - (int) The player owning the checker.
+     * @param cell - (int) The flat index of the cell of the checker.
+     *
+     */
+    private void updateSymmetryHashes(int player, int cell) {
+        for (int index = 0; index < symmetryHashes.length; index++) {
+            symmetryHashes[index] ^= zobristKeys[player][symmetry.mapCell(index, cell)] ^ ZobristKeys.SIDE_KEY;
+        }
+    }
+    
+    /**
+     * 
+     * A method that returns the Zobrist hash of the position after applying a symmetry of the cube. The hash under
+     * symmetry 0, the identity, is the same as getHash().
+     *
+     * @param index - (int) The index of the symmetry.
+     *
+     * @return long - the hash of the transformed position.
+     *
+     * @see Symmetry
+     *
+     */
+    public long getSymmetryHash(int index) {
         
-        // Symbol for empty cell.
-        if (key == 0) {
-            symbol = " ";
+        // Use the tracked hash if there is one.
+        if (symmetryHashes != null) {
+            return symmetryHashes[index];
         }
-        // Symbol for player 1 cell.
-        else if (key == 1) {
-            symbol = "X";
+        
+        // Otherwise hash the transformed position from scratch.
+        if (symmetry == null) {
+            symmetry = Symmetry.getInstance(dimensions);
         }
-        // Symbol for player 2 cell.
-        else if (key == 2) {
-            symbol = "O";
+        long transformed = (currentPlayer == COMPUTER) ? ZobristKeys.SIDE_KEY : 0;
+        for (int cell = 0; cell < maxCells; cell++) {
+            int owner = getCell(cell);
+            if (owner > 0) {
+                transformed ^= zobristKeys[owner][symmetry.mapCell(index, cell)];
+            }
         }
-        // Symbol for reserved cell.
-        else if (key == -1) {
-            symbol = "+";
+        return transformed;
+    }
+    
+    /**
+     * 
+     * A method that finds the symmetry of the cube mapping the position to its canonical form, the one with the 
+     * smallest hash. Hashes are compared unsigned, as Symmetry compares its keys, so on game boards larger than
+     * 3 by 3 by 3 this is the same canonical form as Symmetry.getCanonicalSymmetry(TicTacTix game).
+     *
+     * @return int - the index of the symmetry.
+     *
+     * @see getCanonicalHash()
+     *
+     */
+    public int getCanonicalSymmetry() {
+        
+        // Create and initialize variables required.
+        if (symmetry == null) {
+            symmetry = Symmetry.getInstance(dimensions);
         }
+        int count = symmetry.getSymmetryCount();
+        int best = 0;
+        long bestHash = getSymmetryHash(0);
         
-        return symbol;
+        // Keep the symmetry with the smallest hash (compared unsigned, so every bit counts the same).
+        for (int index = 1; index < count; index++) {
+            long transformed = getSymmetryHash(index);
+            if (Long.compareUnsigned(transformed, bestHash) < 0) {
+                best = index;
+                bestHash = transformed;
+            }
+        }
+        return best;
     }
     
     /**
      * 
-     * A helper method that returns the appropriate heading depending on the current status of the game for output in
-     * toString() method.
+     * A method that returns the canonical hash of the position, the smallest of its hashes under every symmetry of
+     * the cube. Every rotation and reflection of a position has the same canonical hash, so a search, a 
+     * transposition table or an opening book keyed on it stores each of them once.
+     *
+     * @return long - the canonical hash of the position.
+     *
+     * @see setSymmetryTracking(boolean isTracking)
+     *
+     */
+    public long getCanonicalHash() {
+        return getSymmetryHash(getCanonicalSymmetry());
+    }
+    
+    /**
+     * 
+     * A accessor method that returns the content of a cell.
+     *
+     * @param cell - (int) The flat index of the cell.
+     *
+     * @return int - 1 or 2 for a player, -1 for the reserved cell, or 0 if empty.
+     *
+     */
+    public int getCell(int cell) {
+        // Return appropriate element of the cells.
+        return cells[cell];
+    }
+    
+    /**
+     * 
+     * A accessor method that returns the number of empty cells left on the game board.
+     *
+     * @return int - the number of empty cells.
+     *
+     */
+    public int getFreeCellCount() {
+        // Return appropriate instance variable.
+        return freeCellCount;
+    }
+    
+    /**
+     * 
+     * A accessor method that returns one of the empty cells of the game board. The order of the empty cells changes
+     * as moves are made and taken back.
+     *
+     * @param index - (int) The position in the list of empty cells, from 0 to getFreeCellCount() - 1.
+     *
+     * @return int - the flat index of the empty cell.
+     *
+     */
+    public int getFreeCell(int index) {
+        // Return appropriate element of the empty cell list.
+        return freeCells[index];
+    }
+    
+    /**
+     * 
+     * A accessor method that returns whether the game uses the full 3D rule mode.
+     *
+     * @return boolean - whether the space diagonals of the cube are winning lines.
+     *
+     */
+    public boolean isFull3D() {
+        // Return the rule mode of the shared winning lines.
+        return winningLines.isFull3D();
+    }
+    
+    /**
+     * 
+     * A accessor method that returns the value of "winner", an instance variable.
+     *
+     * @return int - winner, used to represent the winner of the game.
+     *
+     */
+    public int getWinner() {
+        // Return appropriate instance variable.
+        return winner;
+    }
+    
+    /**
+     * 
+     * A method that returns the appropriate heading depending on the current status of the game for output in
+     * toString() method, followed by a blank line. Every heading is a constant, so nothing is built.
      *
      * @return String - appropriate heading/status of the current grid for output.
      *
      */
-    private String getHeadingStatus() {
-        
-        // Create and initialize required variables.
-        String placeHolder = null;
-        String heading = "";
+    public String getHeadingStatus() {
         
         // Get appropriate heading if game is over.
         if (winner != -1) {
-            
-            // Determine place holder name.
-            if (winner == 1) {
-                placeHolder = "PLAYER";
+            if (winner == PLAYER) {
+                return HEADING_PLAYER_WINS;
             }
-            else if (winner == 2) {
-                placeHolder = "COMPUTER";
+            else if (winner == COMPUTER) {
+                return HEADING_COMPUTER_WINS;
             }
-            else {
-                placeHolder = "NO ONE";
-            } 
-            
-            // get heading for game over.
-            heading +=  "\t\t***GAME OVER: " + placeHolder +" WINS***\n\n";
+            return HEADING_TIE;
         }
         
-        // Get appropriate heading if game is still in progress, returns current player turn.
-        else {
-            
-            // Determine status heading depending on if it is initial game startup or a player's turn.
-            if (filledCells == 1) {
-                heading += ("\t\t     ====TIC-TAC-TOE=====\n\n");
-            } 
-            else if (currentPlayer == 1) {
-                heading += ("\t\t     ====PLAYER'S MOVE====\n\n");
-            }
-            else if (currentPlayer == 2) {
-                heading += ("\t\t     ===COMPUTER'S MOVE===\n\n");
-            }
+        // Get appropriate heading if game is still in progress, depending on if it is initial game startup or a
+        // player's turn.
+        if (filledCells == 1) {
+            return HEADING_START;
         }
-        
-        // Return appropriate heading of game.
-        return heading;
-        
+        return (currentPlayer == PLAYER) ? HEADING_PLAYER : HEADING_COMPUTER;
     }
     
     /**
      * 
-     * A helper method that gets the cell/game board representation of the game. This is to be used for output in the 
-     * toString method.
+     * A method that writes the game status along with the visual aid of the grid, the same text as toString(), 
+     * straight to a Writer or any other Appendable.
      *
-     * @return String - A visual String representation of current grid, each layer side by side.
+     * @param out - (Appendable) Where to write the game board.
+     *
+     * @throws IOException - if out cannot be written to.
+     *
+     * @see BoardRenderer
      *
      */
-    private String getCellStatus() {
-        
-        // Create and initialize variable required.
-        String cellStatus = "";
+    public void appendTo(Appendable out) throws IOException {
+        out.append('\n');
+        out.append(getHeadingStatus());
+        renderer.appendCells(this, out);
+    }
+    
+    /**
+     * 
+     * A method that writes the game status along with the visual aid of the grid to the end of a StringBuilder. A 
+     * caller printing the game board often can reuse one builder, clearing it with setLength(0) in between.
+     *
+     * @param builder - (StringBuilder) Where to write the game board.
+     *
+     * @return StringBuilder - builder, for chaining.
+     *
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
         
-        // For each layer, push all column headings with appropriate padding.
-        for (int layer = 0; layer < MAX_LAYER; layer++) {
-            cellStatus += "\t";
-            
-            // Push column heading...
-            for (int column = 0; column < MAX_COLUMN; column++) {
-                cellStatus += ("   "+(column+1));
-            }
+        // Grow the builder once, then write.
+        builder.ensureCapacity(builder.length() + getRenderedLength());
+        try {
+            appendTo((Appendable) builder);
         }
-        cellStatus += "\n";
-        
-        // Push all rows and columns.
-        for ( int row = 0; row < MAX_ROW; row++) {
-            
-            // Push row heading...
-            for ( int layer=0; layer< MAX_LAYER; layer++ ) {
-                cellStatus += "\t" + (row+1) + ": "; 
-                
-                // Push current column element with appropriate padding depending on the current position of column.
-                for ( int column=0; column< MAX_COLUMN; column++ ) {
-                    if (column == dimensions-1) {
-                        cellStatus += convertSymbol(grids[layer][row][column]);
-                    }
-                    else {
-                        cellStatus += convertSymbol(grids[layer][row][column]) + " | ";  
-                    } 
-                }
-            }
-            cellStatus += "\n";
-            
-            // Push appropriate line padding for grids after each row is printed.
-            if (row != dimensions-1) {
-                for (int layer = 0; layer < MAX_LAYER; layer++) {
-                    cellStatus += "\t  ";
-                    // Push ASCII art for dividing rows, different depending on column.
-                    for (int column = 0; column < MAX_COLUMN; column++) {
-                        if (column == dimensions-1) {
-                            cellStatus += "---";
-                        }
-                        else {
-                            cellStatus += "---+";
-                        }
-                    }
-                }
-                cellStatus += "\n";
-            }
+        catch (IOException exception) {
+            // A StringBuilder never throws.
+            throw new UncheckedIOException(exception);
         }
-        
-        // Return the final grid representation for visual aid.
-        return cellStatus;
+        return builder;
+    }
+    
+    /**
+     * 
+     * A accessor method that returns an upper bound on the length of the text written by appendTo(Appendable out).
+     *
+     * @return int - the most characters the game board takes up.
+     *
+     */
+    public int getRenderedLength() {
+        return 1 + HEADING_COMPUTER_WINS.length() + renderer.getLength();
     }
     
     /**
@@ -669,21 +1119,10 @@ public class TicTacTix {
      *
      * @return String - status with representation of the grid.
      *
-     * @see getHeadingStatus()
-     * @see getCellStatus()
+     * @see appendTo(StringBuilder builder)
      *
      */
     public String toString() {
-        
-        // Initialize output.
-        String returnString = "\n";
-        
-        // Get current status of game and add it to returnString.
-        returnString += getHeadingStatus();
-        // Get current status of cell placement and add it to returnString.
-        returnString += getCellStatus();
-        
-        // Return final result of the final representation of the grid.
-        return returnString;
+        return appendTo(new StringBuilder(getRenderedLength())).toString();
     }
 }
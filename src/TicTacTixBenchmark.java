@@ -0,0 +1,1127 @@
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Arrays;
+import java.io.IOException;
+import java.io.File;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ExecutionException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.GarbageCollectorMXBean;
+import java.util.SplittableRandom;
+
+/**
+ *
+ * This class runs the performance benchmarks of the TicTacTix engine and prints their results to the console. Pass
+ * the name of a benchmark as the first argument to run only that one, or nothing to run them all.
+ *
+ *     java TicTacTixBenchmark symmetry
+ *     java TicTacTixBenchmark budget
+ *     java TicTacTixBenchmark parallel
+ *     java TicTacTixBenchmark mcts
+ *     java TicTacTixBenchmark ponder
+ *     java TicTacTixBenchmark evaluation
+ *     java TicTacTixBenchmark ordering
+ *     java TicTacTixBenchmark render
+ *     java TicTacTixBenchmark pool
+ *     java TicTacTixBenchmark layout
+ *     java TicTacTixBenchmark bitboard
+ *     java TicTacTixBenchmark halloffame
+ *     java TicTacTixBenchmark server 10000
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ */
+public class TicTacTixBenchmark {
+
+    // Declaration of static variables.
+    // Where the results of timed loops go, so they are not optimized away.
+    private static volatile int sink;
+
+    /*
+     * This is the main method that runs the chosen benchmarks in sequence.
+     */
+    public static void main(String[] args) throws InterruptedException, IOException, ExecutionException {
+
+        // Determine which benchmark to run.
+        String name = (args.length > 0) ? args[0] : "all";
+
+        if (name.equals("all") || name.equals("symmetry")) {
+            benchmarkSymmetry();
+        }
+        if (name.equals("all") || name.equals("budget")) {
+            benchmarkTimeBudget();
+        }
+        if (name.equals("all") || name.equals("parallel")) {
+            benchmarkParallel();
+        }
+        if (name.equals("all") || name.equals("mcts")) {
+            benchmarkMonteCarlo();
+        }
+        if (name.equals("all") || name.equals("ponder")) {
+            benchmarkPondering();
+        }
+        if (name.equals("all") || name.equals("evaluation")) {
+            benchmarkEvaluation();
+        }
+        if (name.equals("all") || name.equals("ordering")) {
+            benchmarkOrdering();
+        }
+        if (name.equals("all") || name.equals("render")) {
+            benchmarkRendering();
+        }
+        if (name.equals("all") || name.equals("pool")) {
+            benchmarkPooling();
+        }
+        if (name.equals("all") || name.equals("layout")) {
+            benchmarkLayout();
+        }
+        if (name.equals("all") || name.equals("bitboard")) {
+            benchmarkBitBoard();
+        }
+        if (name.equals("all") || name.equals("halloffame")) {
+            benchmarkHallOfFame();
+        }
+        if (name.equals("all") || name.equals("server")) {
+            benchmarkServer((args.length > 1) ? Integer.parseInt(args[1]) : 10000);
+        }
+    }
+
+    /**
+     *
+     * This method shows how much canonical positions shrink the number of positions to store on a 3 by 3 by 3 game
+     * board. It counts the distinct positions and distinct canonical positions after each number of moves, then
+     * compares a transposition table keyed on raw hashes with one keyed on canonical hashes in the same search.
+     *
+     */
+    private static void benchmarkSymmetry() {
+
+        // Create and initialize variables/objects required.
+        final int DIMENSIONS = 3;
+        final int MAX_PLY = 5;
+        final int SEARCH_DEPTH = 6;
+        List<Set<Long>> rawPositions = new ArrayList<Set<Long>>();
+        List<Set<Long>> canonicalPositions = new ArrayList<Set<Long>>();
+        TicTacTix game = new TicTacTix(DIMENSIONS, true);
+
+        // Count the positions reachable after each number of moves.
+        for (int ply = 0; ply <= MAX_PLY; ply++) {
+            rawPositions.add(new HashSet<Long>());
+            canonicalPositions.add(new HashSet<Long>());
+        }
+        game.setSymmetryTracking(true);
+        countPositions(game, 0, MAX_PLY, rawPositions, canonicalPositions);
+
+        System.out.println("\t======Symmetry: " + Symmetry.getInstance(DIMENSIONS).getSymmetryCount()
+                           + " symmetries, " + DIMENSIONS + "x" + DIMENSIONS + "x" + DIMENSIONS + "======\n");
+        System.out.println("\tply\t   positions\t   canonical\t reduction");
+        for (int ply = 0; ply <= MAX_PLY; ply++) {
+            int raw = rawPositions.get(ply).size();
+            int canonical = canonicalPositions.get(ply).size();
+            System.out.printf("\t%d\t%12d\t%12d\t%9.1fx%n", ply, raw, canonical, (double) raw / canonical);
+        }
+
+        // Search the same position with a table keyed on raw hashes, then on canonical hashes.
+        System.out.println("\n\tdepth " + SEARCH_DEPTH + " search\t       nodes\t table stores\t   ms");
+        for (boolean isCanonical : new boolean[] {false, true}) {
+            TranspositionTable table = new TranspositionTable(64L << 20, TranspositionTable.REPLACE_DEPTH_PREFERRED);
+            NegamaxStrategy strategy = new NegamaxStrategy(SEARCH_DEPTH, table);
+            strategy.setCanonical(isCanonical);
+            strategy.selectMove(new TicTacTix(DIMENSIONS, true));
+            System.out.printf("\t%-16s%12d\t%12d\t%5d%n", isCanonical ? "canonical" : "raw",
+                              strategy.getNodesSearched(), table.getStores(), strategy.getElapsedNanos() / 1000000);
+        }
+        System.out.println();
+    }
+
+    /**
+     *
+     * This method checks that computer moves come back within their time budget. Games are played between two time
+     * bounded computer players on 3 by 3 by 3 and 4 by 4 by 4 game boards, and the p50/p99 move times are compared
+     * with the budget.
+     *
+     */
+    private static void benchmarkTimeBudget() {
+
+        // Create and initialize variables/objects required.
+        final long BUDGET_MILLIS = 50;
+        final int GAMES = 10;
+
+        System.out.println("\t======Time budget: " + BUDGET_MILLIS + " ms per move======\n");
+        for (int dimensions = 3; dimensions <= 4; dimensions++) {
+
+            // Both players share one histogram.
+            LatencyHistogram latencies = new LatencyHistogram();
+            long depths = 0;
+            NegamaxStrategy[] players = new NegamaxStrategy[2];
+            for (int player = 0; player < players.length; player++) {
+                int cells = dimensions * dimensions * dimensions;
+                players[player] = new NegamaxStrategy(cells,
+                    new TranspositionTable(16L << 20, TranspositionTable.REPLACE_DEPTH_PREFERRED));
+                players[player].setTimeBudget(BUDGET_MILLIS);
+                players[player].setLatencyHistogram(latencies);
+            }
+
+            // Play the games, opening each with two random moves so they differ.
+            for (int gameNumber = 0; gameNumber < GAMES; gameNumber++) {
+                TicTacTix game = new TicTacTix(dimensions, true, false, new Random(gameNumber));
+                game.getComputerMove();
+                game.getComputerMove();
+                while (!game.isGameOver()) {
+                    NegamaxStrategy player = players[game.getCurrentPlayer() - 1];
+                    game.getComputerMove(player);
+                    depths += player.getCompletedDepth();
+                }
+            }
+
+            System.out.printf("\t%dx%dx%d: %s, mean depth %.1f%n", dimensions, dimensions, dimensions, latencies,
+                              (double) depths / latencies.getCount());
+        }
+        System.out.println();
+    }
+
+    /**
+     *
+     * This method shows how the parallel search scales with the number of threads. The same 4 by 4 by 4 position is
+     * searched to the same depth with 1, 2, 4, 8 and 16 threads, each with a fresh shared transposition table, and
+     * the time and nodes are compared with the single threaded run. Speedup is bounded by the cores of the machine.
+     *
+     */
+    private static void benchmarkParallel() {
+
+        // Create and initialize variables/objects required.
+        final int DIMENSIONS = 4;
+        final int OPENING_MOVES = 4;
+        final int SEARCH_DEPTH = 6;
+        final int[] THREADS = {1, 2, 4, 8, 16};
+        TicTacTix game = new TicTacTix(DIMENSIONS, true, false, new Random(1));
+        long baseNanos = 0;
+
+        // Play a few random moves so the position is not the empty game board.
+        for (int move = 0; move < OPENING_MOVES; move++) {
+            game.getComputerMove();
+        }
+
+        // Warm up the compiler with a shallower search first.
+        ParallelNegamaxStrategy warmUp = new ParallelNegamaxStrategy(SEARCH_DEPTH-1, null, 1);
+        warmUp.selectMove(game);
+        warmUp.shutdown();
+
+        System.out.println("\t======Parallel search: depth " + SEARCH_DEPTH + ", " + DIMENSIONS + "x" + DIMENSIONS
+                           + "x" + DIMENSIONS + ", " + Runtime.getRuntime().availableProcessors() + " cores======\n");
+        System.out.println("\tthreads\t  move\t       nodes\t    ms\t   nodes/s\tspeedup");
+        for (int threads : THREADS) {
+            TranspositionTable table = new TranspositionTable(64L << 20, TranspositionTable.REPLACE_DEPTH_PREFERRED);
+            ParallelNegamaxStrategy strategy = new ParallelNegamaxStrategy(SEARCH_DEPTH, table, threads);
+            int move = strategy.selectMove(game);
+            strategy.shutdown();
+
+            // Compare the time with the single threaded run.
+            if (threads == 1) {
+                baseNanos = strategy.getElapsedNanos();
+            }
+            System.out.printf("\t%7d\t%6d\t%12d\t%6d\t%10d\t%6.2fx%n", threads, move, strategy.getNodesSearched(),
+                              strategy.getElapsedNanos() / 1000000, strategy.getNodesPerSecond(),
+                              (double) baseNanos / strategy.getElapsedNanos());
+        }
+        System.out.println();
+    }
+
+    /**
+     *
+     * This method measures the playouts per second of the Monte Carlo tree search on the empty game board, from 3 by
+     * 3 by 3 up to 6 by 6 by 6, with one thread and with one per core, so the budgets can be tuned.
+     *
+     */
+    private static void benchmarkMonteCarlo() {
+
+        // Create and initialize variables/objects required.
+        final long BUDGET_MILLIS = 500;
+        final int CORES = Runtime.getRuntime().availableProcessors();
+
+        System.out.println("\t======Monte Carlo tree search: " + BUDGET_MILLIS + " ms per move======\n");
+        System.out.println("\tboard\tthreads\t    playouts\t  playouts/s\t       nodes");
+        for (int dimensions = 3; dimensions <= 6; dimensions++) {
+            for (int threads : (CORES > 1) ? new int[] {1, CORES} : new int[] {1}) {
+                MonteCarloStrategy strategy = new MonteCarloStrategy(threads);
+                strategy.setPlayoutBudget(0);
+                strategy.setTimeBudget(BUDGET_MILLIS);
+                strategy.selectMove(new TicTacTix(dimensions, true));
+                strategy.shutdown();
+                System.out.printf("\t%dx%dx%d\t%7d\t%12d\t%12d\t%12d%n", dimensions, dimensions, dimensions, threads,
+                                  strategy.getPlayouts(), strategy.getPlayoutsPerSecond(), strategy.getNodeCount());
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     *
+     * This method shows how much pondering saves the computer once the player has moved. On several 4 by 4 by 4
+     * positions, the computer searches its move after a random reply of the player, once from a cold transposition
+     * table and once after pondering the player's turn for a second.
+     *
+     */
+    private static void benchmarkPondering() throws InterruptedException {
+
+        // Create and initialize variables/objects required.
+        final int DIMENSIONS = 4;
+        final int OPENING_MOVES = 6;
+        final int SEARCH_DEPTH = 5;
+        final long PONDER_MILLIS = 1000;
+        final int POSITIONS = 5;
+
+        System.out.println("\t======Pondering: " + PONDER_MILLIS + " ms, then depth " + SEARCH_DEPTH + ", " + DIMENSIONS
+                           + "x" + DIMENSIONS + "x" + DIMENSIONS + "======\n");
+        System.out.println("\tposition\t  cold nodes\t cold ms\tpondered nodes\tpondered ms");
+        for (int position = 0; position < POSITIONS; position++) {
+            long[] nodes = new long[2];
+            long[] millis = new long[2];
+            for (int run = 0; run < 2; run++) {
+
+                // Play the same opening each run.
+                NegamaxStrategy strategy = new NegamaxStrategy(SEARCH_DEPTH,
+                    new TranspositionTable(16L << 20, TranspositionTable.REPLACE_DEPTH_PREFERRED));
+                TicTacTix game = new TicTacTix(DIMENSIONS, true, false, new Random(position));
+                for (int move = 0; move < OPENING_MOVES; move++) {
+                    game.getComputerMove();
+                }
+
+                // Ponder the player's turn on the second run only, then play the player's reply and search.
+                if (run == 1) {
+                    Ponderer ponderer = new Ponderer(strategy);
+                    ponderer.start(game);
+                    Thread.sleep(PONDER_MILLIS);
+                    ponderer.stop();
+                }
+                game.getComputerMove();
+                strategy.selectMove(game);
+                nodes[run] = strategy.getNodesSearched();
+                millis[run] = strategy.getElapsedNanos() / 1000000;
+            }
+            System.out.printf("\t%8d\t%12d\t%8d\t%14d\t%11d%n", position, nodes[0], millis[0], nodes[1], millis[1]);
+        }
+        System.out.println();
+    }
+
+    /**
+     *
+     * This method compares the open line evaluation kept up to date by every move with the same evaluation computed
+     * from scratch at every position at the end of the search. Both score the same positions the same way, so they
+     * search the same tree and only the time differs, which is checked by their node counts. After a search each way
+     * to warm up, the two take turns going first, and the median time of each is reported.
+     *
+     */
+    private static void benchmarkEvaluation() {
+
+        // Create and initialize variables/objects required.
+        final int RUNS = 7;
+        final int[] DEPTHS = {0, 0, 0, 6, 5, 4};
+
+        System.out.println("\t======Evaluation: incremental against from scratch======\n");
+        System.out.println("\tboard\tdepth\t       nodes\tincremental ms\tscratch ms\tspeedup");
+        for (int dimensions = 3; dimensions <= 5; dimensions++) {
+            int depth = DEPTHS[dimensions];
+            long[][] nanos = new long[2][RUNS];
+            long[] nodes = new long[2];
+
+            // Warm up the compiler each way, then search each way in turn, alternating which goes first.
+            searchEvaluation(dimensions, depth, false, nodes);
+            searchEvaluation(dimensions, depth, true, nodes);
+            for (int run = 0; run < RUNS; run++) {
+                for (int turn = 0; turn < 2; turn++) {
+                    int variant = (run + turn) % 2;
+                    nanos[variant][run] = searchEvaluation(dimensions, depth, variant == 1, nodes);
+                }
+            }
+
+            // Both ways must have searched the same tree.
+            if (nodes[0] != nodes[1]) {
+                throw new IllegalStateException("Evaluation searches differ: " + nodes[0] + " against " + nodes[1]
+                                                + " nodes");
+            }
+            Arrays.sort(nanos[0]);
+            Arrays.sort(nanos[1]);
+            double incremental = nanos[0][RUNS/2] / 1e6;
+            double scratch = nanos[1][RUNS/2] / 1e6;
+            System.out.printf("\t%dx%dx%d\t%5d\t%12d\t%14.1f\t%10.1f\t%6.1fx%n", dimensions, dimensions, dimensions,
+                              depth, nodes[0], incremental, scratch, scratch / incremental);
+        }
+        System.out.println();
+    }
+
+    /**
+     *
+     * This method runs one search of the evaluation benchmark from the same position, a few random moves in.
+     *
+     * @param dimensions - (int) The dimensions of the game board.
+     * @param depth - (int) The depth searched.
+     * @param isScratch - (boolean) Determines if the evaluation is computed from scratch at every leaf instead of
+     * kept up to date on the game board.
+     * @param nodes - (long[]) Where the nodes searched are stored, at index 1 from scratch and 0 otherwise.
+     *
+     * @return long - the time taken by the search in nanoseconds.
+     *
+     */
+    private static long searchEvaluation(int dimensions, int depth, boolean isScratch, long[] nodes) {
+
+        // Create and initialize variables/objects required.
+        final int OPENING_MOVES = 4;
+        final int[] weights = WinningLines.getInstance(dimensions).getDefaultWeights();
+        NegamaxStrategy strategy = new NegamaxStrategy(depth);
+        if (isScratch) {
+            strategy = new NegamaxStrategy(depth) {
+                int evaluate(TicTacTix game) {
+                    return game.getEvaluationFromScratch(weights);
+                }
+            };
+            strategy.setEvaluation(false);
+        }
+
+        // Search the same position, after a few random moves.
+        TicTacTix game = new TicTacTix(dimensions, true, false, new Random(dimensions));
+        for (int move = 0; move < OPENING_MOVES; move++) {
+            game.getComputerMove();
+        }
+        strategy.selectMove(game);
+        nodes[isScratch ? 1 : 0] = strategy.getNodesSearched();
+        return strategy.getElapsedNanos();
+    }
+
+    /**
+     *
+     * This method compares how much each move ordering heuristic prunes. The same positions of 3 by 3 by 3 and 4 by 4
+     * by 4 game boards are searched to a fixed depth with a fresh transposition table, with no heuristic, each one
+     * alone and all of them together, and the nodes searched are compared.
+     *
+     */
+    private static void benchmarkOrdering() {
+
+        // Create and initialize variables/objects required.
+        final int OPENING_MOVES = 2;
+        final int POSITIONS = 4;
+        final int[] DEPTHS = {0, 0, 0, 7, 6};
+        final String[] NAMES = {"none", "killers", "history", "live lines", "all"};
+        final boolean[][] SETTINGS = {{false, false, false}, {true, false, false}, {false, true, false},
+                                      {false, false, true}, {true, true, true}};
+
+        System.out.println("\t======Move ordering: nodes to a fixed depth======\n");
+        System.out.println("\tboard\tdepth\tordering\t       nodes\t   ms\t  vs none");
+        for (int dimensions = 3; dimensions <= 4; dimensions++) {
+            long baseline = 0;
+            for (int setting = 0; setting < SETTINGS.length; setting++) {
+
+                // Search the same positions, after a few random moves, each with a fresh table.
+                long nodes = 0;
+                long nanos = 0;
+                for (int position = 0; position < POSITIONS; position++) {
+                    TicTacTix game = new TicTacTix(dimensions, true, false, new Random(position));
+                    for (int move = 0; move < OPENING_MOVES; move++) {
+                        game.getComputerMove();
+                    }
+                    NegamaxStrategy strategy = new NegamaxStrategy(DEPTHS[dimensions], new TranspositionTable(
+                        16L << 20, TranspositionTable.REPLACE_DEPTH_PREFERRED));
+                    strategy.setMoveOrdering(SETTINGS[setting][0], SETTINGS[setting][1], SETTINGS[setting][2]);
+                    strategy.selectMove(game);
+                    nodes += strategy.getNodesSearched();
+                    nanos += strategy.getElapsedNanos();
+                }
+                if (setting == 0) {
+                    baseline = nodes;
+                }
+                System.out.printf("\t%dx%dx%d\t%5d\t%-10s\t%12d\t%5d\t%8.2fx%n", dimensions, dimensions,
+                                  dimensions, DEPTHS[dimensions], NAMES[setting], nodes, nanos / 1000000,
+                                  (double) baseline / Math.max(1, nodes));
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     *
+     * This method measures drawing the game board as text, the way it is printed every turn, on half filled game
+     * boards of growing dimensions: through toString(), into one reused StringBuilder, and straight to a Writer that
+     * discards its output. The time and the bytes allocated per drawing are compared.
+     *
+     */
+    private static void benchmarkRendering() {
+
+        // Create and initialize variables/objects required.
+        final int DRAWINGS = 20000;
+        final String[] NAMES = {"toString", "builder", "writer"};
+        StringBuilder builder = new StringBuilder();
+        Writer discard = new Writer() {
+            public void write(char[] buffer, int offset, int length) {
+            }
+            public void flush() {
+            }
+            public void close() {
+            }
+        };
+
+        System.out.println("\t======Rendering: drawing the game board as text======\n");
+        System.out.println("\tboard\tmethod\t\t  ns/drawing\tbytes/drawing");
+        for (int dimensions = 3; dimensions <= 9; dimensions += 2) {
+
+            // Fill half of the game board.
+            TicTacTix game = new TicTacTix(dimensions, true, false, new Random(dimensions));
+            while (game.getFreeCellCount() > dimensions * dimensions * dimensions / 2 && !game.hasWon()) {
+                game.getComputerMove();
+            }
+
+            // Draw it many times each way, after drawing it as many times to warm up.
+            for (int method = 0; method < NAMES.length; method++) {
+                long nanos = 0;
+                long bytes = 0;
+                for (int run = 0; run < 2; run++) {
+                    long allocated = getAllocatedBytes();
+                    long start = System.nanoTime();
+                    for (int drawing = 0; drawing < DRAWINGS; drawing++) {
+                        render(game, method, builder, discard);
+                    }
+                    nanos = System.nanoTime() - start;
+                    bytes = getAllocatedBytes() - allocated;
+                }
+                System.out.printf("\t%dx%dx%d\t%-8s\t%12d\t%13d%n", dimensions, dimensions, dimensions,
+                                  NAMES[method], nanos / DRAWINGS, bytes / DRAWINGS);
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     *
+     * This method measures the hall of fame store. First, a hall of fame of many wins is shown the old way, reading
+     * every name of a text file, and the new way, opening the store and reading the top players from its index, or
+     * from the leaderboard kept in memory once loaded. Then
+     * winners record their wins from many threads at once, and the wins per second and the syncs they shared are
+     * compared.
+     *
+     * @throws IOException - if the files of the benchmark cannot be written.
+     * @throws InterruptedException - if interrupted while waiting for the winners.
+     * @throws ExecutionException - if a winner failed to record a win.
+     *
+     */
+    private static void benchmarkHallOfFame() throws IOException, InterruptedException, ExecutionException {
+
+        // Create and initialize variables/objects required.
+        final int WINS = 100000;
+        final int PLAYERS = 5000;
+        final int TOP = 10;
+        final int WINS_PER_THREAD = 2000;
+        File directory = Files.createTempDirectory("halloffame").toFile();
+        File textFile = new File(directory, "HallOfFame.txt");
+        File logFile = new File(directory, "HallOfFame.log");
+        File indexFile = new File(directory, "HallOfFame.index");
+        Random random = new Random(1);
+
+        // Write the same wins as text and to the store.
+        try (PrintWriter output = new PrintWriter(textFile)) {
+            for (int win = 0; win < WINS; win++) {
+                output.println("Player" + random.nextInt(PLAYERS));
+            }
+        }
+        try (HallOfFame hallOfFame = new HallOfFame(logFile, indexFile)) {
+            hallOfFame.importText(textFile);
+        }
+
+        // Show the hall of fame the old way, then the new way.
+        System.out.println("\t======Hall of fame: " + WINS + " wins of " + PLAYERS + " players======\n");
+        long start = System.nanoTime();
+        int lines = 0;
+        try (Scanner input = new Scanner(textFile)) {
+            while (input.hasNext()) {
+                input.nextLine();
+                lines++;
+            }
+        }
+        long textMicros = (System.nanoTime() - start) / 1000;
+        start = System.nanoTime();
+        try (HallOfFame hallOfFame = new HallOfFame(logFile, indexFile)) {
+            hallOfFame.getTopPlayers(TOP);
+        }
+        long storeMicros = (System.nanoTime() - start) / 1000;
+        System.out.println("\tscan " + lines + " lines of text\t" + textMicros + " us");
+        System.out.println("\topen store, top " + TOP + "\t\t" + storeMicros + " us");
+
+        // Load the leaderboard once, then show it from memory.
+        try (HallOfFame hallOfFame = new HallOfFame(logFile, indexFile)) {
+            Leaderboard leaderboard = new Leaderboard(hallOfFame, TOP);
+            start = System.nanoTime();
+            leaderboard.getTopPlayers(TOP);
+            long loadMicros = (System.nanoTime() - start) / 1000;
+            start = System.nanoTime();
+            for (int shown = 0; shown < WINS; shown++) {
+                leaderboard.getTopPlayers(TOP);
+            }
+            long shownNanos = (System.nanoTime() - start) / WINS;
+            System.out.println("\tload leaderboard\t\t" + loadMicros + " us");
+            System.out.println("\tleaderboard top " + TOP + "\t\t" + shownNanos + " ns\n");
+        }
+
+        // Record wins from more and more threads at once.
+        System.out.println("\tthreads\t        wins\t      syncs\t  wins/s");
+        for (int threads = 1; threads <= 16; threads *= 4) {
+            logFile.delete();
+            indexFile.delete();
+            ExecutorService pool = Executors.newFixedThreadPool(threads);
+            List<Future<Object>> winners = new ArrayList<Future<Object>>();
+            try (HallOfFame hallOfFame = new HallOfFame(logFile, indexFile)) {
+                start = System.nanoTime();
+                for (int thread = 0; thread < threads; thread++) {
+                    final int seed = thread;
+                    winners.add(pool.submit(() -> {
+                        Random names = new Random(seed);
+                        for (int win = 0; win < WINS_PER_THREAD; win++) {
+                            hallOfFame.recordWin("Player" + names.nextInt(PLAYERS));
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<Object> winner : winners) {
+                    winner.get();
+                }
+                long nanos = System.nanoTime() - start;
+                long wins = (long) threads * WINS_PER_THREAD;
+                System.out.printf("\t%7d\t%12d\t%11d\t%8.0f%n", threads, wins, hallOfFame.getSyncCount(),
+                                  wins * 1e9 / nanos);
+            }
+            pool.shutdown();
+        }
+        System.out.println();
+
+        // Clean up.
+        for (File file : directory.listFiles()) {
+            file.delete();
+        }
+        directory.delete();
+    }
+
+    /**
+     *
+     * This method checks that BitBoardTicTacTix still plays exactly as TicTacTix, as its public methods promise. It
+     * is a check rather than a timing, as a single move is too short to time on its own. The same random coordinates
+     * are played on both, taken and out of range ones included, and every move must be accepted or refused alike and
+     * leave the same turn, winner and game over state. The drawn game boards are compared at the end of every game.
+     * Single and multi-word bitboards and both rule modes are covered. Any difference stops the benchmark.
+     *
+     */
+    private static void benchmarkBitBoard() {
+
+        // Create and initialize variables/objects required.
+        final int GAMES = 2000;
+
+        System.out.println("\t======Bitboard: checked against TicTacTix, move by move======\n");
+        System.out.println("\tboard\trules\t   games\t   moves\tresult");
+        for (int dimensions = 3; dimensions <= 6; dimensions++) {
+            for (int rules = 0; rules < 2; rules++) {
+                SplittableRandom generator = new SplittableRandom(dimensions);
+                long moves = 0;
+                for (int count = 0; count < GAMES; count++) {
+                    TicTacTix game = new TicTacTix(dimensions, count % 2 == 0, rules == 1);
+                    BitBoardTicTacTix bitGame = new BitBoardTicTacTix(dimensions, count % 2 == 0, rules == 1);
+                    while (!game.isGameOver()) {
+
+                        // Play the same coordinates on both, one past the grid on each side included.
+                        int layer = generator.nextInt(dimensions + 2);
+                        int row = generator.nextInt(dimensions + 2);
+                        int column = generator.nextInt(dimensions + 2);
+                        boolean isValid = game.move(layer, row, column);
+                        boolean isBitValid = bitGame.move(layer, row, column);
+                        moves++;
+
+                        // Both must be left in the same state.
+                        if (isValid != isBitValid || game.hasWon() != bitGame.hasWon()
+                                || game.isGameOver() != bitGame.isGameOver()
+                                || game.getCurrentPlayer() != bitGame.getCurrentPlayer()
+                                || game.getWinner() != bitGame.getWinner()) {
+                            throw new IllegalStateException("Bitboard differs on " + dimensions + "x" + dimensions
+                                                            + "x" + dimensions + " at move " + layer + " " + row
+                                                            + " " + column);
+                        }
+                    }
+                    if (!game.toString().equals(bitGame.toString())) {
+                        throw new IllegalStateException("Bitboard draws a different game board on " + dimensions
+                                                        + "x" + dimensions + "x" + dimensions);
+                    }
+                }
+                System.out.printf("\t%dx%dx%d\t%s\t%8d\t%8d\tsame%n", dimensions, dimensions, dimensions,
+                                  (rules == 1) ? "full 3D" : "classic", GAMES, moves);
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     *
+     * This method measures the allocation saved by reusing game boards. Games of random moves are played to the end
+     * on a new game board each, on one game board started over with reset(boolean isFirst), and on game boards taken
+     * from and given back to a GamePool. The bytes allocated per game, the garbage collections and the games per
+     * second are reported, after playing as many games to warm up.
+     *
+     */
+    private static void benchmarkPooling() {
+
+        // Create and initialize variables/objects required.
+        final int[] GAMES = {200000, 40000, 10000, 2000};
+        final String[] NAMES = {"new", "reset", "pool"};
+
+        System.out.println("\t======Pooling: games of random moves on new or reused game boards======\n");
+        System.out.println("\tboard\tboard from\t  bytes/game\t  games/s\t  collections");
+        for (int dimensions = 3; dimensions <= 9; dimensions += 2) {
+            int games = GAMES[(dimensions - 3) / 2];
+            for (int method = 0; method < NAMES.length; method++) {
+                GamePool pool = new GamePool(dimensions, 1);
+                SplittableRandom generator = new SplittableRandom(dimensions);
+                TicTacTix game = null;
+                long nanos = 0;
+                long bytes = 0;
+                long collections = 0;
+                for (int run = 0; run < 2; run++) {
+                    long collected = getCollectionCount();
+                    long allocated = getAllocatedBytes();
+                    long start = System.nanoTime();
+                    for (int count = 0; count < games; count++) {
+                        game = playRandomGame(game, dimensions, method, pool, generator);
+                    }
+                    nanos = System.nanoTime() - start;
+                    bytes = getAllocatedBytes() - allocated;
+                    collections = getCollectionCount() - collected;
+                }
+                System.out.printf("\t%dx%dx%d\t%-8s\t%12d\t%9.0f\t%13d%n", dimensions, dimensions, dimensions,
+                                  NAMES[method], bytes / games, games * 1e9 / nanos, collections);
+            }
+        }
+        System.out.println();
+    }
+
+    /**
+     *
+     * This method measures the loops reading every cell of the game board, on the flat array of cells TicTacTix
+     * keeps against a copy of the game board in nested arrays, one per layer and row, found by dividing the flat index
+     * as the game board used to be. The win check scans the cells of every winning line and the render loop reads the
+     * cells in the order they are drawn. The game board is half full without a win, so every line is scanned. The
+     * drawing of the whole game board is timed as well.
+     *
+     */
+    private static void benchmarkLayout() {
+
+        // Create and initialize variables/objects required.
+        final int SCANS = 20000;
+        final String[] NAMES = {"win flat", "win nested", "read flat", "read nested"};
+        StringBuilder builder = new StringBuilder();
+
+        System.out.println("\t======Layout: flat cell array against nested arrays======\n");
+        System.out.println("\tboard\tloop\t\t     ns/scan");
+        for (int dimensions = 3; dimensions <= 9; dimensions += 2) {
+
+            // Fill half of the game board, taking back any winning move.
+            TicTacTix game = new TicTacTix(dimensions, true);
+            SplittableRandom generator = new SplittableRandom(dimensions);
+            for (int tries = 0; tries < 100 * dimensions * dimensions * dimensions
+                                && game.getFreeCellCount() > dimensions * dimensions * dimensions / 2; tries++) {
+                int cell = game.getFreeCell(generator.nextInt(game.getFreeCellCount()));
+                game.moveCell(cell);
+                if (game.hasWon()) {
+                    game.undoMove(cell);
+                }
+            }
+
+            // Copy it into nested arrays.
+            int[][][] grids = new int[dimensions][dimensions][dimensions];
+            for (int cell = 0; cell < dimensions * dimensions * dimensions; cell++) {
+                grids[cell / (dimensions*dimensions)][(cell / dimensions) % dimensions][cell % dimensions] =
+                    game.getCell(cell);
+            }
+            int[][] lines = WinningLines.getInstance(dimensions, false).getLines();
+
+            // Run every loop many times, after running it twice as many times to warm up.
+            for (int loop = 0; loop < NAMES.length; loop++) {
+                long nanos = 0;
+                for (int run = 0; run < 3; run++) {
+                    int result = 0;
+                    long start = System.nanoTime();
+                    for (int scan = 0; scan < SCANS; scan++) {
+                        result += scanCells(game, grids, lines, loop);
+                    }
+                    nanos = System.nanoTime() - start;
+                    sink = result;
+                }
+                System.out.printf("\t%dx%dx%d\t%-12s\t%12d%n", dimensions, dimensions, dimensions, NAMES[loop],
+                                  nanos / SCANS);
+            }
+
+            // Draw the whole game board.
+            long nanos = 0;
+            for (int run = 0; run < 3; run++) {
+                long start = System.nanoTime();
+                for (int scan = 0; scan < SCANS; scan++) {
+                    builder.setLength(0);
+                    game.appendTo(builder);
+                }
+                nanos = System.nanoTime() - start;
+            }
+            System.out.printf("\t%dx%dx%d\t%-12s\t%12d%n", dimensions, dimensions, dimensions, "draw", nanos / SCANS);
+        }
+        System.out.println();
+    }
+
+    /**
+     *
+     * A helper method that runs one of the loops compared by the layout benchmark once.
+     *
+     * @param game - (TicTacTix) The game, read through its flat array of cells.
+     * @param grids - (int[][][]) The same game board in nested arrays.
+     * @param lines - (int[][]) The winning lines of the game board.
+     * @param loop - (int) 0 and 1 for the win check on the flat and nested arrays, 2 and 3 for the render loop.
+     *
+     * @return int - the number of won lines, or the sum of the cells read, so the loop is not optimized away.
+     *
+     */
+    private static int scanCells(TicTacTix game, int[][][] grids, int[][] lines, int loop) {
+
+        // Create and initialize variables required.
+        int dimensions = game.getDimensions();
+        int result = 0;
+
+        // The win check, on the flat array.
+        if (loop == 0) {
+            return game.hasWonFromScratch() ? 1 : 0;
+        }
+
+        // The win check, on the nested arrays.
+        if (loop == 1) {
+            for (int[] line : lines) {
+                int first = line[0];
+                int owner = grids[first / (dimensions*dimensions)][(first / dimensions) % dimensions]
+                                 [first % dimensions];
+                int index = 1;
+                while (owner > 0 && index < line.length) {
+                    int cell = line[index];
+                    if (grids[cell / (dimensions*dimensions)][(cell / dimensions) % dimensions][cell % dimensions]
+                            != owner) {
+                        break;
+                    }
+                    index++;
+                }
+                if (owner > 0 && index == line.length) {
+                    return 1;
+                }
+            }
+            return 0;
+        }
+
+        // The render loop, a row of every layer at a time.
+        for (int row = 0; row < dimensions; row++) {
+            for (int layer = 0; layer < dimensions; layer++) {
+                int cell = (layer*dimensions + row) * dimensions;
+                for (int column = 0; column < dimensions; column++) {
+                    if (loop == 2) {
+                        result += game.getCell(cell + column);
+                    }
+                    else {
+                        int index = cell + column;
+                        result += grids[index / (dimensions*dimensions)][(index / dimensions) % dimensions]
+                                       [index % dimensions];
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     *
+     * This method measures the blocking game server against the selector based one, each hosting many sessions at
+     * once. The given number of loopback clients connect, then each plays a few games of random moves against a
+     * shallow search, the same games on both servers.
+     *
+     * @param sessionCount - (int) The number of sessions to host at once.
+     *
+     * @throws IOException - if a client cannot connect or play.
+     * @throws InterruptedException - if interrupted while waiting for the clients.
+     * @throws ExecutionException - if a client failed.
+     *
+     */
+    private static void benchmarkServer(int sessionCount) throws IOException, InterruptedException,
+                                                                ExecutionException {
+
+        // Create and initialize variables/objects required.
+        final int DEPTH = 2;
+        GameServer server = new GameServer(() -> new NegamaxStrategy(DEPTH));
+        NioGameServer nioServer = new NioGameServer(() -> new NegamaxStrategy(DEPTH));
+
+        // The selector based server, one selector thread and one worker per core however many sessions. It goes
+        // first, so no threads of the blocking server are left over to count against it.
+        nioServer.start(0);
+        playSessions("Server: " + sessionCount + " sessions on a selector", nioServer.getPort(), sessionCount);
+        nioServer.stop();
+        System.out.println("\tcommands\t" + nioServer.getCommandCount() + "\n");
+
+        // The blocking server, one thread per session.
+        server.start(0);
+        playSessions("Server: " + sessionCount + " sessions on "
+                     + (server.isVirtual() ? "virtual threads" : "a thread pool (no virtual threads)"),
+                     server.getPort(), sessionCount);
+        server.stop();
+        System.out.println("\tcommands\t" + server.getCommandCount() + "\n");
+    }
+
+    /**
+     *
+     * A helper method that plays the games of the server benchmark against a running server and reports them. A
+     * handful of threads drive the clients, each sending a command on every one of its clients before reading the
+     * answers, so every session always has a command in flight. The games per second, the threads of the process
+     * while playing and the time from sending a move to reading the answer are reported.
+     *
+     * @param title - (String) The title of the report.
+     * @param port - (int) The port of the server.
+     * @param sessionCount - (int) The number of sessions to host at once.
+     *
+     * @throws IOException - if a client cannot connect or play.
+     * @throws InterruptedException - if interrupted while waiting for the clients.
+     * @throws ExecutionException - if a client failed.
+     *
+     */
+    private static void playSessions(String title, int port, int sessionCount) throws IOException,
+                                                                                   InterruptedException,
+                                                                                   ExecutionException {
+
+        // Create and initialize variables/objects required.
+        final int DIMENSIONS = 3;
+        final int GAMES_PER_SESSION = 3;
+        final int DRIVERS = 8;
+        LatencyHistogram latency = new LatencyHistogram();
+        List<GameClient> clients = new ArrayList<GameClient>();
+        ExecutorService drivers = Executors.newFixedThreadPool(DRIVERS);
+        List<Future<Object>> results = new ArrayList<Future<Object>>();
+
+        // Connect every client.
+        long start = System.nanoTime();
+        for (int session = 0; session < sessionCount; session++) {
+            clients.add(new GameClient(port, new Random(session)));
+        }
+        long connectMillis = (System.nanoTime() - start) / 1000000;
+
+        // Play, each driver keeping a command in flight on every one of its clients.
+        start = System.nanoTime();
+        for (int driver = 0; driver < DRIVERS; driver++) {
+            List<GameClient> share = clients.subList(driver * sessionCount / DRIVERS,
+                                                     (driver+1) * sessionCount / DRIVERS);
+            results.add(drivers.submit(() -> {
+                driveClients(share, DIMENSIONS, GAMES_PER_SESSION, latency);
+                return null;
+            }));
+        }
+        for (Future<Object> result : results) {
+            result.get();
+        }
+        long nanos = System.nanoTime() - start;
+        int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+        drivers.shutdown();
+
+        // Hang up, then report.
+        for (GameClient client : clients) {
+            client.close();
+        }
+        long games = (long) sessionCount * GAMES_PER_SESSION;
+        System.out.println("\t======" + title + "======\n");
+        System.out.println("\tconnect\t\t" + connectMillis + " ms");
+        System.out.println("\tthreads\t\t" + threads);
+        System.out.println("\tgames\t\t" + games + " in " + nanos / 1000000 + " ms");
+        System.out.printf("\tgames/s\t\t%.0f%n", games * 1e9 / nanos);
+        System.out.println("\tmove p50\t" + latency.getPercentile(50) + " us");
+        System.out.println("\tmove p99\t" + latency.getPercentile(99) + " us");
+    }
+
+    /**
+     *
+     * A helper method that plays games on a group of clients in rounds. Each round sends a new game or a move on
+     * every client still playing, then reads every answer, timing the moves.
+     *
+     * @param clients - (List) The clients to drive.
+     * @param dimensions - (int) The dimensions of the game boards.
+     * @param games - (int) The number of games each client plays.
+     * @param latency - (LatencyHistogram) Where the time of each move is recorded.
+     *
+     * @throws IOException - if a client cannot play.
+     *
+     */
+    static void driveClients(List<GameClient> clients, int dimensions, int games, LatencyHistogram latency)
+            throws IOException {
+
+        // Create and initialize variables/objects required.
+        long[] sent = new long[clients.size()];
+        boolean isPlaying = true;
+
+        // Play rounds until every client has finished its games.
+        while (isPlaying) {
+            isPlaying = false;
+            for (int index = 0; index < clients.size(); index++) {
+                GameClient client = clients.get(index);
+                sent[index] = 0;
+                if (!client.isOver()) {
+                    sent[index] = System.nanoTime();
+                    client.sendRandomMove();
+                }
+                else if (client.getGamesFinished() < games) {
+                    sent[index] = -1;
+                    client.sendNewGame(dimensions, client.getGamesFinished() % 2 == 0);
+                }
+            }
+            for (int index = 0; index < clients.size(); index++) {
+                if (sent[index] != 0) {
+                    clients.get(index).readAnswer();
+                    isPlaying = true;
+                    if (sent[index] > 0) {
+                        latency.record(System.nanoTime() - sent[index]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * A helper method that plays one game of random moves to the end, on a game board got in one of the ways
+     * compared by the pooling benchmark.
+     *
+     * @param game - (TicTacTix) The game board of the last game, or null.
+     * @param dimensions - (int) The dimensions of the game board.
+     * @param method - (int) 0 for a new game board, 1 for reset(boolean isFirst), 2 for the pool.
+     * @param pool - (GamePool) The pool used by method 2.
+     * @param generator - (SplittableRandom) Picks the moves.
+     *
+     * @return TicTacTix - the game board played on, to be passed to the next game.
+     *
+     */
+    private static TicTacTix playRandomGame(TicTacTix game, int dimensions, int method, GamePool pool,
+                                            SplittableRandom generator) {
+
+        // Get the game board.
+        boolean isFirst = generator.nextBoolean();
+        if (method == 0 || game == null) {
+            game = new TicTacTix(dimensions, isFirst);
+        }
+        else if (method == 1) {
+            game.reset(isFirst);
+        }
+        else {
+            pool.release(game);
+            game = pool.acquire(dimensions, isFirst, false);
+        }
+
+        // Play it out.
+        while (!game.isGameOver()) {
+            game.moveCell(game.getFreeCell(generator.nextInt(game.getFreeCellCount())));
+        }
+        return game;
+    }
+
+    /**
+     *
+     * A helper method that draws a game board in one of the ways compared by the rendering benchmark.
+     *
+     * @param game - (TicTacTix) The game to draw.
+     * @param method - (int) 0 for toString(), 1 for the reused builder, 2 for the writer.
+     * @param builder - (StringBuilder) The builder reused by every drawing.
+     * @param writer - (Writer) The writer drawn to.
+     *
+     * @return int - the length of the text drawn, so the drawing is not optimized away.
+     *
+     */
+    private static int render(TicTacTix game, int method, StringBuilder builder, Writer writer) {
+        if (method == 0) {
+            return game.toString().length();
+        }
+        if (method == 1) {
+            builder.setLength(0);
+            return game.appendTo(builder).length();
+        }
+        try {
+            game.appendTo(writer);
+        }
+        catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+        return 0;
+    }
+
+    /**
+     *
+     * A helper method that returns the bytes allocated by the current thread so far, or 0 if the virtual machine
+     * does not count them.
+     *
+     * @return long - the bytes allocated by this thread.
+     *
+     */
+    static long getAllocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+        }
+        return 0;
+    }
+
+    /**
+     *
+     * A helper method that returns the number of garbage collections run so far, by every collector.
+     *
+     * @return long - the number of collections.
+     *
+     */
+    static long getCollectionCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     *
+     * A helper method that walks every sequence of moves up to a number of moves, recording each distinct position
+     * and its canonical hash by the number of moves made. A position already seen is not walked twice.
+     *
+     * @param game - (TicTacTix) The game being walked, with symmetry tracking on.
+     * @param ply - (int) The number of moves made so far.
+     * @param maxPly - (int) The number of moves to stop at.
+     * @param rawPositions - (List) The hashes of the positions seen, by number of moves.
+     * @param canonicalPositions - (List) The canonical hashes of the positions seen, by number of moves.
+     *
+     */
+    private static void countPositions(TicTacTix game, int ply, int maxPly, List<Set<Long>> rawPositions,
+                                       List<Set<Long>> canonicalPositions) {
+
+        // Record the position, stopping if it was already seen.
+        if (!rawPositions.get(ply).add(game.getHash())) {
+            return;
+        }
+        canonicalPositions.get(ply).add(game.getCanonicalHash());
+
+        // Stop at the last move or once the game is won.
+        if (ply == maxPly || game.hasWon()) {
+            return;
+        }
+
+        // Walk every move, working on a copy of the empty cells since moves reorder them.
+        int[] moves = new int[game.getFreeCellCount()];
+        for (int index = 0; index < moves.length; index++) {
+            moves[index] = game.getFreeCell(index);
+        }
+        for (int move : moves) {
+            game.moveCell(move);
+            countPositions(game, ply+1, maxPly, rawPositions, canonicalPositions);
+            game.undoMove(move);
+        }
+    }
+}
@@ -1,9 +1,9 @@
 import java.util.Scanner;
 import java.util.InputMismatchException;
+import java.util.Map;
 import java.io.File;
-import java.io.PrintWriter;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 
 /**
  *
@@ -12,12 +12,19 @@ import java.io.IOException;
  * The default dimensions are 3 by 3 by 3... This value can be dynamically changed. Note that this program made for
  * a 3 by 3 by 3 structure. Thus, the program may not function correctly if the dimensions value is changed.
  * 
+ * Run with the argument --ansi to draw the game board in place on a terminal that understands ANSI escape codes,
+ * redrawing only the cells that change, instead of printing it again every turn.
+ * 
  * @author Ri Xin Yang
  * @version March 28, 2019
  *
  */
 public class TicTacTixTest {
     
+    // Declaration of static variables.
+    // One scanner of the console shared by every prompt, so input read ahead by one prompt is not lost to the next.
+    private final static Scanner KEY_INPUT = new Scanner(System.in);
+    
     /*
      * This is the main method that executes the program in the appropriate sequence.
      */
@@ -28,41 +35,62 @@ public class TicTacTixTest {
         String winner = null;
         boolean isFirst  = false;
         final int PLAYER = 1;
+        final long MOVE_BUDGET_MILLIS = 1000;
+        final long TABLE_BYTES = 16L << 20;
+        final int MONTE_CARLO_DIMENSIONS = 5;
+        final int HALL_OF_FAME_SIZE = 10;
+        MoveStrategy search = createSearch(dimensions, MONTE_CARLO_DIMENSIONS, MOVE_BUDGET_MILLIS, TABLE_BYTES);
+        MoveStrategy strategy = addLookups(search, dimensions);
+        // Only the negamax search keeps a transposition table to ponder into.
+        Ponderer ponderer = (search instanceof NegamaxStrategy) ? new Ponderer((NegamaxStrategy) search) : null;
       
         // Display the wall of fame.
-        displayHallofFame();
+        HallOfFame hallOfFame = openHallOfFame();
+        Leaderboard leaderboard = (hallOfFame != null) ? new Leaderboard(hallOfFame, HALL_OF_FAME_SIZE) : null;
+        displayHallofFame(leaderboard, HALL_OF_FAME_SIZE);
         
         // Determine if player goes first...
         isFirst = validatedIsFirst();
         
         // Set up game with appropriate parameters...
         TicTacTix game = new TicTacTix(dimensions, isFirst);
+        AnsiRenderer terminal = null;
+        if (args.length > 0 && args[0].equals("--ansi")) {
+            terminal = new AnsiRenderer(game, new OutputStreamWriter(System.out));
+        }
         
         // Game logic loop. Keep playing until the game over.
         do {
             
             // Game board output 
-            System.out.println(game);
+            displayGame(game, terminal);
             
             // Let player make move if it is the appropriate turn.
             if (game.getCurrentPlayer() == PLAYER) {
-                // Player's turn, make its move.
+                // Player's turn, make its move while the computer ponders its replies.
+                if (ponderer != null) {
+                    ponderer.start(game);
+                }
                 makePlayerMove(game, dimensions); 
+                if (ponderer != null) {
+                    ponderer.stop();
+                }
             }
             else {
                 // Computer's turn, make its move.
-                makeComputerMove(game, dimensions);
+                makeComputerMove(game, dimensions, strategy, terminal);
             }
             
         } while (!game.isGameOver());
         
         // Final printing of game board after game ended.
-        System.out.println( game );
+        displayGame(game, terminal);
         
         // Record player name in hall of fame if they won.
         if (game.getWinner() == PLAYER) {
-            recordHallOfFame();   
+            recordHallOfFame(leaderboard);   
         }
+        closeHallOfFame(hallOfFame);
         
         // Game ended, inform user.
         System.out.println("\nThank you for playing TicTacTix!");
@@ -70,48 +98,206 @@ public class TicTacTixTest {
     
     /**
      * 
-     * This method prints the hall of fame to the console upon being called. The winners will be ordered and printed in 
-     * the appropriate format. If empty, inform user that no one has won the game as of yet.
+     * This method shows the game board to the user, either printing it whole or, on an ANSI terminal, redrawing the
+     * cells that changed since it was last shown. If the terminal cannot be drawn on, the game board is printed.
+     * 
+     * @param game - (TicTacTix) The game to show.
+     * @param terminal - (AnsiRenderer) The terminal to redraw, or null to print the game board.
      * 
-     * @see Scanner
-     * @see File
-     * @see IOException
+     * @see AnsiRenderer
      * 
      */
-    private static void displayHallofFame() {  
+    private static void displayGame(TicTacTix game, AnsiRenderer terminal) {
         
-        int recordLineNumber = 0;
-        String previousWinner = null;
+        // Redraw the changes in place.
+        if (terminal != null) {
+            try {
+                terminal.drawChanges();
+                return;
+            }
+            // Terminal cannot be drawn on... Print instead.
+            catch (IOException exception) {
+            }
+        }
+        System.out.println(game);
+    }
+    
+    /**
+     * 
+     * This method creates the search of the computer player for the game board. Game boards smaller than the given
+     * dimensions are searched with negamax, larger ones have too many moves to search fully and use Monte Carlo tree
+     * search instead, with a thread per core. Either way every move is bound by the same time budget.
+     * 
+     * @param dimensions - (int) The dimensions of the game board.
+     * @param monteCarloDimensions - (int) The smallest dimensions to use Monte Carlo tree search for.
+     * @param budgetMillis - (long) The time budget of every computer move in milliseconds.
+     * @param tableBytes - (long) The size of the transposition table of the negamax search in bytes.
+     * 
+     * @return MoveStrategy - The search.
+     * 
+     * @see NegamaxStrategy
+     * @see MonteCarloStrategy
+     * 
+     */
+    private static MoveStrategy createSearch(int dimensions, int monteCarloDimensions, long budgetMillis, 
+                                             long tableBytes) {
+        
+        // Large game boards, play out randomly.
+        if (dimensions >= monteCarloDimensions) {
+            MonteCarloStrategy strategy = new MonteCarloStrategy(Runtime.getRuntime().availableProcessors());
+            strategy.setPlayoutBudget(0);
+            strategy.setTimeBudget(budgetMillis);
+            return strategy;
+        }
         
-        // Try to read from "HallOfFame.txt", prints winner or print appropriate prompt if otherwise.
-        try {
-            
-            // Creates scanner to read from file.
-            Scanner fileInput = new Scanner(new File("HallOfFame.txt"));
-            System.out.println("\t======Wall Of Fame======\n");
-            
-            // If the file has names in it, print it. Other wise, tell the user that there are no names in the file.
-            if (fileInput.hasNext()) {
-                
-                // List all names in the file with appropriate padding.
-                while (fileInput.hasNext()) {
-                    
-                    previousWinner = fileInput.nextLine().trim();
-                    recordLineNumber++;
-                    
-                    System.out.println("\t    " + recordLineNumber + ": " + previousWinner);
-                }
-                System.out.print("\n");
+        // Small game boards, search.
+        NegamaxStrategy strategy = new NegamaxStrategy(dimensions * dimensions * dimensions, 
+            new TranspositionTable(tableBytes, TranspositionTable.REPLACE_DEPTH_PREFERRED));
+        strategy.setTimeBudget(budgetMillis);
+        return strategy;
+    }
+    
+    /**
+     * 
+     * This method puts the precomputed moves of the game board in front of the search. If a solution table for the
+     * game board was built with SolutionTableBuilder, its perfect moves are played, searching only for positions
+     * missing from it. Likewise if an opening book was built with OpeningBookBuilder, the first moves of the game
+     * are played from it.
+     * 
+     * @param search - (MoveStrategy) The search of the computer player.
+     * @param dimensions - (int) The dimensions of the game board.
+     * 
+     * @return MoveStrategy - The computer player.
+     * 
+     * @see SolutionTable
+     * @see OpeningBook
+     * 
+     */
+    private static MoveStrategy addLookups(MoveStrategy search, int dimensions) {
+        
+        // Create and initialize variables/objects required.
+        String boardName = "TicTacTix" + dimensions + "x" + dimensions + "x" + dimensions;
+        File solutionFile = new File(boardName + ".solution");
+        File bookFile = new File(boardName + ".book");
+        MoveStrategy strategy = search;
+        
+        // Look moves up in the solution table if there is one, searching only when it has no answer.
+        if (solutionFile.exists()) {
+            try {
+                strategy = new SolutionTable(solutionFile, strategy);
             }
-            else {
-                System.out.println ("\t    No one here yet...\n");
+            // Unreadable table... Just search.
+            catch (IOException exception) {
+                System.out.println("Could not read " + solutionFile + ", searching instead.\n");
+            }
+        }
+        
+        // Play the first moves from the opening book if there is one.
+        if (bookFile.exists()) {
+            try {
+                strategy = new OpeningBook(bookFile, strategy);
+            }
+            // Unreadable book... Just search.
+            catch (IOException exception) {
+                System.out.println("Could not read " + bookFile + ", searching instead.\n");
+            }
+        }
+        return strategy;
+    }
+    
+    /**
+     * 
+     * This method opens the hall of fame store, "HallOfFame.log" and its index "HallOfFame.index". The first time it
+     * is opened, the names of the old plain text "HallOfFame.txt" are brought into it.
+     * 
+     * @return HallOfFame - the store, or null if it cannot be opened.
+     * 
+     * @see HallOfFame
+     * 
+     */
+    private static HallOfFame openHallOfFame() {
+        
+        // Create and initialize variables/objects required.
+        File logFile = new File("HallOfFame.log");
+        File textFile = new File("HallOfFame.txt");
+        boolean isNew = !logFile.exists();
+        
+        // Try to open the store, importing the old names into a new one.
+        try {
+            HallOfFame hallOfFame = new HallOfFame(logFile, new File("HallOfFame.index"));
+            if (isNew && textFile.exists()) {
+                hallOfFame.importText(textFile);
             }
+            return hallOfFame;
         }
-        // File is not found... Assume that there are no winner and inform user.
+        // Unreadable store... Play without it.
         catch (IOException exception) {
+            System.err.println("Java Exception: " + exception);
+            System.out.println("Sorry, the hall of fame could not be opened.\n");
+            return null;
+        }
+    }
+    
+    /**
+     * 
+     * This method closes the hall of fame store, bringing its index up to date.
+     * 
+     * @param hallOfFame - (HallOfFame) The store of wins, or null if it could not be opened.
+     * 
+     */
+    private static void closeHallOfFame(HallOfFame hallOfFame) {
+        
+        // Nothing to close.
+        if (hallOfFame == null) {
+            return;
+        }
+        
+        // Try to close, informing user of errors.
+        try {
+            hallOfFame.close();
+        }
+        catch (IOException exception) {
+            System.err.println("Java Exception: " + exception);
+        }
+    }
+    
+    /**
+     * 
+     * This method prints the hall of fame to the console upon being called. The players with the most wins will be
+     * ranked and printed in the appropriate format with their wins. If empty, inform user that no one has won the 
+     * game as of yet. If the hall of fame could not be opened, say so instead, as its winners are unknown.
+     * 
+     * @param leaderboard - (Leaderboard) The wins of every player, or null if the hall of fame could not be opened.
+     * @param count - (int) The most players to print.
+     * 
+     * @see Leaderboard
+     * 
+     */
+    private static void displayHallofFame(Leaderboard leaderboard, int count) {  
+        
+        int recordLineNumber = 0;
+        
+        // Hall of fame could not be read... Do not claim no one has won.
+        if (leaderboard == null) {
+            System.out.println("\t======Wall Of Fame======\n");
+            System.out.println("\t    Unavailable, the hall of fame could not be read...\n");
+            return;
+        }
+        
+        // No one has won... Inform user.
+        if (leaderboard.getPlayerCount() == 0) {
             System.out.println("No Human Has Ever Beat Me.. *laughs in binary*\n");
+            return;
         }
         
+        // List the players with the most wins with appropriate padding.
+        System.out.println("\t======Wall Of Fame======\n");
+        for (Map.Entry<String, Integer> player : leaderboard.getTopPlayers(count)) {
+            recordLineNumber++;
+            System.out.println("\t    " + recordLineNumber + ": " + player.getKey() + " (" + player.getValue()
+                               + ((player.getValue() == 1) ? " win)" : " wins)"));
+        }
+        System.out.print("\n");
     }
     
     /**
@@ -129,7 +315,7 @@ public class TicTacTixTest {
         boolean valid = false;
         boolean isFirst = false;
         String userInput = null; 
-        Scanner keyInput = new Scanner(System.in);
+        Scanner keyInput = KEY_INPUT;
         
         // Prompt user for input.
         System.out.print("Would you like to go first? (y/n): ");
@@ -202,14 +388,19 @@ public class TicTacTixTest {
     
     /**
      * 
-     * This method accepts the gameboard and the dimensions used by the board to make the computer move. This method
-     * uses further validation methods to ensure that the computer makes a valid move to be carried out.
+     * This method accepts the gameboard and the dimensions used by the board to make the computer move. The move is
+     * picked by the given strategy, which always picks a valid move to be carried out.
      * 
      * @param game - (TicTacTix) Used to make move.
      * @param dimensions - (int) Used to determine the valid range the position that the user can choose. 
+     * @param strategy - (MoveStrategy) Used to pick the computer move.
+     * @param terminal - (AnsiRenderer) The terminal to show the move on the status line of, or null to print it.
+     * 
+     * @see MoveStrategy
      * 
      */
-    private static void makeComputerMove(TicTacTix game, int dimensions) {
+    private static void makeComputerMove(TicTacTix game, int dimensions, MoveStrategy strategy,
+                                         AnsiRenderer terminal) {
         
         // Define local variables used.
         int[] computerMoves = new int[3];
@@ -218,7 +409,7 @@ public class TicTacTixTest {
         int column = 0;
         
         // Get and execute computer move and assign values to appropriate variables.
-        computerMoves = game.getComputerMove();
+        computerMoves = game.getComputerMove(strategy);
         layer = computerMoves[0];
         row = computerMoves[1];
         column = computerMoves[2];
@@ -226,9 +417,14 @@ public class TicTacTixTest {
         // Execute move made by computer.
         game.move(layer, row, column);
         
-        // Inform user of computer move.
-        System.out.print("Computer picked layer \"" + layer + "\" at row \"" + row +
-                         "\" of column \"" + column + "\"\n" );
+        // Inform user of computer move, on the status line of a terminal so the next frame does not clear it.
+        String message = "Computer picked layer \"" + layer + "\" at row \"" + row + "\" of column \"" + column + "\"";
+        if (terminal != null) {
+            terminal.setStatus(message);
+        }
+        else {
+            System.out.print(message + "\n");
+        }
         
     }
     
@@ -330,7 +526,7 @@ public class TicTacTixTest {
         // Create and initialize variables/objects required.
         int input = -1;
         boolean valid = false;
-        Scanner keyInput = new Scanner(System.in);
+        Scanner keyInput = KEY_INPUT;
         
         // Input validation loop.
         while (!valid) {
@@ -366,38 +562,45 @@ public class TicTacTixTest {
     
     /**
      *
-     * This method records the winner's name in the "HallOfFame.txt" to be viewed at the beginning of the game.
-     * This method opens the HallOfFame file (creates one if it doesn't exist), and prompt and append winner name
-     * on to file.
+     * This method records the winner's name in the hall of fame to be viewed at the beginning of the game. This 
+     * method prompts for the winner name until a valid one is given and records it, returning once it is safely on 
+     * disk.
+     * 
+     * @param leaderboard - (Leaderboard) The wins of every player, or null if the hall of fame could not be opened.
      * 
-     * @see Scanner
-     * @see FileWriter
-     * @see PrintWriter
+     * @see Leaderboard
      *
      */
-    private static void recordHallOfFame() {
+    private static void recordHallOfFame(Leaderboard leaderboard) {
         
         // Create and initialize variables/object required.
         String name = null;
-        Scanner keyInput = new Scanner(System.in);
-        
-        // Prompt and get name
-        System.out.print("Winner! Please enter your name: ");
-        name = keyInput.nextLine();
+        boolean valid = false;
+        Scanner keyInput = KEY_INPUT;
         
-        // Try to open, write winner name, and close "HallOfFame.txt".
-        try {
-            FileWriter appendFile = new FileWriter("HallOfFame.txt", true);
-            PrintWriter fileOutput = new PrintWriter(appendFile);
-            
-            fileOutput.println(name);
-            
-            fileOutput.close();
+        // Nowhere to record.
+        if (leaderboard == null) {
+            return;
         }
-        // Catch IOException error and inform user.
-        catch (IOException exception) {
-            System.err.println("Java Exception: " + exception);
-            System.out.println("Sorry, error occurred when outputting to file \"HallOfFame.txt\"");
+        
+        // Prompt and get name until it can be recorded.
+        System.out.print("Winner! Please enter your name: ");
+        while (!valid) {
+            name = keyInput.nextLine();
+            try {
+                leaderboard.recordWin(name);
+                valid = true;
+            }
+            // Empty or too long, re-prompt.
+            catch (IllegalArgumentException exception) {
+                System.out.print("Please enter a name of 1 to " + HallOfFame.MAX_NAME_BYTES + " characters: ");
+            }
+            // Catch IOException error and inform user.
+            catch (IOException exception) {
+                System.err.println("Java Exception: " + exception);
+                System.out.println("Sorry, error occurred when recording to the hall of fame");
+                valid = true;
+            }
         }
     }
     
@@ -0,0 +1,286 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ * This class is a fixed size table of search results keyed by the Zobrist hash of a position. It lets a search that
+ * reaches the same position through a different order of moves reuse what it already found. All memory is allocated
+ * up front in two long[] arrays, capped by the size given to the constructor, so nothing is boxed or allocated while
+ * searching.
+ *
+ * Every entry packs the depth searched, the bound type, the score, the best move and the search generation into one
+ * long. The key is stored XORed with that long, so an entry torn by two threads writing at once fails to match its
+ * key and is treated as a miss. This makes the table safe to share between search threads without locks. The
+ * counters are LongAdders for the same reason. An entry is found through one of the static decode methods, for
+ * example:
+ *
+ *     long entry = table.probe(hash);
+ *     if (entry != TranspositionTable.NO_ENTRY) { int score = TranspositionTable.getScore(entry); }
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ * @see ZobristKeys
+ *
+ */
+public class TranspositionTable {
+
+    // Declaration of instance variables
+    private long[] keys;
+    private long[] entries;
+    private int mask;
+    private int replacementScheme;
+    private int generation;
+    private LongAdder hits;
+    private LongAdder misses;
+    private LongAdder collisions;
+    private LongAdder stores;
+
+    // Declaration of static variables.
+    public final static long NO_ENTRY = 0;
+    // Bound types, never 0 so a stored entry is never NO_ENTRY.
+    public final static int EXACT = 1;
+    public final static int LOWER_BOUND = 2;
+    public final static int UPPER_BOUND = 3;
+    // Replacement schemes.
+    public final static int REPLACE_ALWAYS = 0;
+    public final static int REPLACE_DEPTH_PREFERRED = 1;
+    private final static int BYTES_PER_ENTRY = 16;
+    private final static int MOVE_SHIFT = 32;
+    private final static int DEPTH_SHIFT = 48;
+    private final static int BOUND_SHIFT = 56;
+    private final static int GENERATION_SHIFT = 58;
+    private final static int GENERATION_MASK = 0x3F;
+
+
+    /**
+     *
+     * Parameterized constructor of the TranspositionTable class. The number of entries is the largest power of two
+     * that fits in the given size.
+     *
+     * @param maxBytes - (long) The most memory the table may use, in bytes.
+     * @param replacementScheme - (int) REPLACE_ALWAYS to always overwrite an entry, or REPLACE_DEPTH_PREFERRED to
+     * keep an entry of this search that was searched deeper.
+     *
+     */
+    public TranspositionTable(long maxBytes, int replacementScheme) {
+
+        // Size the table to the largest power of two that fits.
+        long capacity = Long.highestOneBit(Math.max(1, Math.min(maxBytes / BYTES_PER_ENTRY, 1 << 30)));
+        keys = new long[(int) capacity];
+        entries = new long[(int) capacity];
+        mask = (int) capacity - 1;
+        this.replacementScheme = replacementScheme;
+        hits = new LongAdder();
+        misses = new LongAdder();
+        collisions = new LongAdder();
+        stores = new LongAdder();
+    }
+
+    /**
+     *
+     * A method that looks up the entry of a position.
+     *
+     * @param hash - (long) The Zobrist hash of the position.
+     *
+     * @return long - The packed entry, or NO_ENTRY if the position is not in the table.
+     *
+     */
+    public long probe(long hash) {
+
+        // Read the slot, and check that the key matches the entry stored with it.
+        int slot = (int) hash & mask;
+        long entry = entries[slot];
+        if (entry != NO_ENTRY && (keys[slot] ^ entry) == hash) {
+            hits.increment();
+            return entry;
+        }
+        misses.increment();
+        return NO_ENTRY;
+    }
+
+    /**
+     *
+     * A method that stores the result of searching a position, following the replacement scheme if the slot already
+     * holds another entry.
+     *
+     * @param hash - (long) The Zobrist hash of the position.
+     * @param depth - (int) How many moves ahead the position was searched (0 to 255).
+     * @param bound - (int) EXACT, LOWER_BOUND or UPPER_BOUND.
+     * @param score - (int) The score of the position.
+     * @param bestMove - (int) The flat index of the best move found, or -1 if none.
+     *
+     */
+    public void store(long hash, int depth, int bound, int score, int bestMove) {
+
+        // Create and initialize variables required.
+        int slot = (int) hash & mask;
+        long oldEntry = entries[slot];
+        boolean isSamePosition = (keys[slot] ^ oldEntry) == hash;
+
+        // Keep a deeper entry of another position from the current search if the scheme prefers depth.
+        if (replacementScheme == REPLACE_DEPTH_PREFERRED && oldEntry != NO_ENTRY && !isSamePosition
+                && getGeneration(oldEntry) == generation && getDepth(oldEntry) > depth) {
+            return;
+        }
+
+        // Count overwriting a different position.
+        if (oldEntry != NO_ENTRY && !isSamePosition) {
+            collisions.increment();
+        }
+        stores.increment();
+
+        // Pack and write the entry, with the key XORed against it.
+        long entry = (score & 0xFFFFFFFFL)
+                     | ((long) ((bestMove + 1) & 0xFFFF) << MOVE_SHIFT)
+                     | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                     | ((long) bound << BOUND_SHIFT)
+                     | ((long) generation << GENERATION_SHIFT);
+        entries[slot] = entry;
+        keys[slot] = hash ^ entry;
+    }
+
+    /**
+     *
+     * A method that marks the start of a new search. Entries of older searches become free to replace under the
+     * depth preferred scheme.
+     *
+     */
+    public void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     *
+     * A method that empties the table and resets its counters.
+     *
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(entries, NO_ENTRY);
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+        stores.reset();
+    }
+
+    /**
+     *
+     * A method that reads the score of a packed entry.
+     *
+     * @param entry - (long) The packed entry.
+     *
+     * @return int - The score of the position.
+     *
+     */
+    public static int getScore(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     *
+     * A method that reads the best move of a packed entry.
+     *
+     * @param entry - (long) The packed entry.
+     *
+     * @return int - The flat index of the best move, or -1 if none.
+     *
+     */
+    public static int getBestMove(long entry) {
+        return (int) ((entry >>> MOVE_SHIFT) & 0xFFFF) - 1;
+    }
+
+    /**
+     *
+     * A method that reads the depth of a packed entry.
+     *
+     * @param entry - (long) The packed entry.
+     *
+     * @return int - How many moves ahead the position was searched.
+     *
+     */
+    public static int getDepth(long entry) {
+        return (int) ((entry >>> DEPTH_SHIFT) & 0xFF);
+    }
+
+    /**
+     *
+     * A method that reads the bound type of a packed entry.
+     *
+     * @param entry - (long) The packed entry.
+     *
+     * @return int - EXACT, LOWER_BOUND or UPPER_BOUND.
+     *
+     */
+    public static int getBound(long entry) {
+        return (int) ((entry >>> BOUND_SHIFT) & 0x3);
+    }
+
+    /**
+     *
+     * A helper method that reads the search generation of a packed entry.
+     *
+     * @param entry - (long) The packed entry.
+     *
+     * @return int - The generation of the search that stored the entry.
+     *
+     */
+    private static int getGeneration(long entry) {
+        return (int) ((entry >>> GENERATION_SHIFT) & GENERATION_MASK);
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of entries the table holds.
+     *
+     * @return int - the capacity of the table.
+     *
+     */
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of probes that found their position.
+     *
+     * @return long - the number of hits.
+     *
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of probes that did not find their position.
+     *
+     * @return long - the number of misses.
+     *
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of stores that overwrote the entry of a different position.
+     *
+     * @return long - the number of collisions.
+     *
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of entries written.
+     *
+     * @return long - the number of stores.
+     *
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+}
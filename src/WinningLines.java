@@ -0,0 +1,333 @@
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ *
+ * This class provides the table of every winning line of a TicTacTix game board. Each line is listed as flat cell
+ * indices (layer * dimensions^2 + row * dimensions + column), and each cell also lists the lines passing through it.
+ * Bitboard masks of every line are kept alongside for bitboard backends. A table is built once per dimensions and
+ * rule mode and cached, so every game of the same setup shares the same copy.
+ *
+ * There are two rule modes. The default mode only counts lines lying in a horizontal or vertical 2D grid of the 3D
+ * game board (45 lines for 3 by 3 by 3). The full 3D mode also counts the four space diagonals running corner to
+ * corner through the cube (49 lines for 3 by 3 by 3). The mode only changes the game on even dimensions: on odd
+ * dimensions all four space diagonals run through the reserved middle cell, so they are dead lines nobody can win,
+ * and on even dimensions the reserved cell lies on one of them, leaving three that can be won.
+ *
+ * Note: The arrays handed out by this class are shared between every game. They must never be modified.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ */
+public final class WinningLines {
+
+    // Declaration of instance variables
+    private final int dimensions;
+    private final int maxCells;
+    private final boolean isFull3D;
+    private final int[][] lines;
+    private final int[][] cellLines;
+    private final long[] lineMasks;
+    private final long[][] lineWordMasks;
+    private final int[] defaultWeights;
+    private final boolean[] deadLines;
+
+    // Declaration of static variables.
+    private final static int WORD_BITS = 64;
+    private final static ConcurrentMap<Integer, WinningLines> CACHE = new ConcurrentHashMap<Integer, WinningLines>();
+
+
+    /**
+     *
+     * Private constructor of the WinningLines class. Builds the table for the given dimensions and rule mode. Use
+     * getInstance(int dimensions, boolean isFull3D) to get the shared copy.
+     *
+     * @param dimensions - (int) The dimensions of the even grid.
+     * @param isFull3D - (boolean) Determines if the space diagonals of the cube are winning lines.
+     *
+     * @see getInstance(int dimensions, boolean isFull3D)
+     *
+     */
+    private WinningLines(int dimensions, boolean isFull3D) {
+
+        // Initialize the instance variables
+        this.dimensions = dimensions;
+        this.isFull3D = isFull3D;
+        maxCells = dimensions * dimensions * dimensions;
+        lines = buildWinningLines();
+        cellLines = buildCellLines();
+
+        // Build the bitboard masks, single word ones only if every cell fits in one long.
+        int words = (maxCells + WORD_BITS-1) / WORD_BITS;
+        lineMasks = (maxCells <= WORD_BITS) ? new long[lines.length] : null;
+        lineWordMasks = new long[lines.length][words];
+        for (int line = 0; line < lines.length; line++) {
+            for (int cell : lines[line]) {
+                lineWordMasks[line][cell / WORD_BITS] |= 1L << (cell % WORD_BITS);
+            }
+            if (lineMasks != null) {
+                lineMasks[line] = lineWordMasks[line][0];
+            }
+        }
+
+        // Mark the lines through the reserved middle cell, which nobody can ever complete.
+        int middle = dimensions/2;
+        deadLines = new boolean[lines.length];
+        for (int line : cellLines[(middle*dimensions + middle)*dimensions + middle]) {
+            deadLines[line] = true;
+        }
+
+        // Weigh an open line four times more for every checker in it.
+        defaultWeights = new int[dimensions+1];
+        for (int checkers = 1; checkers <= dimensions; checkers++) {
+            defaultWeights[checkers] = 1 << Math.min(2*(checkers-1), 24);
+        }
+    }
+
+    /**
+     *
+     * A method that returns the shared table of winning lines for the given dimensions in the default rule mode,
+     * building it the first time it is asked for.
+     *
+     * @param dimensions - (int) The dimensions of the even grid.
+     *
+     * @return WinningLines - the shared table for those dimensions.
+     *
+     * @see getInstance(int dimensions, boolean isFull3D)
+     *
+     */
+    public static WinningLines getInstance(int dimensions) {
+        return getInstance(dimensions, false);
+    }
+
+    /**
+     *
+     * A method that returns the shared table of winning lines for the given dimensions and rule mode, building it
+     * the first time it is asked for.
+     *
+     * @param dimensions - (int) The dimensions of the even grid.
+     * @param isFull3D - (boolean) Determines if the space diagonals of the cube are winning lines.
+     *
+     * @return WinningLines - the shared table for those dimensions and rule mode.
+     *
+     */
+    public static WinningLines getInstance(int dimensions, boolean isFull3D) {
+
+        // Look up the cached table first, building it only if missing. The rule mode is the lowest bit of the key.
+        int key = (dimensions << 1) | (isFull3D ? 1 : 0);
+        WinningLines table = CACHE.get(key);
+        if (table == null) {
+            table = CACHE.computeIfAbsent(key, missing -> new WinningLines(dimensions, isFull3D));
+        }
+        return table;
+    }
+
+    /**
+     *
+     * A helper method that lists every winning line of the game board. A winning line is a run of cells, one per
+     * step, going straight across the grid along a row, column or diagonal of any horizontal or vertical 2D grid in
+     * the 3D game board. In the full 3D rule mode the space diagonals, which step along all three axes, are added.
+     *
+     * @return int[][] - The cells of every winning line.
+     *
+     */
+    private int[][] buildWinningLines() {
+
+        // Create and initialize variables/objects required.
+        List<int[]> lineList = new ArrayList<int[]>();
+
+        // Go through every direction a line may take (a step of -1, 0 or 1 along layer, row and column).
+        for (int stepLayer = -1; stepLayer <= 1; stepLayer++) {
+            for (int stepRow = -1; stepRow <= 1; stepRow++) {
+                for (int stepColumn = -1; stepColumn <= 1; stepColumn++) {
+
+                    // Skip directions that are not lines, that repeat another direction backwards, or that leave a
+                    // 2D grid (a line across all three axes is only a win in the full 3D rule mode).
+                    int movingAxes = Math.abs(stepLayer) + Math.abs(stepRow) + Math.abs(stepColumn);
+                    int leadingStep = (stepLayer != 0) ? stepLayer : ((stepRow != 0) ? stepRow : stepColumn);
+                    if (movingAxes == 0 || (movingAxes == 3 && !isFull3D) || leadingStep < 0) {
+                        continue;
+                    }
+
+                    // Start a line from each cell on the edge of the grid that the direction begins from.
+                    for (int layer = 0; layer < dimensions; layer++) {
+                        for (int row = 0; row < dimensions; row++) {
+                            for (int column = 0; column < dimensions; column++) {
+                                if (isLineStart(layer, stepLayer) && isLineStart(row, stepRow)
+                                        && isLineStart(column, stepColumn)) {
+
+                                    // Record the cells of the line.
+                                    int[] line = new int[dimensions];
+                                    for (int step = 0; step < dimensions; step++) {
+                                        line[step] = ((layer + step*stepLayer) * dimensions
+                                                      + (row + step*stepRow)) * dimensions
+                                                      + (column + step*stepColumn);
+                                    }
+                                    lineList.add(line);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // Return the winning lines.
+        return lineList.toArray(new int[lineList.size()][]);
+    }
+
+    /**
+     *
+     * A helper method that builds the reverse index of the winning lines, listing for each cell the lines passing
+     * through it. This lets a move touch only the lines it can affect.
+     *
+     * @return int[][] - The lines passing through every cell.
+     *
+     */
+    private int[][] buildCellLines() {
+
+        // Count the lines passing through each cell.
+        int[] linesPerCell = new int[maxCells];
+        for (int[] line : lines) {
+            for (int cell : line) {
+                linesPerCell[cell]++;
+            }
+        }
+
+        // Fill in the lines of each cell.
+        int[][] index = new int[maxCells][];
+        for (int cell = 0; cell < maxCells; cell++) {
+            index[cell] = new int[linesPerCell[cell]];
+            linesPerCell[cell] = 0;
+        }
+        for (int line = 0; line < lines.length; line++) {
+            for (int cell : lines[line]) {
+                index[cell][linesPerCell[cell]++] = line;
+            }
+        }
+
+        // Return the reverse index.
+        return index;
+    }
+
+    /**
+     *
+     * A helper method that determines if a coordinate is where a line must start along one axis. A line that moves
+     * forward along an axis starts at 0, one that moves backward starts at the end, and one that does not move along
+     * the axis may start anywhere.
+     *
+     * @param coordinate - (int) The coordinate along the axis (index start at 0).
+     * @param step - (int) The step the line takes along the axis (-1, 0 or 1).
+     *
+     * @return boolean - whether a line may start at this coordinate.
+     *
+     */
+    private boolean isLineStart(int coordinate, int step) {
+        return (step == 0) || (step == 1 && coordinate == 0) || (step == -1 && coordinate == dimensions-1);
+    }
+
+    /**
+     *
+     * A accessor method that returns the value of "dimensions", an instance variable.
+     *
+     * @return int - dimensions, the dimensions of the even grid.
+     *
+     */
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     *
+     * A accessor method that returns the value of "isFull3D", an instance variable.
+     *
+     * @return boolean - isFull3D, whether the space diagonals of the cube are winning lines.
+     *
+     */
+    public boolean isFull3D() {
+        return isFull3D;
+    }
+
+    /**
+     *
+     * A accessor method that returns the number of winning lines in the table.
+     *
+     * @return int - the number of winning lines.
+     *
+     */
+    public int getLineCount() {
+        return lines.length;
+    }
+
+    /**
+     *
+     * A accessor method that returns the cells of every winning line, indexed by line.
+     *
+     * @return int[][] - the cells of every winning line (shared, must not be modified).
+     *
+     */
+    public int[][] getLines() {
+        return lines;
+    }
+
+    /**
+     *
+     * A accessor method that returns the lines passing through every cell, indexed by cell.
+     *
+     * @return int[][] - the lines passing through every cell (shared, must not be modified).
+     *
+     */
+    public int[][] getCellLines() {
+        return cellLines;
+    }
+
+    /**
+     *
+     * A accessor method that returns the single word bitboard mask of every winning line, indexed by line. Only
+     * available when every cell fits in one long (up to 4 by 4 by 4).
+     *
+     * @return long[] - the mask of every winning line, or null if the grid needs more than one word.
+     *
+     */
+    public long[] getLineMasks() {
+        return lineMasks;
+    }
+
+    /**
+     *
+     * A accessor method that returns the multi-word bitboard mask of every winning line, indexed by line then word.
+     *
+     * @return long[][] - the mask of every winning line (shared, must not be modified).
+     *
+     */
+    public long[][] getLineWordMasks() {
+        return lineWordMasks;
+    }
+
+    /**
+     *
+     * A accessor method that returns which lines pass through the reserved middle cell of the game board. Those
+     * lines can never be won by anyone.
+     *
+     * @return boolean[] - whether each line is dead, indexed by line (shared, must not be modified).
+     *
+     */
+    public boolean[] getDeadLines() {
+        return deadLines;
+    }
+
+    /**
+     *
+     * A accessor method that returns the default weights of an open line by the number of checkers in it, used by
+     * TicTacTix.setLineWeights(int[] weights). The weight grows four times with every checker.
+     *
+     * @return int[] - the weights, indexed by number of checkers from 0 to dimensions (shared, must not be modified).
+     *
+     */
+    public int[] getDefaultWeights() {
+        return defaultWeights;
+    }
+}
@@ -0,0 +1,93 @@
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ *
+ * This class provides the random keys used to hash TicTacTix positions (Zobrist hashing). Every player and cell pair
+ * has its own 64 bit key, and the hash of a position is the XOR of the keys of every checker on the game board, along
+ * with SIDE_KEY when it is the computer's turn. A move only XORs one key in or out, so the hash is kept up to date as
+ * moves are made and taken back.
+ *
+ * The keys come from a fixed mix of the player and cell, so a position hashes the same on every run. This lets
+ * hashes be stored in files, such as opening books, and read back later.
+ *
+ * @author Ri Xin Yang
+ * @version October 17, 2026
+ *
+ */
+public final class ZobristKeys {
+
+    // Declaration of static variables.
+    public final static long SIDE_KEY = mix(-1);
+    private final static ConcurrentMap<Integer, long[][]> CACHE = new ConcurrentHashMap<Integer, long[][]>();
+
+
+    /**
+     *
+     * Private constructor of the ZobristKeys class, which only has static methods.
+     *
+     */
+    private ZobristKeys() {
+    }
+
+    /**
+     *
+     * A method that returns the shared keys for a game board with the given number of cells, building them the
+     * first time they are asked for.
+     *
+     * @param maxCells - (int) The number of cells on the game board.
+     *
+     * @return long[][] - The key of every player and cell, indexed by player (1 or 2) then cell (shared, must not be
+     * modified).
+     *
+     */
+    public static long[][] getKeys(int maxCells) {
+
+        // Look up the cached keys first, building them only if missing.
+        long[][] keys = CACHE.get(maxCells);
+        if (keys == null) {
+            keys = CACHE.computeIfAbsent(maxCells, missing -> buildKeys(maxCells));
+        }
+        return keys;
+    }
+
+    /**
+     *
+     * A helper method that builds the key of every player and cell. Index 0 stays empty so the keys can be indexed
+     * by player directly.
+     *
+     * @param maxCells - (int) The number of cells on the game board.
+     *
+     * @return long[][] - The key of every player and cell.
+     *
+     */
+    private static long[][] buildKeys(int maxCells) {
+
+        // Create and fill the keys of both players.
+        long[][] keys = new long[3][maxCells];
+        for (int player = 1; player <= 2; player++) {
+            for (int cell = 0; cell < maxCells; cell++) {
+                keys[player][cell] = mix(((long) player << 32) | cell);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     *
+     * A helper method that scrambles a number into a well spread 64 bit key (the SplitMix64 finalizer).
+     *
+     * @param seed - (long) The number to scramble.
+     *
+     * @return long - The scrambled key.
+     *
+     */
+    private static long mix(long seed) {
+
+        // Spread the bits of the seed over the whole word.
+        long key = seed * 0x9E3779B97F4A7C15L + 0x632BE59BD9B4E019L;
+        key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+        key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+        return key ^ (key >>> 31);
+    }
+}